@@ -0,0 +1,68 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tile.TablaAparicion;
+
+/**
+ * Coste de elegir dónde reaparece un enemigo en un mapa de 50x50 con el
+ * porcentaje de muros indicado: con la {@link TablaAparicion} (fuera de la
+ * pantalla y lejos del jugador, como en el juego) y, para comparar, probando
+ * celdas al azar del mapa completo hasta dar con una libre.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BenchmarkAparicion {
+
+    private static final int LADO = 50;
+
+    @Param({ "50", "90", "99" })
+    public int porcentajeMuros;
+
+    private long[] solidos;
+    private TablaAparicion tabla;
+    private Random aleatorio;
+
+    @Setup
+    public void prepara() {
+        Random generador = new Random(Escenario.SEMILLA);
+        this.solidos = new long[(LADO * LADO + 63) >>> 6];
+        for (int indice = 0; indice < LADO * LADO; indice++) {
+            if (generador.nextInt(100) < this.porcentajeMuros) this.solidos[indice >>> 6] |= 1L << indice;
+        }
+        this.tabla = new TablaAparicion(this.solidos, LADO, LADO);
+        this.aleatorio = new Random(Escenario.SEMILLA);
+    }
+
+    @Benchmark
+    public int tabla() {
+        // Jugador al centro, pantalla de 26x15 mosaicos excluida.
+        return this.tabla.elige(this.aleatorio, TablaAparicion.TODO_EL_MAPA, LADO / 2, LADO / 2, 10, 14, 9);
+    }
+
+    @Benchmark
+    public int pruebaAlAzar() {
+        int indice;
+        do {
+            indice = this.aleatorio.nextInt(LADO) * LADO + this.aleatorio.nextInt(LADO);
+        } while ((this.solidos[indice >>> 6] & (1L << indice)) != 0);
+        return indice;
+    }
+}
@@ -0,0 +1,85 @@
+package benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tile.CapaTiles;
+
+/**
+ * Coste de un fotograma de la capa de mosaicos con la cámara en movimiento,
+ * en mapas generados de distintos lados. La cámara avanza en diagonal y da la
+ * vuelta al llegar al borde, así que se piden y descartan bloques todo el
+ * tiempo; el coste por fotograma debería ser el mismo con cualquier lado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BenchmarkCapaTiles {
+
+    private static final int TAMANIO_TILE = 48;
+    private static final int ANCHO = 26 * TAMANIO_TILE;
+    private static final int ALTO = 15 * TAMANIO_TILE;
+    // Píxeles que avanza la cámara por fotograma (el jugador avanza 4 por tick).
+    private static final int PASO = 6;
+
+    @Param({ "50", "500", "4000" })
+    public int lado;
+
+    private CapaTiles capa;
+    private BufferedImage lienzo;
+    private Graphics2D g2;
+    private int camaraX, camaraY;
+
+    @Setup
+    public void prepara() {
+        Random aleatorio = new Random(Escenario.SEMILLA);
+        int[][] codigos = new int[this.lado][this.lado];
+        for (int[] renglon : codigos) {
+            for (int col = 0; col < renglon.length; col++) renglon[col] = aleatorio.nextInt(6);
+        }
+        BufferedImage[] imagenes = new BufferedImage[6];
+        for (int i = 0; i < imagenes.length; i++) {
+            imagenes[i] = new BufferedImage(TAMANIO_TILE, TAMANIO_TILE, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = imagenes[i].createGraphics();
+            g.setColor(Color.getHSBColor(i / 6f, 0.6f, 0.8f));
+            g.fillRect(0, 0, TAMANIO_TILE, TAMANIO_TILE);
+            g.dispose();
+        }
+        this.capa = new CapaTiles(codigos, imagenes, TAMANIO_TILE, ANCHO, ALTO);
+        this.lienzo = new BufferedImage(ANCHO, ALTO, BufferedImage.TYPE_INT_RGB);
+        this.g2 = this.lienzo.createGraphics();
+    }
+
+    @TearDown
+    public void libera() {
+        this.g2.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage fotograma() {
+        int limite = this.lado * TAMANIO_TILE;
+        this.camaraX = (this.camaraX + PASO) % Math.max(1, limite - ANCHO);
+        this.camaraY = (this.camaraY + PASO / 2) % Math.max(1, limite - ALTO);
+        this.capa.dibuja(this.g2, this.camaraX, this.camaraY, ANCHO, ALTO);
+        return this.lienzo;
+    }
+}
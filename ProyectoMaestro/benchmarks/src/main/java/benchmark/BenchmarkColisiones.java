@@ -0,0 +1,90 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import entidad.ArquetipoEnemigo;
+import entidad.Horda;
+import entidad.Proyectil;
+import main.DetectorColisiones;
+import main.GamePanel;
+import main.RejillaEspacial;
+
+/**
+ * Coste de las consultas de {@link DetectorColisiones} sobre 100 enemigos
+ * repartidos por el mapa. Cada operación recorre los 100 enemigos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BenchmarkColisiones {
+
+    private static final int NUM_ENEMIGOS = 100;
+
+    private GamePanel gP;
+    private DetectorColisiones dC;
+    private Horda horda;
+    private Proyectil proyectil;
+    private RejillaEspacial rejilla;
+
+    @Setup
+    public void prepara() {
+        this.gP = Escenario.creaPartida();
+        this.gP.agregaEnemigos(NUM_ENEMIGOS);
+        this.dC = this.gP.getDetectorColisiones();
+        this.horda = this.gP.getHorda();
+        this.proyectil = this.gP.getProyectiles().dispara();
+        this.rejilla = this.gP.getRejillaEspacial();
+    }
+
+    @Benchmark
+    public void chocaConTiles(Blackhole bh) {
+        for (int i = 0; i < this.horda.getNumEnemigos(); i++) {
+            ArquetipoEnemigo a = this.horda.getArquetipo(i);
+            bh.consume(this.dC.chocaConTiles(this.horda.getMundoX(i) + a.getOffset(), this.horda.getMundoY(i) + a.getOffset(),
+                    a.getHitbox(), a.getHitbox(), this.horda.getDireccion(i), a.getVelocidad(), false));
+        }
+    }
+
+    @Benchmark
+    public void revisaEntidad(Blackhole bh) {
+        for (int i = 0; i < this.horda.getNumEnemigos(); i++) {
+            bh.consume(this.dC.revisaEntidad(this.proyectil, this.horda, i));
+        }
+    }
+
+    @Benchmark
+    public void revisaJugador(Blackhole bh) {
+        for (int i = 0; i < this.horda.getNumEnemigos(); i++) {
+            bh.consume(this.dC.revisaJugador(this.horda, i));
+        }
+    }
+
+    /** Reconstruye la rejilla con los 100 enemigos y revisa el proyectil contra sus vecinos. */
+    @Benchmark
+    public void revisaEntidadConRejilla(Blackhole bh) {
+        this.rejilla.limpia();
+        for (int i = 0; i < this.horda.getNumEnemigos(); i++) {
+            int alcance = this.horda.getArquetipo(i).getOffset() + this.horda.getArquetipo(i).getHitbox();
+            this.rejilla.inserta(i, this.horda.getMundoX(i), this.horda.getMundoY(i), alcance, alcance);
+        }
+        int candidatos = this.rejilla.consultaEntidad(this.proyectil);
+        for (int i = 0; i < candidatos; i++) {
+            bh.consume(this.dC.revisaEntidad(this.proyectil, this.horda, this.rejilla.getResultado(i)));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package benchmark;
+
+import java.awt.Graphics2D;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import main.DestinoImagen;
+import main.GamePanel;
+
+/**
+ * Fotogramas por segundo que se pueden dibujar de cada una de las
+ * {@link Escenario#ESCENAS}, sin ventana, en un {@link DestinoImagen}. La
+ * escena queda fija (no se llama a {@code update()}), así que se mide sólo el
+ * dibujo: mapa, entidades, barras de vida y UI. {@link PruebaImagenes}
+ * comprueba que esas mismas escenas se sigan dibujando igual.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BenchmarkDibujo {
+
+    @Param({ "portada", "partida", "horda", "jefe", "derrota" })
+    public String escena;
+
+    private DestinoImagen destino;
+    private Consumer<Graphics2D> dibujo;
+
+    @Setup
+    public void prepara() {
+        GamePanel gP = Escenario.creaEscena(this.escena);
+        this.destino = new DestinoImagen(gP.getAnchoPantalla(), gP.getAltoPantalla());
+        this.dibujo = g2 -> gP.dibuja(g2, 1.0);
+    }
+
+    @Benchmark
+    public boolean fotograma() {
+        return this.destino.presenta(this.dibujo);
+    }
+}
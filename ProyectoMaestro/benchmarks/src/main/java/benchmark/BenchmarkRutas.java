@@ -0,0 +1,98 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import main.GamePanel;
+import main.PlanificadorRutas;
+import tile.ManejadorTiles;
+
+/**
+ * Coste de planear una ruta del jefe (3x3 mosaicos) con {@link PlanificadorRutas}.
+ * Con {@code lado = 50} se usa el mapa del juego; con lados mayores, un mapa
+ * generado con muros cortos al azar. Cada operación planea entre dos celdas
+ * al azar de una lista fija, así que mide rutas de todas las longitudes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BenchmarkRutas {
+
+    private static final int PARES = 1024;
+
+    @Param({ "50", "256", "512" })
+    public int lado;
+
+    private PlanificadorRutas planificador;
+    private int[] origenes;
+    private int[] destinos;
+    private int siguiente;
+
+    @Setup
+    public void prepara() {
+        byte[] holgura;
+        if (this.lado == 50) {
+            GamePanel gP = Escenario.creaPartida();
+            holgura = gP.getManejadorTiles().getMapaHolgura(true);
+        } else {
+            holgura = ManejadorTiles.calculaHolgura(mapaAleatorio(this.lado), this.lado, this.lado);
+        }
+        this.planificador = new PlanificadorRutas(holgura, this.lado, this.lado, 10, 3);
+
+        // Pares de celdas en las que cabe el jefe.
+        Random aleatorio = new Random(Escenario.SEMILLA);
+        this.origenes = new int[PARES];
+        this.destinos = new int[PARES];
+        for (int i = 0; i < PARES; i++) {
+            this.origenes[i] = celdaLibre(aleatorio);
+            this.destinos[i] = celdaLibre(aleatorio);
+        }
+    }
+
+    @Benchmark
+    public boolean planifica() {
+        int i = this.siguiente++ & (PARES - 1);
+        int o = this.origenes[i], d = this.destinos[i];
+        return this.planificador.planifica(o % this.lado, o / this.lado, d % this.lado, d / this.lado);
+    }
+
+    private int celdaLibre(Random aleatorio) {
+        while (true) {
+            int col = aleatorio.nextInt(this.lado), ren = aleatorio.nextInt(this.lado);
+            if (this.planificador.cabe(col, ren)) return ren * this.lado + col;
+        }
+    }
+
+    // Muros rectos de 1 a 8 celdas, uno por cada 60 celdas del mapa.
+    private static long[] mapaAleatorio(int lado) {
+        long[] solidos = new long[(lado * lado + 63) >>> 6];
+        Random aleatorio = new Random(lado);
+        for (int muro = 0; muro < lado * lado / 60; muro++) {
+            int x = aleatorio.nextInt(lado), y = aleatorio.nextInt(lado);
+            int largo = 1 + aleatorio.nextInt(8);
+            boolean horizontal = aleatorio.nextBoolean();
+            for (int i = 0; i < largo; i++) {
+                int col = horizontal ? x + i : x, ren = horizontal ? y : y + i;
+                if (col >= lado || ren >= lado) break;
+                int indice = ren * lado + col;
+                solidos[indice >>> 6] |= 1L << indice;
+            }
+        }
+        return solidos;
+    }
+}
@@ -0,0 +1,66 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entidad.PoolProyectiles;
+import main.GamePanel;
+
+/**
+ * Coste de un tick completo de {@link GamePanel#update()} con distintas
+ * cantidades de enemigos y proyectiles vivos.
+ *
+ * Antes de cada tick se reponen los proyectiles que expiraron o impactaron y
+ * se devuelve al jugador a la vida máxima, para que todos los ticks medidos
+ * tengan la misma carga. Esa preparación queda fuera de la medición.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BenchmarkTick {
+
+    @Param({"10", "1000", "10000"})
+    public int enemigos;
+
+    @Param({"10", "1000", "10000"})
+    public int proyectiles;
+
+    private GamePanel gP;
+
+    @Setup(Level.Trial)
+    public void prepara() {
+        this.gP = Escenario.creaPartida();
+        this.gP.agregaEnemigos(this.enemigos);
+    }
+
+    @Setup(Level.Invocation)
+    public void repone() {
+        Escenario.mantieneVivo(this.gP);
+        PoolProyectiles pool = this.gP.getProyectiles();
+        pool.amplia(this.proyectiles);
+        while (pool.getNumActivos() < this.proyectiles) {
+            pool.dispara();
+        }
+    }
+
+    @Benchmark
+    public long update() {
+        this.gP.update();
+        return this.gP.getNumeroTick();
+    }
+}
@@ -0,0 +1,67 @@
+package benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import main.GamePanel;
+import tile.ManejadorTiles;
+
+/**
+ * Coste de dibujar la capa de mosaicos en una imagen fuera de pantalla del
+ * tamaño de la ventana, y de leer el mapa desde los recursos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BenchmarkTiles {
+
+    private GamePanel gP;
+    private ManejadorTiles mTi;
+    private BufferedImage lienzo;
+    private Graphics2D g2;
+    private int camaraX, camaraY;
+
+    @Setup
+    public void prepara() {
+        this.gP = Escenario.creaPartida();
+        this.mTi = this.gP.getManejadorTiles();
+        this.lienzo = new BufferedImage(this.gP.getAnchoPantalla(), this.gP.getAltoPantalla(), BufferedImage.TYPE_INT_RGB);
+        this.g2 = this.lienzo.createGraphics();
+        // La misma cámara que usa el juego con el jugador en su posición inicial.
+        this.camaraX = this.gP.getJugador().getMundoX() - this.gP.getJugador().getPantallaX();
+        this.camaraY = this.gP.getJugador().getMundoY() - this.gP.getJugador().getPantallaY();
+    }
+
+    @TearDown
+    public void libera() {
+        this.g2.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage draw() {
+        this.mTi.draw(this.g2, this.camaraX, this.camaraY);
+        return this.lienzo;
+    }
+
+    @Benchmark
+    public int[][] cargaMapa() {
+        this.mTi.cargaMapa("/mapas/mundo01.txt");
+        return this.mTi.getMapaTiles();
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import main.AudioNulo;
+import main.EntradaGuionada;
+import main.FuenteEntrada;
+import main.GamePanel;
+
+/**
+ * Utilidades para montar partidas sin ventana ni audio dentro de los
+ * benchmarks. Todas usan una semilla fija para que las mediciones sean
+ * comparables entre ejecuciones.
+ */
+final class Escenario {
+
+    static final long SEMILLA = 20250711L;
+
+    /** Escenas de referencia para medir y comparar el dibujo (ver {@link #creaEscena}). */
+    static final String[] ESCENAS = { "portada", "partida", "horda", "jefe", "derrota" };
+
+    private Escenario() {
+    }
+
+    /**
+     * Crea un panel en estado de juego, sin enemigos, con el jugador quieto y
+     * disparando. El {@link main.DirectorAparicion} queda desactivado: la horda
+     * tiene sólo los enemigos que agregue el benchmark, durante toda la medición.
+     */
+    static GamePanel creaPartida() {
+        System.setProperty("java.awt.headless", "true");
+        GamePanel gP = new GamePanel(new EntradaGuionada().agregaPaso(FuenteEntrada.DISPARO, 1),
+                new AudioNulo(), SEMILLA);
+        gP.gameState = gP.playState;
+        gP.getDirector().setActivo(false);
+        return gP;
+    }
+
+    /**
+     * Monta una de las {@link #ESCENAS}, siempre igual: misma semilla, mismo
+     * guion y mismo número de ticks. Salvo en la portada, el jugador sigue
+     * {@link EntradaGuionada#patrulla()}, cuyo primer disparo empieza la partida.
+     * <ul>
+     * <li>portada: la pantalla de inicio.</li>
+     * <li>partida: el principio de una partida, con pocos zombies.</li>
+     * <li>horda: 2000 zombies que ya rodean al jugador.</li>
+     * <li>jefe: el jefe persiguiendo al jugador, con su barra de vida.</li>
+     * <li>derrota: la pantalla de fin de partida.</li>
+     * </ul>
+     * @return El panel con la foto de la escena ya publicada.
+     */
+    static GamePanel creaEscena(String escena) {
+        System.setProperty("java.awt.headless", "true");
+        if (escena.equals("portada")) {
+            GamePanel gP = new GamePanel(new EntradaGuionada(), new AudioNulo(), SEMILLA);
+            gP.update();
+            return gP;
+        }
+        GamePanel gP = new GamePanel(EntradaGuionada.patrulla(), new AudioNulo(), SEMILLA);
+        gP.configuraEnemigos();
+        switch (escena) {
+            case "partida":
+                return juega(gP, 300);
+            case "horda":
+                gP.agregaEnemigos(2000);
+                return juega(gP, 600);
+            case "jefe":
+                gP.getJugador().setPuntuacion(gP.PUNTUACION_PARA_JEFE);
+                return juega(gP, 600);
+            case "derrota":
+                juega(gP, 300);
+                gP.getJugador().setVidaActual(0);
+                gP.update();
+                return gP;
+            default:
+                throw new IllegalArgumentException("Escena desconocida: " + escena);
+        }
+    }
+
+    private static GamePanel juega(GamePanel gP, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            mantieneVivo(gP);
+            gP.update();
+        }
+        return gP;
+    }
+
+    /**
+     * Devuelve al jugador a la vida máxima y al estado de juego, para que un
+     * benchmark largo no acabe midiendo la pantalla de derrota.
+     */
+    static void mantieneVivo(GamePanel gP) {
+        gP.getJugador().setVidaActual(gP.getJugador().getMaxVida());
+        gP.gameState = gP.playState;
+    }
+}
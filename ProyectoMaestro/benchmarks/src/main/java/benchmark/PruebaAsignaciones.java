@@ -0,0 +1,91 @@
+package benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+import main.AudioNulo;
+import main.EntradaGuionada;
+import main.GamePanel;
+
+/**
+ * Prueba de regresión de asignaciones: juega una partida sin ventana con una
+ * horda grande, y mide con {@link com.sun.management.ThreadMXBean} cuántos
+ * bytes asigna el hilo en cada tick (simulación y dibujo) una vez calentada la
+ * JVM. Termina con código 1 si el estado estable asigna memoria.
+ *
+ * El único margen tolerado es {@link #TOLERANCIA_BYTES} en total, para
+ * el tick y el dibujo juntos y sin importar cuántos ticks se midan: el JIT
+ * puede desoptimizar un método la primera vez que se toma una rama rara (un
+ * enemigo que muere, por ejemplo) y materializar una vez objetos que antes
+ * había eliminado. Cualquier asignación por tick, por fotograma o por disparo
+ * supera ese margen en pocos cientos de ticks.
+ *
+ * Uso:
+ *   java -cp target/benchmarks.jar benchmark.PruebaAsignaciones [enemigos] [ticks]
+ */
+public final class PruebaAsignaciones {
+
+    private static final int TICKS_CALENTAMIENTO = 5_000;
+    private static final long TOLERANCIA_BYTES = 2_048;
+
+    private PruebaAsignaciones() {
+    }
+
+    public static void main(String[] args) {
+        int enemigos = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        System.setProperty("java.awt.headless", "true");
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!hilos.isThreadAllocatedMemorySupported()) {
+            System.out.println("La JVM no permite medir las asignaciones por hilo.");
+            System.exit(2);
+        }
+        hilos.setThreadAllocatedMemoryEnabled(true);
+        long hilo = Thread.currentThread().getId();
+
+        // El jugador patrulla disparando; así hay disparos, impactos y reapariciones.
+        GamePanel gP = new GamePanel(EntradaGuionada.patrulla(), new AudioNulo(), Escenario.SEMILLA);
+        gP.gameState = gP.playState;
+        // Horda fija: el director no agrega enemigos durante la prueba.
+        gP.getDirector().setActivo(false);
+        gP.agregaEnemigos(enemigos);
+        BufferedImage lienzo = new BufferedImage(gP.getAnchoPantalla(), gP.getAltoPantalla(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = lienzo.createGraphics();
+
+        for (int i = 0; i < TICKS_CALENTAMIENTO; i++) {
+            juegaTick(gP, g2);
+        }
+
+        long bytesTick = 0, bytesDibujo = 0;
+        for (int i = 0; i < ticks; i++) {
+            long antes = hilos.getThreadAllocatedBytes(hilo);
+            Escenario.mantieneVivo(gP);
+            gP.update();
+            long medio = hilos.getThreadAllocatedBytes(hilo);
+            gP.dibuja(g2, 1.0);
+            long despues = hilos.getThreadAllocatedBytes(hilo);
+            bytesTick += medio - antes;
+            bytesDibujo += despues - medio;
+        }
+        g2.dispose();
+
+        System.out.printf("enemigos=%d ticks=%d proyectiles=%d puntuacion=%d%n", enemigos, ticks,
+                gP.getProyectiles().getNumActivos(), gP.getJugador().getPuntuacion());
+        System.out.printf("update: %d bytes (%.1f por tick)%n", bytesTick, (double) bytesTick / ticks);
+        System.out.printf("dibujo: %d bytes (%.1f por fotograma)%n", bytesDibujo, (double) bytesDibujo / ticks);
+
+        if (bytesTick + bytesDibujo > TOLERANCIA_BYTES) {
+            System.out.println("FALLO: el tick en estado estable asigna memoria.");
+            System.exit(1);
+        }
+        System.out.println("OK: sin asignaciones en estado estable.");
+    }
+
+    private static void juegaTick(GamePanel gP, Graphics2D g2) {
+        Escenario.mantieneVivo(gP);
+        gP.update();
+        gP.dibuja(g2, 1.0);
+    }
+}
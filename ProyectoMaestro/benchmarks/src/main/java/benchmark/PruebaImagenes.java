@@ -0,0 +1,79 @@
+package benchmark;
+
+import java.awt.Graphics2D;
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import javax.imageio.ImageIO;
+
+import main.DestinoImagen;
+import main.GamePanel;
+
+/**
+ * Prueba de regresión del dibujo: monta cada una de las
+ * {@link Escenario#ESCENAS}, dibuja su fotograma sin ventana en un
+ * {@link DestinoImagen} y compara la suma de sus píxeles con la de referencia
+ * ({@link #SUMAS}). Una optimización del dibujo que no cambia nada en pantalla
+ * debe dejar todas las sumas iguales. Termina con código 1 si alguna cambia.
+ *
+ * Las sumas de referencia dependen de cómo Java2D pinta el texto y mezcla
+ * colores, así que se tomaron con Java 17 en Linux; en otra plataforma, o si
+ * un cambio del dibujo es intencionado, se regeneran con {@code --actualiza}
+ * (imprime la tabla para pegarla aquí) después de revisar las imágenes que
+ * guarda {@code --imagenes}.
+ *
+ * Uso:
+ *   java -cp target/benchmarks.jar benchmark.PruebaImagenes [--actualiza] [--imagenes directorio]
+ */
+public final class PruebaImagenes {
+
+    // Escena y suma de los píxeles de su fotograma.
+    private static final String[][] SUMAS = {
+        { "portada", "1da1c846bcdd0ede" },
+        { "partida", "67339ac170e0bfe7" },
+        { "horda", "78a454dee4246c4d" },
+        { "jefe", "cee68e1597ce25e2" },
+        { "derrota", "d40d64714171a010" },
+    };
+
+    private PruebaImagenes() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean actualiza = false;
+        File directorio = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--actualiza")) actualiza = true;
+            else if (args[i].equals("--imagenes")) directorio = new File(args[++i]);
+        }
+        if (directorio != null) directorio.mkdirs();
+
+        int fallos = 0;
+        for (String[] referencia : SUMAS) {
+            String escena = referencia[0];
+            GamePanel gP = Escenario.creaEscena(escena);
+            DestinoImagen destino = new DestinoImagen(gP.getAnchoPantalla(), gP.getAltoPantalla());
+            Consumer<Graphics2D> dibujo = g2 -> gP.dibuja(g2, 1.0);
+            destino.presenta(dibujo);
+            String suma = String.format("%016x", destino.getSuma());
+
+            if (directorio != null) ImageIO.write(destino.getImagen(), "png", new File(directorio, escena + ".png"));
+            if (actualiza) {
+                System.out.printf("        { \"%s\", \"%s\" },%n", escena, suma);
+            } else if (suma.equals(referencia[1])) {
+                System.out.printf("%-8s %s%n", escena, suma);
+            } else {
+                System.out.printf("%-8s %s  FALLO: se esperaba %s%n", escena, suma, referencia[1]);
+                fallos++;
+            }
+        }
+
+        if (actualiza) return;
+        if (fallos > 0) {
+            System.out.println("FALLO: " + fallos + " escena(s) se dibujan distinto.");
+            System.exit(1);
+        }
+        System.out.println("OK: todas las escenas se dibujan igual.");
+    }
+}
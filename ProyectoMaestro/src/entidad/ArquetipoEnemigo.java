@@ -0,0 +1,79 @@
+package entidad;
+
+import java.awt.image.BufferedImage;
+
+import main.CampoFlujo;
+import main.Recursos;
+
+/**
+ * Datos que comparten todos los enemigos de un mismo tipo: estadísticas,
+ * caja de colisión y sprites. La {@link Horda} sólo guarda por enemigo el
+ * número de su arquetipo, y los sprites salen de {@link Recursos}, así que se
+ * cargan una vez y no una vez por enemigo.
+ */
+public final class ArquetipoEnemigo {
+
+    private final int velocidad;
+    private final int maxVida;
+    private final int danio;
+    private final int hitbox;
+    private final int offset;
+    private final int tamanioTile;
+    private String carpeta;
+
+    // Sprites de caminar, indexados por (dirección de CampoFlujo - 1) * 2 + fotograma.
+    private final BufferedImage[] sprites = new BufferedImage[8];
+
+    private ArquetipoEnemigo(int velocidad, int maxVida, int danio, int hitbox, int tamanioTile) {
+        this.velocidad = velocidad;
+        this.maxVida = maxVida;
+        this.danio = danio;
+        this.hitbox = hitbox;
+        this.offset = (tamanioTile - hitbox) / 2;
+        this.tamanioTile = tamanioTile;
+    }
+
+    /**
+     * El zombie básico: 4 de vida (cuatro disparos), quita 1 vida al jugador y
+     * avanza 2 píxeles por tick.
+     * @param recursos    De donde salen los sprites.
+     * @param tamanioTile Tamaño del mosaico en pantalla; los sprites se escalan a él.
+     */
+    public static ArquetipoEnemigo zombie(Recursos recursos, int tamanioTile) {
+        ArquetipoEnemigo zombie = new ArquetipoEnemigo(2, 4, 1, 48, tamanioTile);
+        zombie.cargaSprites(recursos, "/spritesEnemigo/", tamanioTile);
+        return zombie;
+    }
+
+    private void cargaSprites(Recursos recursos, String carpeta, int tamanioTile) {
+        this.carpeta = carpeta;
+        String[] nombres = { "moverArriba", "moverAbajo", "moverIzquierda", "moverDerecha" };
+        for (int d = 0; d < nombres.length; d++) {
+            for (int fotograma = 0; fotograma < 2; fotograma++) {
+                String ruta = carpeta + nombres[d] + (fotograma + 1) + ".png";
+                this.sprites[d * 2 + fotograma] = recursos.imagen(ruta, tamanioTile, tamanioTile);
+            }
+        }
+    }
+
+    /** Vuelve a pedir los sprites a {@link Recursos} después de que cambiaron. */
+    public void recargaSprites(Recursos recursos) {
+        this.cargaSprites(recursos, this.carpeta, this.tamanioTile);
+    }
+
+    /**
+     * @param direccion Dirección en las constantes de {@link CampoFlujo}.
+     * @param fotograma 0 o 1.
+     * @return El sprite, o null si la dirección es {@link CampoFlujo#NINGUNA}.
+     */
+    public BufferedImage getSprite(int direccion, int fotograma) {
+        if (direccion == CampoFlujo.NINGUNA) return null;
+        return this.sprites[(direccion - 1) * 2 + fotograma];
+    }
+
+    public int getVelocidad() { return this.velocidad; }
+    public int getMaxVida() { return this.maxVida; }
+    public int getDanio() { return this.danio; }
+    public int getHitbox() { return this.hitbox; }
+    public int getOffset() { return this.offset; }
+}
@@ -1,16 +1,19 @@
 package entidad;
 
-import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+
+import main.Recursos;
 /**
  * Clase base (o superclase) para todos los objetos "vivos" del juego.
- * Contiene todos los atributos y métodos comunes a Jugador y Enemigo.
+ * Contiene todos los atributos y métodos comunes a Jugador, Jefe y Proyectil.
  */
 public class Entidad {
 
     // Coordenadas y movimiento [4, 5]
     protected int mundoX, mundoY;
+    // Posición al comienzo del tick actual, para interpolar el dibujo.
+    protected int mundoXPrevio, mundoYPrevio;
     protected int velocidad;
 
     // --- VARIABLES DE SALUD (NUEVAS) ---
@@ -24,12 +27,17 @@ public class Entidad {
     protected int contadorSprites = 0;
     protected int numeroSprites = 1;
     protected int cambiaSprite = 10;
+    // Carpeta y lado con los que se cargaron los sprites, para recargarlos.
+    private String carpetaSprites;
+    private int ladoSprites;
     
     // Colisión [6, 7]
     protected Rectangle areaSolida;
     protected boolean colisionActivada = false;
     protected int hitbox;
     protected int offset;
+    // true si el agua no la detiene (el jefe).
+    protected boolean cruzaAgua = false;
 
     // --- MÉTODOS BASE (Placeholders necesarios para sobrescribir) ---
     public void recibeDanio(int danio) {
@@ -41,10 +49,52 @@ public class Entidad {
         // Implementación base.
     }
 
-    public void draw(Graphics2D g2) {
-        // Implementación base.
+    /**
+     * Elige el sprite que corresponde a la dirección y al fotograma de
+     * animación actuales. El dibujo ya no lee la entidad directamente: este
+     * sprite se copia en la {@link main.FotoMundo} de cada tick.
+     * @return El sprite a dibujar, o null si la dirección no tiene sprite.
+     */
+    public BufferedImage getSpriteActual() {
+        switch (this.direccion) {
+            case "arriba": return (this.numeroSprites == 1) ? this.arriba1 : this.arriba2;
+            case "abajo": return (this.numeroSprites == 1) ? this.abajo1 : this.abajo2;
+            case "izquierda": return (this.numeroSprites == 1) ? this.izquierda1 : this.izquierda2;
+            case "derecha": return (this.numeroSprites == 1) ? this.derecha1 : this.derecha2;
+            default: return null;
+        }
+    }
+    
+    /**
+     * Toma de {@link Recursos} los sprites de caminar de una carpeta, ya
+     * escalados al tamaño con el que se dibujan (cuadrados), para que dibujarlos
+     * no tenga que escalar (ni crear objetos) en cada fotograma. Las imágenes
+     * son compartidas: la carpeta sólo se lee la primera vez.
+     * @param carpeta Carpeta de los sprites, con la diagonal final (ej: "/spritesjugador/").
+     * @param lado    Lado en pantalla del sprite.
+     */
+    protected void cargaSprites(Recursos recursos, String carpeta, int lado) {
+        this.carpetaSprites = carpeta;
+        this.ladoSprites = lado;
+        this.arriba1 = recursos.imagen(carpeta + "moverArriba1.png", lado, lado);
+        this.arriba2 = recursos.imagen(carpeta + "moverArriba2.png", lado, lado);
+        this.abajo1 = recursos.imagen(carpeta + "moverAbajo1.png", lado, lado);
+        this.abajo2 = recursos.imagen(carpeta + "moverAbajo2.png", lado, lado);
+        this.izquierda1 = recursos.imagen(carpeta + "moverIzquierda1.png", lado, lado);
+        this.izquierda2 = recursos.imagen(carpeta + "moverIzquierda2.png", lado, lado);
+        this.derecha1 = recursos.imagen(carpeta + "moverDerecha1.png", lado, lado);
+        this.derecha2 = recursos.imagen(carpeta + "moverDerecha2.png", lado, lado);
+        this.neutro = recursos.imagen(carpeta + "neutral.png", lado, lado);
     }
     
+    /**
+     * Vuelve a pedir los sprites a {@link Recursos}, con la misma carpeta y el
+     * mismo lado, después de que cambiaron (ver {@link Recursos#setConfiguracion}).
+     */
+    public void recargaSprites(Recursos recursos) {
+        if (this.carpetaSprites != null) this.cargaSprites(recursos, this.carpetaSprites, this.ladoSprites);
+    }
+
     // --- GETTERS NECESARIOS PARA COLISIÓN (Extraídos de Jugador [1-3]) ---
 
     public int getMundoX() {
@@ -55,6 +105,24 @@ public class Entidad {
         return this.mundoY;
     }
 
+    /**
+     * Guarda la posición actual como la del tick anterior. Se llama al inicio
+     * de cada tick y también después de un salto (reaparición), para que el
+     * dibujo no interpole a través de todo el mapa.
+     */
+    public void guardaPosicionPrevia() {
+        this.mundoXPrevio = this.mundoX;
+        this.mundoYPrevio = this.mundoY;
+    }
+
+    public int getMundoXPrevio() {
+        return this.mundoXPrevio;
+    }
+
+    public int getMundoYPrevio() {
+        return this.mundoYPrevio;
+    }
+
     public int getVelocidad() {
         return this.velocidad;
     }
@@ -103,6 +171,10 @@ public class Entidad {
     public boolean getColisionActivada() {
         return colisionActivada;
     }
+
+    public boolean getCruzaAgua() {
+        return this.cruzaAgua;
+    }
     
     public int getDanio() {
     	return danio;
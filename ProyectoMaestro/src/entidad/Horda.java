@@ -0,0 +1,529 @@
+package entidad;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import main.CampoFlujo;
+import main.GamePanel;
+import main.Recursos;
+import tile.TablaAparicion;
+
+/**
+ * Todos los zombies del juego, guardados como estructura de arreglos: cada
+ * dato (posición, dirección, vida, animación, arquetipo...) vive en su propio
+ * arreglo de primitivos y el enemigo {@code i} es la posición {@code i} de
+ * todos ellos. Los enemigos vivos ocupan siempre los índices
+ * {@code 0..getNumEnemigos()-1}, así que actualizarlos es recorrer memoria
+ * contigua, y cada uno ocupa unas decenas de bytes en lugar de un objeto con
+ * sus propios sprites.
+ *
+ * Al eliminar un enemigo, el último ocupa su lugar (intercambio con el
+ * último), de modo que los índices cambian. Para guardar una referencia que
+ * dure más de un tick se usa el identificador que devuelve
+ * {@link #agrega(int)}: lleva una generación, y deja de ser válido en cuanto
+ * se elimina el enemigo aunque su ranura se reutilice.
+ *
+ * La lógica de cada enemigo está dividida en dos fases
+ * ({@link #calculaIntencion} y {@link #aplicaIntencion}) para que la primera
+ * pueda repartirse entre varios hilos.
+ */
+public class Horda {
+
+    // Arquetipos disponibles.
+    public static final int ZOMBIE = 0;
+
+    // Niveles de detalle según la distancia a la cámara (ver calculaIntencion).
+    public static final int DETALLE_CERCA = 0;
+    public static final int DETALLE_MEDIO = 1;
+    public static final int DETALLE_LEJOS = 2;
+    // Un enemigo a media distancia se actualiza cada tantos ticks, con un paso igual de mayor.
+    public static final int TICKS_DETALLE_MEDIO = 4;
+    // Distancia mínima (en celdas) entre el jugador y la celda donde aparece un enemigo.
+    public static final int DISTANCIA_MINIMA_APARICION = 10;
+
+    // Identificador = generación << BITS_RANURA | ranura.
+    private static final int BITS_RANURA = 20;
+    private static final int MASCARA_RANURA = (1 << BITS_RANURA) - 1;
+    private static final int MASCARA_GENERACION = (1 << (31 - BITS_RANURA)) - 1;
+    /** Identificador que nunca es válido. */
+    public static final int SIN_ENEMIGO = -1;
+
+    // Updates de caminar entre un fotograma y el siguiente.
+    private static final int CAMBIA_SPRITE = 10;
+    // Barra de vida: alto y distancia de su borde superior al del enemigo.
+    public static final int ALTO_BARRA = 5;
+    public static final int SEPARACION_BARRA = 10;
+
+    private final GamePanel gP;
+    private final ArquetipoEnemigo[] arquetipos;
+
+    private int numEnemigos;
+
+    // --- Estado de cada enemigo (índice denso) ---
+    private int[] x = new int[64];
+    private int[] y = new int[64];
+    // Posición al comienzo del tick, para interpolar el dibujo.
+    private int[] xPrevio = new int[64];
+    private int[] yPrevio = new int[64];
+    private int[] vida = new int[64];
+    // Dirección con las constantes de CampoFlujo.
+    private byte[] direccion = new byte[64];
+    // Fotograma de caminar (0 o 1) y updates desde el último cambio.
+    private byte[] fotograma = new byte[64];
+    private byte[] contadorAnimacion = new byte[64];
+    private byte[] arquetipo = new byte[64];
+    private byte[] nivelDetalle = new byte[64];
+    // Ticks que faltan para la siguiente actualización en los niveles MEDIO y LEJOS.
+    private byte[] ticksPendientes = new byte[64];
+
+    // --- Intención calculada en la primera fase del tick ---
+    private int[] intencionX = new int[64];
+    private int[] intencionY = new int[64];
+    private byte[] intencionDireccion = new byte[64];
+    private byte[] intencionNivel = new byte[64];
+    private byte[] intencionTicksPendientes = new byte[64];
+    private boolean[] intencionAnima = new boolean[64];
+
+    // --- Identificadores ---
+    // Ranura de cada índice denso y viceversa (-1 si la ranura está libre).
+    private int[] ranuraDeIndice = new int[64];
+    private int[] indiceDeRanura = new int[64];
+    private int[] generacion = new int[64];
+    private int numRanuras;
+    // Ranuras libres, como pila.
+    private int[] ranurasLibres = new int[64];
+    private int numRanurasLibres;
+
+    public Horda(GamePanel gP) {
+        this.gP = gP;
+        this.arquetipos = new ArquetipoEnemigo[] { ArquetipoEnemigo.zombie(gP.getRecursos(), gP.getTamanioTile()) };
+    }
+
+    /**
+     * Añade un enemigo en una posición aleatoria libre del mapa.
+     * @param tipo Arquetipo del enemigo (p. ej. {@link #ZOMBIE}).
+     * @return El identificador del enemigo.
+     */
+    public int agrega(int tipo) {
+        if (this.numEnemigos == this.x.length) this.creceEnemigos();
+        int i = this.numEnemigos++;
+
+        int ranura;
+        if (this.numRanurasLibres > 0) {
+            ranura = this.ranurasLibres[--this.numRanurasLibres];
+        } else {
+            if (this.numRanuras == this.indiceDeRanura.length) this.creceRanuras();
+            ranura = this.numRanuras++;
+        }
+        this.indiceDeRanura[ranura] = i;
+        this.ranuraDeIndice[i] = ranura;
+
+        this.arquetipo[i] = (byte) tipo;
+        this.vida[i] = this.arquetipos[tipo].getMaxVida();
+        this.direccion[i] = CampoFlujo.ABAJO;
+        this.fotograma[i] = 0;
+        this.contadorAnimacion[i] = 0;
+        this.nivelDetalle[i] = DETALLE_CERCA;
+        this.ticksPendientes[i] = 0;
+        this.setPosicionAleatoria(i);
+        return (this.generacion[ranura] << BITS_RANURA) | ranura;
+    }
+
+    /**
+     * Elimina un enemigo. El último de la horda pasa a ocupar su índice.
+     * @return {@code false} si el identificador ya no era válido.
+     */
+    public boolean elimina(int id) {
+        int i = this.indiceDe(id);
+        if (i < 0) return false;
+        int ranura = this.ranuraDeIndice[i];
+        int ultimo = --this.numEnemigos;
+        if (i != ultimo) this.mueveIndice(ultimo, i);
+        this.indiceDeRanura[ranura] = -1;
+        this.generacion[ranura] = (this.generacion[ranura] + 1) & MASCARA_GENERACION;
+        this.ranurasLibres[this.numRanurasLibres++] = ranura;
+        return true;
+    }
+
+    /** Elimina todos los enemigos; los identificadores anteriores dejan de ser válidos. */
+    public void vacia() {
+        while (this.numEnemigos > 0) this.elimina(this.getId(this.numEnemigos - 1));
+    }
+
+    /** @return El índice actual del enemigo, o -1 si el identificador ya no es válido. */
+    public int indiceDe(int id) {
+        if (id < 0) return -1;
+        int ranura = id & MASCARA_RANURA;
+        if (ranura >= this.numRanuras || this.generacion[ranura] != (id >>> BITS_RANURA)) return -1;
+        return this.indiceDeRanura[ranura];
+    }
+
+    /** @return El identificador del enemigo que ocupa el índice {@code i}. */
+    public int getId(int i) {
+        int ranura = this.ranuraDeIndice[i];
+        return (this.generacion[ranura] << BITS_RANURA) | ranura;
+    }
+
+    private void mueveIndice(int desde, int hacia) {
+        this.x[hacia] = this.x[desde];
+        this.y[hacia] = this.y[desde];
+        this.xPrevio[hacia] = this.xPrevio[desde];
+        this.yPrevio[hacia] = this.yPrevio[desde];
+        this.vida[hacia] = this.vida[desde];
+        this.direccion[hacia] = this.direccion[desde];
+        this.fotograma[hacia] = this.fotograma[desde];
+        this.contadorAnimacion[hacia] = this.contadorAnimacion[desde];
+        this.arquetipo[hacia] = this.arquetipo[desde];
+        this.nivelDetalle[hacia] = this.nivelDetalle[desde];
+        this.ticksPendientes[hacia] = this.ticksPendientes[desde];
+        int ranura = this.ranuraDeIndice[desde];
+        this.ranuraDeIndice[hacia] = ranura;
+        this.indiceDeRanura[ranura] = hacia;
+    }
+
+    /**
+     * Coloca al enemigo en una celda libre al azar, sin interpolar desde donde
+     * estaba. La celda sale de la {@link TablaAparicion} del mapa y queda fuera
+     * de la pantalla y a {@link #DISTANCIA_MINIMA_APARICION} celdas del
+     * jugador; sólo si el mapa no tiene ninguna así se acepta cualquier celda libre.
+     */
+    public void setPosicionAleatoria(int i) {
+        int tamanioTile = gP.getTamanioTile();
+        TablaAparicion tabla = gP.getManejadorTiles().getTablaAparicion();
+        Jugador jugador = gP.getJugador();
+        int colJugador = (jugador.getMundoX() + tamanioTile / 2) / tamanioTile;
+        int renJugador = (jugador.getMundoY() + tamanioTile / 2) / tamanioTile;
+        // Media pantalla (redondeada hacia arriba) más una celda de margen.
+        int medioAncho = (gP.getMaxColPantalla() + 1) / 2 + 1;
+        int medioAlto = (gP.getMaxRenPantalla() + 1) / 2 + 1;
+        int celda = tabla.elige(gP.getAleatorio(), TablaAparicion.TODO_EL_MAPA, colJugador, renJugador,
+                DISTANCIA_MINIMA_APARICION, medioAncho, medioAlto);
+        if (celda == TablaAparicion.NINGUNA) celda = tabla.elige(gP.getAleatorio(), TablaAparicion.TODO_EL_MAPA);
+        if (celda == TablaAparicion.NINGUNA) throw new IllegalStateException("El mapa no tiene celdas libres");
+        int columnas = tabla.getColumnas();
+        this.x[i] = this.xPrevio[i] = (celda % columnas) * tamanioTile;
+        this.y[i] = this.yPrevio[i] = (celda / columnas) * tamanioTile;
+    }
+
+    /**
+     * Guarda la posición actual de todos los enemigos como la del tick
+     * anterior, para que el dibujo pueda interpolar.
+     */
+    public void guardaPosicionesPrevias() {
+        System.arraycopy(this.x, 0, this.xPrevio, 0, this.numEnemigos);
+        System.arraycopy(this.y, 0, this.yPrevio, 0, this.numEnemigos);
+    }
+
+    /** Vuelve a pedir los sprites de todos los arquetipos (ver {@link Recursos#setConfiguracion}). */
+    public void recargaSprites(Recursos recursos) {
+        for (ArquetipoEnemigo a : this.arquetipos) a.recargaSprites(recursos);
+    }
+
+    /** Resta vida a un enemigo. */
+    public void recibeDanio(int i, int danio) {
+        this.vida[i] -= danio;
+    }
+
+    /** Un enemigo derrotado vuelve con la vida completa en otra parte del mapa. */
+    public void reaparece(int i) {
+        this.setPosicionAleatoria(i);
+        this.vida[i] = this.arquetipos[this.arquetipo[i]].getMaxVida();
+    }
+
+    /** Actualiza un enemigo visible con todo detalle, sin repartir trabajo entre hilos. */
+    public void actualiza(int i) {
+        this.calculaIntencion(i, DETALLE_CERCA, true);
+        this.aplicaIntencion(i);
+    }
+
+    /**
+     * Primera fase de la actualización: decide qué hará el enemigo {@code i}
+     * este tick (dirección, prueba de colisión con los mosaicos y nueva
+     * posición) sin cambiar su estado ni el del mundo; sólo escribe su
+     * intención. Como cada enemigo lee el mundo y escribe únicamente lo suyo,
+     * esta fase puede ejecutarse en paralelo para toda la horda.
+     *
+     * Según el nivel de detalle:
+     * <ul>
+     * <li>{@link #DETALLE_CERCA}: IA y colisión en cada tick; la animación sólo
+     * avanza si se va a dibujar.</li>
+     * <li>{@link #DETALLE_MEDIO}: lo mismo cada {@link #TICKS_DETALLE_MEDIO}
+     * ticks, con un paso igual de mayor.</li>
+     * <li>{@link #DETALLE_LEJOS}: salta de celda en celda siguiendo el
+     * {@link CampoFlujo}, una celda cada tanto como tardaría en recorrerla.
+     * Las celdas del campo son transitables, así que no revisa colisiones.</li>
+     * </ul>
+     * Los niveles MEDIO y LEJOS sólo se usan fuera de la pantalla, de modo que
+     * pasar de uno a otro no se nota.
+     * @param i       Índice del enemigo.
+     * @param nivel   Nivel de detalle de este tick.
+     * @param visible {@code true} si el enemigo toca la pantalla.
+     */
+    public void calculaIntencion(int i, int nivel, boolean visible) {
+        int velocidad = this.arquetipos[this.arquetipo[i]].getVelocidad();
+        this.intencionX[i] = this.x[i];
+        this.intencionY[i] = this.y[i];
+        this.intencionDireccion[i] = this.direccion[i];
+        this.intencionAnima[i] = false;
+        this.intencionTicksPendientes[i] = this.ticksPendientes[i];
+        if (nivel != this.nivelDetalle[i]) this.cambiaNivelDetalle(i, nivel, velocidad);
+
+        switch (nivel) {
+            case DETALLE_CERCA:
+                this.mueve(i, velocidad);
+                this.intencionAnima[i] = visible;
+                break;
+            case DETALLE_MEDIO:
+                if (--this.intencionTicksPendientes[i] > 0) break;
+                this.mueve(i, velocidad * TICKS_DETALLE_MEDIO);
+                this.intencionTicksPendientes[i] = TICKS_DETALLE_MEDIO;
+                break;
+            default:
+                if (--this.intencionTicksPendientes[i] > 0) break;
+                this.avanzaUnaCelda(i);
+                this.intencionTicksPendientes[i] = (byte) (gP.getTamanioTile() / velocidad);
+                break;
+        }
+        this.intencionNivel[i] = (byte) nivel;
+    }
+
+    /**
+     * Segunda fase: aplica lo decidido en {@link #calculaIntencion}. Se llama
+     * en orden, desde un solo hilo.
+     */
+    public void aplicaIntencion(int i) {
+        this.x[i] = this.intencionX[i];
+        this.y[i] = this.intencionY[i];
+        this.direccion[i] = this.intencionDireccion[i];
+        this.nivelDetalle[i] = this.intencionNivel[i];
+        this.ticksPendientes[i] = this.intencionTicksPendientes[i];
+        if (this.intencionAnima[i]) this.anima(i);
+    }
+
+    private void cambiaNivelDetalle(int i, int nivel, int velocidad) {
+        int tamanioTile = gP.getTamanioTile();
+        if (nivel == DETALLE_LEJOS) {
+            // El camino grueso va de celda en celda: se coloca en la celda de su centro.
+            this.intencionX[i] = Math.floorDiv(this.intencionX[i] + tamanioTile / 2, tamanioTile) * tamanioTile;
+            this.intencionY[i] = Math.floorDiv(this.intencionY[i] + tamanioTile / 2, tamanioTile) * tamanioTile;
+        }
+        // Reparte las actualizaciones de los enemigos lejanos entre varios ticks.
+        int periodo = nivel == DETALLE_LEJOS ? tamanioTile / velocidad : TICKS_DETALLE_MEDIO;
+        this.intencionTicksPendientes[i] = (byte) (1 + Math.floorMod(
+                this.intencionX[i] / tamanioTile + this.intencionY[i] / tamanioTile, periodo));
+    }
+
+    // Avanza una celda completa en la dirección del campo de flujo. Fuera de la
+    // ventana del campo se acerca en línea recta si la celda siguiente está libre.
+    private void avanzaUnaCelda(int i) {
+        int tamanioTile = gP.getTamanioTile();
+        int col = Math.floorDiv(this.intencionX[i], tamanioTile);
+        int ren = Math.floorDiv(this.intencionY[i], tamanioTile);
+        CampoFlujo campo = gP.getCampoFlujo();
+        byte haciaElJugador = campo.getDireccion(col, ren);
+        if (haciaElJugador == CampoFlujo.NINGUNA) {
+            if (campo.cubre(col, ren)) return; // Sin camino: se queda quieto.
+            this.persigueEnLineaRecta(i);
+            haciaElJugador = this.intencionDireccion[i];
+            int colSiguiente = col, renSiguiente = ren;
+            switch (haciaElJugador) {
+                case CampoFlujo.ARRIBA:    renSiguiente--; break;
+                case CampoFlujo.ABAJO:     renSiguiente++; break;
+                case CampoFlujo.IZQUIERDA: colSiguiente--; break;
+                case CampoFlujo.DERECHA:   colSiguiente++; break;
+                default: break;
+            }
+            if (gP.getManejadorTiles().esSolido(colSiguiente, renSiguiente)) return;
+        }
+        this.intencionDireccion[i] = haciaElJugador;
+        this.avanza(i, haciaElJugador, tamanioTile);
+    }
+
+    // IA de seguimiento, colisión con los mosaicos y movimiento, con el paso indicado.
+    private void mueve(int i, int paso) {
+        // 1. Lógica de IA: Determinar la dirección de seguimiento
+        this.establecerDireccionDeSeguimiento(i, paso);
+
+        // 2. Aplicar movimiento si no hay colisión
+        ArquetipoEnemigo a = this.arquetipos[this.arquetipo[i]];
+        boolean choca = this.gP.getDetectorColisiones().chocaConTiles(
+                this.intencionX[i] + a.getOffset(), this.intencionY[i] + a.getOffset(), a.getHitbox(), a.getHitbox(),
+                this.intencionDireccion[i], paso, false);
+        if (!choca) this.avanza(i, this.intencionDireccion[i], paso);
+    }
+
+    private void avanza(int i, byte haciaDonde, int paso) {
+        switch (haciaDonde) {
+            case CampoFlujo.ARRIBA:    this.intencionY[i] -= paso; break;
+            case CampoFlujo.ABAJO:     this.intencionY[i] += paso; break;
+            case CampoFlujo.IZQUIERDA: this.intencionX[i] -= paso; break;
+            case CampoFlujo.DERECHA:   this.intencionX[i] += paso; break;
+            default: break;
+        }
+    }
+
+    // Animación de caminar: alterna entre los dos fotogramas cada CAMBIA_SPRITE updates.
+    private void anima(int i) {
+        if (++this.contadorAnimacion[i] > CAMBIA_SPRITE) {
+            this.fotograma[i] ^= 1;
+            this.contadorAnimacion[i] = 0;
+        }
+    }
+
+    /**
+     * Elige la dirección hacia el jugador leyendo el {@link CampoFlujo} en la
+     * celda donde está el centro del enemigo. Para doblar hacia la dirección
+     * del campo, el enemigo primero se alinea con esa celda en el otro eje; si
+     * no, la esquina del mosaico sólido lo detendría. En la celda del jugador,
+     * o donde no hay camino, persigue en línea recta.
+     */
+    private void establecerDireccionDeSeguimiento(int i, int paso) {
+        int tamanioTile = gP.getTamanioTile();
+        int col = Math.floorDiv(this.intencionX[i] + tamanioTile / 2, tamanioTile);
+        int ren = Math.floorDiv(this.intencionY[i] + tamanioTile / 2, tamanioTile);
+        byte haciaElJugador = gP.getCampoFlujo().getDireccion(col, ren);
+
+        switch (haciaElJugador) {
+            case CampoFlujo.ARRIBA:
+            case CampoFlujo.ABAJO:
+                if (this.alineaEnX(i, col * tamanioTile, paso)) this.intencionDireccion[i] = haciaElJugador;
+                break;
+            case CampoFlujo.IZQUIERDA:
+            case CampoFlujo.DERECHA:
+                if (this.alineaEnY(i, ren * tamanioTile, paso)) this.intencionDireccion[i] = haciaElJugador;
+                break;
+            default:
+                this.persigueEnLineaRecta(i);
+                break;
+        }
+    }
+
+    /**
+     * Si el enemigo no está alineado en X con la celda, elige la dirección
+     * que lo alinea (y corrige el último tramo si es menor que el paso).
+     * @return {@code true} si ya está alineado.
+     */
+    private boolean alineaEnX(int i, int objetivoX, int paso) {
+        int diferencia = objetivoX - this.intencionX[i];
+        if (diferencia == 0) return true;
+        if (Math.abs(diferencia) < paso) {
+            this.intencionX[i] = objetivoX;
+            return true;
+        }
+        this.intencionDireccion[i] = diferencia < 0 ? CampoFlujo.IZQUIERDA : CampoFlujo.DERECHA;
+        return false;
+    }
+
+    /** @see #alineaEnX(int, int, int) */
+    private boolean alineaEnY(int i, int objetivoY, int paso) {
+        int diferencia = objetivoY - this.intencionY[i];
+        if (diferencia == 0) return true;
+        if (Math.abs(diferencia) < paso) {
+            this.intencionY[i] = objetivoY;
+            return true;
+        }
+        this.intencionDireccion[i] = diferencia < 0 ? CampoFlujo.ARRIBA : CampoFlujo.ABAJO;
+        return false;
+    }
+
+    /**
+     * IA simple para moverse hacia el jugador: elige la dirección del eje en
+     * el que está más lejos de él.
+     */
+    private void persigueEnLineaRecta(int i) {
+        int distanciaX = gP.getJugador().getMundoX() - this.intencionX[i];
+        int distanciaY = gP.getJugador().getMundoY() - this.intencionY[i];
+
+        if (Math.abs(distanciaX) > Math.abs(distanciaY)) {
+            this.intencionDireccion[i] = distanciaX < 0 ? CampoFlujo.IZQUIERDA : CampoFlujo.DERECHA;
+        } else if (Math.abs(distanciaY) > Math.abs(distanciaX)) {
+            this.intencionDireccion[i] = distanciaY < 0 ? CampoFlujo.ARRIBA : CampoFlujo.ABAJO;
+        } else if (distanciaX != 0) { // Si las distancias son iguales
+            this.intencionDireccion[i] = distanciaX < 0 ? CampoFlujo.IZQUIERDA : CampoFlujo.DERECHA;
+        }
+    }
+
+    private void creceEnemigos() {
+        int capacidad = this.x.length * 2;
+        this.x = Arrays.copyOf(this.x, capacidad);
+        this.y = Arrays.copyOf(this.y, capacidad);
+        this.xPrevio = Arrays.copyOf(this.xPrevio, capacidad);
+        this.yPrevio = Arrays.copyOf(this.yPrevio, capacidad);
+        this.vida = Arrays.copyOf(this.vida, capacidad);
+        this.direccion = Arrays.copyOf(this.direccion, capacidad);
+        this.fotograma = Arrays.copyOf(this.fotograma, capacidad);
+        this.contadorAnimacion = Arrays.copyOf(this.contadorAnimacion, capacidad);
+        this.arquetipo = Arrays.copyOf(this.arquetipo, capacidad);
+        this.nivelDetalle = Arrays.copyOf(this.nivelDetalle, capacidad);
+        this.ticksPendientes = Arrays.copyOf(this.ticksPendientes, capacidad);
+        this.intencionX = Arrays.copyOf(this.intencionX, capacidad);
+        this.intencionY = Arrays.copyOf(this.intencionY, capacidad);
+        this.intencionDireccion = Arrays.copyOf(this.intencionDireccion, capacidad);
+        this.intencionNivel = Arrays.copyOf(this.intencionNivel, capacidad);
+        this.intencionTicksPendientes = Arrays.copyOf(this.intencionTicksPendientes, capacidad);
+        this.intencionAnima = Arrays.copyOf(this.intencionAnima, capacidad);
+        this.ranuraDeIndice = Arrays.copyOf(this.ranuraDeIndice, capacidad);
+    }
+
+    private void creceRanuras() {
+        int capacidad = this.indiceDeRanura.length * 2;
+        this.indiceDeRanura = Arrays.copyOf(this.indiceDeRanura, capacidad);
+        this.generacion = Arrays.copyOf(this.generacion, capacidad);
+        this.ranurasLibres = Arrays.copyOf(this.ranurasLibres, capacidad);
+    }
+
+    // --- GETTERS (por índice) ---
+    public int getNumEnemigos() { return this.numEnemigos; }
+    public int getMundoX(int i) { return this.x[i]; }
+    public int getMundoY(int i) { return this.y[i]; }
+    public int getMundoXPrevio(int i) { return this.xPrevio[i]; }
+    public int getMundoYPrevio(int i) { return this.yPrevio[i]; }
+    public int getVidaActual(int i) { return this.vida[i]; }
+    public int getNivelDetalle(int i) { return this.nivelDetalle[i]; }
+    public byte getDireccion(int i) { return this.direccion[i]; }
+    public ArquetipoEnemigo getArquetipo(int i) { return this.arquetipos[this.arquetipo[i]]; }
+
+    /** @return El sprite que corresponde a la dirección y al fotograma actuales. */
+    public BufferedImage getSpriteActual(int i) {
+        return this.getArquetipo(i).getSprite(this.direccion[i], this.fotograma[i]);
+    }
+
+    /**
+     * Ancho de la parte roja de la barra de vida de un enemigo.
+     * @param vidaActual  Vida del enemigo en ese tick.
+     * @param maxVida     Vida máxima del enemigo.
+     * @param tamanioTile Tamaño del mosaico en pantalla (ancho de la barra llena).
+     */
+    public static int anchoVida(int vidaActual, int maxVida, int tamanioTile) {
+        double proporcionVida = (double) vidaActual / maxVida;
+        return (int) (proporcionVida * tamanioTile);
+    }
+
+    /**
+     * Dibuja juntas las barras de vida de varios enemigos: primero todos los
+     * fondos y luego todas las vidas, para cambiar de color sólo dos veces.
+     * Cada barra va {@link #SEPARACION_BARRA} píxeles por encima del enemigo.
+     * @param g2          El contexto gráfico donde dibujar.
+     * @param pantallaX   Coordenadas X de los enemigos en pantalla.
+     * @param pantallaY   Coordenadas Y de los enemigos en pantalla.
+     * @param anchoVida   Ancho de la parte roja de cada barra, de {@link #anchoVida}.
+     * @param n           Número de barras.
+     * @param tamanioTile Tamaño del mosaico en pantalla.
+     */
+    public static void dibujaBarras(Graphics2D g2, int[] pantallaX, int[] pantallaY, int[] anchoVida,
+            int n, int tamanioTile) {
+        if (n == 0) return;
+        // 1. Fondos de las barras (Negro)
+        g2.setColor(Color.BLACK);
+        for (int i = 0; i < n; i++) {
+            g2.fillRect(pantallaX[i], pantallaY[i] - SEPARACION_BARRA, tamanioTile, ALTO_BARRA);
+        }
+        // 2. Vida actual (Rojo)
+        g2.setColor(Color.RED);
+        for (int i = 0; i < n; i++) {
+            g2.fillRect(pantallaX[i], pantallaY[i] - SEPARACION_BARRA, anchoVida[i], ALTO_BARRA);
+        }
+    }
+}
@@ -4,22 +4,35 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 import main.GamePanel;
+import main.PlanificadorRutas;
 
 public class Jefe extends Entidad {
 
+    // Colores de la barra de vida (se crean una sola vez, no en cada fotograma).
+    private static final Color FONDO_BARRA = new Color(35, 35, 35);
+    private static final Color VIDA_BARRA = new Color(220, 0, 0);
+
     private GamePanel gP;
 
+    // Lado del jefe en mosaicos (dibujo y hueco que necesita para pasar).
+    public static final int ESCALA = 3;
+
+    // Ruta que sigue hacia el jugador (la guarda el planificador del panel).
+    private boolean hayRuta = false;
+    private int pasoRuta = 0;
+    // Cluster de la meta con el que se planeó por última vez (-1 = nunca).
+    private int clusterPlaneado = -1;
+    // Generación del grafo del planificador con la que se planeó (cambia con el mapa).
+    private int generacionPlaneada = -1;
+
     public Jefe(GamePanel gP) {
         this.gP = gP;
         
         // --- TAMAÑO GIGANTE ---
         // Multiplicamos por 3 el tamaño del tile. 
         // Aunque la imagen original sea pequeña, aquí definimos que ocupa mucho espacio.
-        int escalaJefe = 3; 
-        this.hitbox = gP.getTamanioTile() * escalaJefe; 
+        this.hitbox = gP.getTamanioTile() * ESCALA; 
         
         // Ajustamos la colisión (hitbox) para que sea un poco más pequeña que el dibujo
         // Esto evita que el jefe se quede atorado en pasillos estrechos visualmente.
@@ -34,6 +47,7 @@ public class Jefe extends Entidad {
         this.vidaActual = maxVida;
         this.velocidad = 3; 
         this.danio = 2;     // Quita más vida al golpear
+        this.cruzaAgua = true; // El agua no lo detiene
         
         configuracionInicial();
         getSpritesJefe();
@@ -46,28 +60,14 @@ public class Jefe extends Entidad {
         
         this.mundoX = centroCol * gP.getTamanioTile();
         this.mundoY = centroRen * gP.getTamanioTile();
+        this.guardaPosicionPrevia();
         
         this.direccion = "abajo";
     }
 
     public void getSpritesJefe() {
-        try {
-            String ruta = "/spritesEnemigo/"; 
-
-            this.arriba1 = ImageIO.read(getClass().getResourceAsStream(ruta + "moverArriba1.png"));
-            this.arriba2 = ImageIO.read(getClass().getResourceAsStream(ruta + "moverArriba2.png"));
-            this.abajo1 = ImageIO.read(getClass().getResourceAsStream(ruta + "moverAbajo1.png"));
-            this.abajo2 = ImageIO.read(getClass().getResourceAsStream(ruta + "moverAbajo2.png"));
-            this.izquierda1 = ImageIO.read(getClass().getResourceAsStream(ruta + "moverIzquierda1.png"));
-            this.izquierda2 = ImageIO.read(getClass().getResourceAsStream(ruta + "moverIzquierda2.png"));
-            this.derecha1 = ImageIO.read(getClass().getResourceAsStream(ruta + "moverDerecha1.png"));
-            this.derecha2 = ImageIO.read(getClass().getResourceAsStream(ruta + "moverDerecha2.png"));
-            this.neutro = ImageIO.read(getClass().getResourceAsStream(ruta + "neutral.png"));
-            
-        } catch (IOException e) {
-            System.out.println("ERROR: No encuentro las imágenes en /spritesEnemigo/");
-            e.printStackTrace();
-        }
+        // Mismos sprites que los zombies, al triple de tamaño.
+        this.cargaSprites(gP.getRecursos(), "/spritesEnemigo/", gP.getTamanioTile() * ESCALA);
     }
 
     @Override
@@ -101,9 +101,92 @@ public class Jefe extends Entidad {
         }
     }
 
+    /**
+     * Sigue la ruta del {@link PlanificadorRutas} hacia el jugador. Se planea de
+     * nuevo sólo cuando el jugador cambia de cluster; si se mueve dentro del
+     * mismo, se repara el último tramo. Si cambió el mapa se planea de nuevo
+     * aunque no hubiera ruta. Cada celda de la ruta es la esquina superior
+     * izquierda del área sólida. Al final de la ruta (o si no hay ruta)
+     * persigue en línea recta.
+     */
     private void establecerDireccionDeSeguimiento() {
-        int jugadorX = gP.getJugador().getMundoX();
-        int jugadorY = gP.getJugador().getMundoY();
+        PlanificadorRutas planificador = gP.getPlanificadorJefe();
+        int tamanioTile = gP.getTamanioTile();
+        int columnas = planificador.getColumnas();
+
+        int meta = this.buscaMeta(planificador, tamanioTile);
+        if (meta >= 0) {
+            int colMeta = meta % columnas, renMeta = meta / columnas;
+            int clusterMeta = planificador.clusterDe(meta);
+            if (clusterMeta != this.clusterPlaneado || planificador.getGeneracion() != this.generacionPlaneada
+                    || (this.hayRuta && !planificador.repara(this.pasoRuta, colMeta, renMeta))) {
+                int col = Math.floorDiv(this.mundoX + this.areaSolida.x, tamanioTile);
+                int ren = Math.floorDiv(this.mundoY + this.areaSolida.y, tamanioTile);
+                this.hayRuta = planificador.planifica(col, ren, colMeta, renMeta);
+                this.pasoRuta = 0;
+                this.clusterPlaneado = clusterMeta;
+                this.generacionPlaneada = planificador.getGeneracion();
+            }
+        }
+
+        // Se alinea con la siguiente celda de la ruta; al llegar, pasa a la otra.
+        while (this.hayRuta && this.pasoRuta < planificador.getLongitudRuta()) {
+            int celda = planificador.getPaso(this.pasoRuta);
+            int objetivoX = (celda % columnas) * tamanioTile - this.areaSolida.x;
+            int objetivoY = (celda / columnas) * tamanioTile - this.areaSolida.y;
+            if (this.seAcerca(objetivoX, objetivoY)) return;
+            this.pasoRuta++;
+        }
+        this.persigueEnLineaRecta();
+    }
+
+    /**
+     * Elige la celda en la que el jefe deja al jugador en medio de su área
+     * sólida; si ahí no cabe, la más cercana de las que todavía lo cubren.
+     * @return La celda (renglón * columnas + columna) o -1 si no cabe en ninguna.
+     */
+    private int buscaMeta(PlanificadorRutas planificador, int tamanioTile) {
+        Jugador jugador = gP.getJugador();
+        int col = Math.floorDiv(jugador.getMundoX() + jugador.getAreaSolidaX() + jugador.getAreaSolidaAncho() / 2, tamanioTile);
+        int ren = Math.floorDiv(jugador.getMundoY() + jugador.getAreaSolidaY() + jugador.getAreaSolidaAlto() / 2, tamanioTile);
+        int centro = ESCALA / 2;
+        for (int radio = 0; radio <= centro; radio++) {
+            for (int dRen = -radio; dRen <= radio; dRen++) {
+                for (int dCol = -radio; dCol <= radio; dCol++) {
+                    if (Math.max(Math.abs(dCol), Math.abs(dRen)) != radio) continue;
+                    int c = col - centro + dCol, r = ren - centro + dRen;
+                    if (planificador.cabe(c, r)) return r * planificador.getColumnas() + c;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Elige la dirección que acerca al jefe a la posición indicada, primero en
+     * X y luego en Y. El último tramo, si es menor que su velocidad, se corrige
+     * directamente.
+     * @return {@code false} si ya está en esa posición.
+     */
+    private boolean seAcerca(int objetivoX, int objetivoY) {
+        int dx = objetivoX - this.mundoX, dy = objetivoY - this.mundoY;
+        if (dx != 0 && Math.abs(dx) < this.velocidad) { this.mundoX = objetivoX; dx = 0; }
+        if (dy != 0 && Math.abs(dy) < this.velocidad) { this.mundoY = objetivoY; dy = 0; }
+        if (dx != 0) {
+            this.direccion = dx < 0 ? "izquierda" : "derecha";
+            return true;
+        }
+        if (dy != 0) {
+            this.direccion = dy < 0 ? "arriba" : "abajo";
+            return true;
+        }
+        return false;
+    }
+
+    private void persigueEnLineaRecta() {
+        // Apunta a que el centro del jefe quede sobre el centro del jugador.
+        int jugadorX = gP.getJugador().getMundoX() + gP.getTamanioTile() / 2 - this.hitbox / 2;
+        int jugadorY = gP.getJugador().getMundoY() + gP.getTamanioTile() / 2 - this.hitbox / 2;
         
         // IA simple: moverse en la dirección que reduzca más la distancia
         if (Math.abs(mundoX - jugadorX) > Math.abs(mundoY - jugadorY)) {
@@ -116,43 +199,35 @@ public class Jefe extends Entidad {
     }
 
     @Override
-    public void draw(Graphics2D g2) {
-        // Cálculo de posición relativa a la cámara
-        int pantallaX = this.mundoX - gP.getJugador().getMundoX() + gP.getJugador().getPantallaX();
-        int pantallaY = this.mundoY - gP.getJugador().getMundoY() + gP.getJugador().getPantallaY();
-
-        // Selección del sprite animado
-        BufferedImage sprite = null;
-        switch (this.direccion) {
-            case "arriba":    sprite = (this.numeroSprites == 1) ? this.arriba1 : this.arriba2; break;
-            case "abajo":     sprite = (this.numeroSprites == 1) ? this.abajo1 : this.abajo2; break;
-            case "izquierda": sprite = (this.numeroSprites == 1) ? this.izquierda1 : this.izquierda2; break;
-            case "derecha":   sprite = (this.numeroSprites == 1) ? this.derecha1 : this.derecha2; break;
-            default:          sprite = this.abajo1; break;
-        }
+    public BufferedImage getSpriteActual() {
+        BufferedImage sprite = super.getSpriteActual();
+        return (sprite != null) ? sprite : this.abajo1;
+    }
 
+    /**
+     * Dibuja la barra de vida del jefe (tres veces más grande que un mosaico)
+     * a partir de los datos de la foto del mundo. El sprite lo dibuja la cola
+     * de dibujo, junto con los demás.
+     */
+    public static void dibujaBarra(Graphics2D g2, int pantallaX, int pantallaY,
+            int vidaActual, int maxVida, int tamanioTile) {
         // --- BARRA DE VIDA DEL JEFE ---
         if(vidaActual < maxVida) {
-            int anchoBarra = gP.getTamanioTile() * 3; // La barra es tan ancha como el jefe
+            int anchoBarra = tamanioTile * 3; // La barra es tan ancha como el jefe
             double escalaVida = (double)anchoBarra / maxVida;
             double largoVida = escalaVida * vidaActual;
             
             // Fondo oscuro
-            g2.setColor(new Color(35, 35, 35));
+            g2.setColor(FONDO_BARRA);
             g2.fillRect(pantallaX, pantallaY - 20, anchoBarra, 10);
             
             // Vida roja
-            g2.setColor(new Color(220, 0, 0));
+            g2.setColor(VIDA_BARRA);
             g2.fillRect(pantallaX, pantallaY - 20, (int)largoVida, 10);
             
             // Borde blanco
             g2.setColor(Color.WHITE);
             g2.drawRect(pantallaX, pantallaY - 20, anchoBarra, 10);
         }
-
-        // dibujamos multiplicada por 3
-        if (sprite != null) {
-            g2.drawImage(sprite, pantallaX, pantallaY, gP.getTamanioTile() * 3, gP.getTamanioTile() * 3, null);
-        }
     }
 }
\ No newline at end of file
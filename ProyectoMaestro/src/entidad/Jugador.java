@@ -1,22 +1,21 @@
 package entidad;
 
+import java.awt.AlphaComposite;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import java.io.BufferedInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import javax.imageio.ImageIO;
-import javax.sound.sampled.*;
+import main.FuenteEntrada;
 import main.GamePanel;
-import main.ManejadorTeclas;
+import main.Recursos;
 
 public class Jugador extends Entidad {
 	
-	
+    // Composiciones para el parpadeo de invencibilidad (se crean una sola vez).
+    private static final AlphaComposite SEMITRANSPARENTE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f);
+    private static final AlphaComposite OPACO = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1f);
 
     private final GamePanel gP;
-    private final ManejadorTeclas mT;
+    private final FuenteEntrada mT;
 
     private long tiempo = 0;
     private int rango;
@@ -27,13 +26,10 @@ public class Jugador extends Entidad {
     private boolean invencible = false;
     private int invencibleContador = 0;
 
-    private Clip caminar;
-    private Clip aud_disparo;
-
     private final int pantallaX;
     private final int pantallaY;
 
-    public Jugador(GamePanel gP, ManejadorTeclas mT) throws UnsupportedAudioFileException, LineUnavailableException, IOException {
+    public Jugador(GamePanel gP, FuenteEntrada mT) {
         this.gP = gP;
         this.mT = mT;
 
@@ -42,12 +38,12 @@ public class Jugador extends Entidad {
         
         this.configuracionInicial();
         this.getSpritesJugador();
-        this.getAudioJugador();
     }
 
     public void configuracionInicial() {
         this.mundoX = gP.getTamanioTile() * 22;
         this.mundoY = gP.getTamanioTile() * 30;
+        this.guardaPosicionPrevia();
         this.velocidad = 5;
         this.direccion = "abajo";
         this.rango = 75;
@@ -64,32 +60,7 @@ public class Jugador extends Entidad {
     }
 
     public void getSpritesJugador() {
-        // ... (Tu código de carga de imágenes se mantiene igual) ...
-        try {
-            this.arriba1 = ImageIO.read(getClass().getResourceAsStream("/spritesjugador/moverArriba1.png"));
-            this.arriba2 = ImageIO.read(getClass().getResourceAsStream("/spritesjugador/moverArriba2.png"));
-            this.abajo1 = ImageIO.read(getClass().getResourceAsStream("/spritesjugador/moverAbajo1.png"));
-            this.abajo2 = ImageIO.read(getClass().getResourceAsStream("/spritesjugador/moverAbajo2.png"));
-            this.izquierda1 = ImageIO.read(getClass().getResourceAsStream("/spritesjugador/moverIzquierda1.png"));
-            this.izquierda2 = ImageIO.read(getClass().getResourceAsStream("/spritesjugador/moverIzquierda2.png"));
-            this.derecha1 = ImageIO.read(getClass().getResourceAsStream("/spritesjugador/moverDerecha1.png"));
-            this.derecha2 = ImageIO.read(getClass().getResourceAsStream("/spritesjugador/moverDerecha2.png"));
-            this.neutro = ImageIO.read(getClass().getResourceAsStream("/spritesjugador/neutral.png"));
-        } catch (IOException e) { e.printStackTrace(); }
-    }
-
-    public void getAudioJugador() throws UnsupportedAudioFileException, IOException, LineUnavailableException {
-        // ... (Tu código de audio se mantiene igual) ...
-        caminar = AudioSystem.getClip();
-        aud_disparo = AudioSystem.getClip();
-        InputStream rawStream = getClass().getResourceAsStream("/sounds/walk.wav");
-        BufferedInputStream bis = new BufferedInputStream(rawStream);
-        AudioInputStream ais = AudioSystem.getAudioInputStream(bis);            
-        caminar.open(ais);
-        rawStream = getClass().getResourceAsStream("/sounds/disparo.wav");
-        bis = new BufferedInputStream(rawStream);
-        ais = AudioSystem.getAudioInputStream(bis);
-        aud_disparo.open(ais);
+        this.cargaSprites(gP.getRecursos(), "/spritesjugador/", gP.getTamanioTile());
     }
 
     public void update() {
@@ -118,8 +89,7 @@ public class Jugador extends Entidad {
                     this.numeroSprites = 2;
                 } else {
                     this.numeroSprites = 1;
-                    caminar.setFramePosition(0);
-                    caminar.start();
+                    gP.getAudio().reanudar(GamePanel.SONIDO_CAMINAR);
                 }
                 this.contadorSprites = 0;
             }
@@ -127,17 +97,12 @@ public class Jugador extends Entidad {
 
         if(tiempo < retDisparo+1) tiempo++;
         
-        if (mT.getDisparo() && tiempo > retDisparo){                                                     
-            gP.getListaProjectil().add(new Proyectil(this.gP, this.mT));                                        
+        // Si el pool está lleno no sale el disparo (y se vuelve a intentar el siguiente tick).
+        if (mT.getDisparo() && tiempo > retDisparo && gP.getProyectiles().dispara() != null){
             tiempo = 0;                                                                                         
-            aud_disparo.setFramePosition(0);
-            aud_disparo.start();
+            gP.getAudio().reanudar(GamePanel.SONIDO_DISPARO);
         }
-        
-        if(!gP.getListaProjectil().isEmpty())
-            for(int i=0; i<gP.getListaProjectil().size(); i++)
-                if(gP.getListaProjectil().get(i).getTimer() > rango)
-                    gP.getListaProjectil().remove(i);
+        // Los proyectiles que superan el rango los retira GamePanel al actualizarlos.
 
         // --- LÓGICA DE INVENCIBILIDAD ---
         // Esto evita que pierdas las 3 vidas en un solo segundo al tocar un zombie
@@ -150,26 +115,22 @@ public class Jugador extends Entidad {
         }
     }
 
-    public void draw(Graphics2D g2) {
-        BufferedImage sprite = null;
-
-        switch (this.direccion) {
-        case "arriba": sprite = (this.numeroSprites == 1) ? this.arriba1 : this.arriba2; break;
-        case "abajo": sprite = (this.numeroSprites == 1) ? this.abajo1 : this.abajo2; break;
-        case "izquierda": sprite = (this.numeroSprites == 1) ? this.izquierda1 : this.izquierda2; break;
-        case "derecha": sprite = (this.numeroSprites == 1) ? this.derecha1 : this.derecha2; break;
-        }
-
+    /**
+     * Dibuja al jugador en el centro de la pantalla a partir de los datos de la
+     * foto del mundo.
+     */
+    public static void dibuja(Graphics2D g2, BufferedImage sprite, int pantallaX, int pantallaY,
+            boolean invencible, int tamanioTile) {
         // Efecto visual de parpadeo cuando eres invencible (te han golpeado)
         if (invencible == true) {
             // Hace al personaje 50% transparente
-            g2.setComposite(java.awt.AlphaComposite.getInstance(java.awt.AlphaComposite.SRC_OVER, 0.5f));
+            g2.setComposite(SEMITRANSPARENTE);
         }
         
-        g2.drawImage(sprite, this.pantallaX, this.pantallaY, this.gP.getTamanioTile(), this.gP.getTamanioTile(), null); 
+        g2.drawImage(sprite, pantallaX, pantallaY, null); // Ya viene escalado al tamaño del mosaico.
         
         // Restaurar opacidad
-        g2.setComposite(java.awt.AlphaComposite.getInstance(java.awt.AlphaComposite.SRC_OVER, 1f));
+        g2.setComposite(OPACO);
 
         // NOTA: He quitado el dibujado de texto y barras aquí. Ahora se encarga la clase UI.
     }
@@ -201,5 +162,7 @@ public class Jugador extends Entidad {
     public int getAreaSolidaAlto() { return this.areaSolida.height; }
     public String getDireccion() { return this.direccion; }
     public int getPuntuacion() { return this.puntuacion; }
+    public int getRango() { return this.rango; }
+    public boolean getInvencible() { return this.invencible; }
     public void setPuntuacion(int x) { this.puntuacion = x; }
 }
\ No newline at end of file
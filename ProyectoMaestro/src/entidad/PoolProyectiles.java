@@ -0,0 +1,104 @@
+package entidad;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import main.GamePanel;
+
+/**
+ * Reserva de capacidad fija con todos los proyectiles del juego. Se crean al
+ * empezar, con un único sprite leído una vez, y cada disparo toma uno libre
+ * en lugar de crear (y decodificar) uno nuevo.
+ *
+ * Los proyectiles en juego se guardan en orden de disparo. Retirar uno es
+ * marcarlo ({@link Proyectil#retira()}, o que choque con un muro o supere su
+ * rango); {@link #recoge()} los devuelve todos a la pila de libres en una sola
+ * pasada que conserva el orden de los demás.
+ */
+public class PoolProyectiles {
+
+    private final GamePanel gP;
+    private BufferedImage sprite;
+
+    private Proyectil[] activos;
+    private int numActivos;
+    // Pila de proyectiles libres.
+    private Proyectil[] libres;
+    private int numLibres;
+
+    /**
+     * @param capacidad Número máximo de proyectiles en juego a la vez.
+     */
+    public PoolProyectiles(GamePanel gP, int capacidad) {
+        this.gP = gP;
+        this.sprite = Proyectil.cargaSprite(gP.getRecursos(), gP.getTamanioTile());
+        this.activos = new Proyectil[0];
+        this.libres = new Proyectil[0];
+        this.amplia(capacidad);
+    }
+
+    /**
+     * Saca un proyectil del jugador.
+     * @return El proyectil, ya en juego, o null si no queda ninguno libre.
+     */
+    public Proyectil dispara() {
+        if (this.numLibres == 0) return null;
+        Proyectil p = this.libres[--this.numLibres];
+        this.libres[this.numLibres] = null;
+        p.configuracionInicial();
+        this.activos[this.numActivos++] = p;
+        return p;
+    }
+
+    /**
+     * Devuelve a la pila de libres los proyectiles que deben retirarse
+     * ({@link Proyectil#debeRetirarse()}) y compacta el resto, en orden.
+     */
+    public void recoge() {
+        int vivos = 0;
+        for (int i = 0; i < this.numActivos; i++) {
+            Proyectil p = this.activos[i];
+            if (p.debeRetirarse()) {
+                this.libres[this.numLibres++] = p;
+            } else {
+                this.activos[vivos++] = p;
+            }
+        }
+        Arrays.fill(this.activos, vivos, this.numActivos, null);
+        this.numActivos = vivos;
+    }
+
+    /** Retira todos los proyectiles en juego. */
+    public void vacia() {
+        for (int i = 0; i < this.numActivos; i++) {
+            this.libres[this.numLibres++] = this.activos[i];
+            this.activos[i] = null;
+        }
+        this.numActivos = 0;
+    }
+
+    /**
+     * Aumenta la capacidad hasta el número indicado. En el juego la capacidad
+     * no cambia; esto es para pruebas con muchos proyectiles.
+     */
+    public void amplia(int capacidad) {
+        int anterior = this.activos.length;
+        if (capacidad <= anterior) return;
+        this.activos = Arrays.copyOf(this.activos, capacidad);
+        this.libres = Arrays.copyOf(this.libres, capacidad);
+        for (int i = anterior; i < capacidad; i++) {
+            this.libres[this.numLibres++] = new Proyectil(this.gP, this.sprite);
+        }
+    }
+
+    /** Vuelve a pedir el sprite a {@link main.Recursos} y se lo da a todos los proyectiles. */
+    public void recargaSprite() {
+        this.sprite = Proyectil.cargaSprite(this.gP.getRecursos(), this.gP.getTamanioTile());
+        for (int i = 0; i < this.numActivos; i++) this.activos[i].setSprite(this.sprite);
+        for (int i = 0; i < this.numLibres; i++) this.libres[i].setSprite(this.sprite);
+    }
+
+    public int getNumActivos() { return this.numActivos; }
+    public Proyectil getActivo(int i) { return this.activos[i]; }
+    public int getCapacidad() { return this.activos.length; }
+}
@@ -2,71 +2,78 @@ package entidad;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-
-import javax.imageio.ImageIO;
 
 import main.GamePanel;
-import main.ManejadorTeclas;
+import main.Recursos;
 
 public class Proyectil extends Entidad{
-	private ManejadorTeclas mT;
-	private GamePanel gP;
+	private final GamePanel gP;
+	private BufferedImage sprite;	// Compartido por todos los proyectiles (ver cargaSprite).
 	private int timer = 0;
-
-
-	public Proyectil(GamePanel gP, ManejadorTeclas mT) {
+	private int rango;	// Ticks que vive el proyectil (el rango del jugador al disparar).
+	private boolean chocoConMuro = false;	// true en cuanto su recorrido entra en un mosaico sólido.
+	private boolean retirado = false;	// true si chocó con algo y debe volver al pool.
+	private static final int HITBOX = 16;
+
+
+	/**
+	 * Los proyectiles se crean todos de una vez en {@link PoolProyectiles}, que
+	 * llama a {@link #configuracionInicial()} en cada disparo.
+	 * @param sprite El sprite de {@link #cargaSprite(Recursos, int)}, compartido.
+	 */
+	public Proyectil(GamePanel gP, BufferedImage sprite) {
 		this.gP = gP;
-		this.mT = mT;
+		this.sprite = sprite;
 		
-		configuracionInicial();
-		getSpritesProyectil();
+		// Inicializar hitbox (más pequeño que el tile, centrado)
+		this.hitbox = HITBOX;
+		this.offset = (gP.getTamanioTile() - hitbox) / 2;
+		this.areaSolida = new Rectangle(offset, offset, hitbox, hitbox);
 	}
 	
+	/** Coloca el proyectil en el jugador, listo para salir en la dirección en que mira. */
 	public void configuracionInicial() {
-
-
-		
 		//inicializar vida
 		this.maxVida = 10;
 		this.vidaActual = 10;
 		
 		//=============================================
 		this.danio = 1; // DAÑO que inflige el proyectil.
-		// Inicializar hitbox (más pequeño que el tile, centrado)
-		this.hitbox = 16;
-		this.offset = (gP.getTamanioTile() - hitbox) / 2;
-		this.areaSolida = new Rectangle(offset, offset, hitbox, hitbox);
 		
 		this.mundoX = gP.getJugador().getMundoX() + this.offset;		// Posición inicial del jugador en el mapa del MUNDO (coordenadas X).
 		this.mundoY = gP.getJugador().getMundoY() + this.offset;		// Posición inicial del jugador en el mapa del MUNDO (coordenadas Y).
 		this.velocidad = 7;								// Velocidad de movimiento del jugador en píxeles por fotograma.
 		this.direccion = gP.getJugador().getDireccion();					// Dirección inicial a la que mira el jugador.
+		this.guardaPosicionPrevia();									// Nace sin movimiento previo que interpolar.
+		this.timer = 0;
+		this.rango = gP.getJugador().getRango();
+		this.chocoConMuro = false;
+		this.retirado = false;
+		this.contadorSprites = 0;
+		this.numeroSprites = 1;
 	}
 	
 	
-	public void getSpritesProyectil() {
-		try {
-
-			// getClass().getResourceAsStream() es la forma estándar de acceder a recursos dentro del proyecto.
-			// Carga sprite para el movimiento
-			this.arriba1 = ImageIO.read(getClass().getResourceAsStream("/spritesproyectil/proyectil.png"));
-			this.arriba2 = ImageIO.read(getClass().getResourceAsStream("/spritesproyectil/proyectil.png"));
-			this.abajo1 = ImageIO.read(getClass().getResourceAsStream("/spritesproyectil/proyectil.png"));
-			this.abajo2 = ImageIO.read(getClass().getResourceAsStream("/spritesproyectil/proyectil.png"));
-			this.izquierda1 = ImageIO.read(getClass().getResourceAsStream("/spritesproyectil/proyectil.png"));
-			this.izquierda2 = ImageIO.read(getClass().getResourceAsStream("/spritesproyectil/proyectil.png"));
-			this.derecha1 = ImageIO.read(getClass().getResourceAsStream("/spritesproyectil/proyectil.png"));
-			this.derecha2 = ImageIO.read(getClass().getResourceAsStream("/spritesproyectil/proyectil.png"));
-		} catch (IOException e) {
-			// Si ocurre un error al cargar las imágenes (ej: archivo no encontrado), se imprime el error.
-			e.printStackTrace();
-		}
+	/** Cambia el sprite compartido (lo hace {@link PoolProyectiles#recargaSprite()}). */
+	void setSprite(BufferedImage sprite) {
+		this.sprite = sprite;
+	}
+
+	/**
+	 * Sprite de los proyectiles, ya escalado; lo comparten todos.
+	 * @param tamanioTile Tamaño del mosaico; el proyectil mide un tercio.
+	 */
+	public static BufferedImage cargaSprite(Recursos recursos, int tamanioTile) {
+		return recursos.imagen("/spritesproyectil/proyectil.png", tamanioTile / 3, tamanioTile / 3);
 	}
 	
 	
 
 	public void update() {
+		// Centro del proyectil antes de moverse, para recorrer las celdas que cruza.
+		int centroX = this.getMundoX() + this.hitbox / 2;
+		int centroY = this.getMundoY() + this.hitbox / 2;
+
 		switch (this.getDireccion()) {
 			case "arriba":
 				this.setMundoY(this.getMundoY() - this.getVelocidad());
@@ -85,6 +92,12 @@ public class Proyectil extends Entidad{
 				break; 
 		}
 
+		// Muros, árboles y agua detienen el proyectil aunque la velocidad sea mayor que un mosaico.
+		if (!gP.getManejadorTiles().trayectoriaLibre(centroX, centroY,
+				this.getMundoX() + this.hitbox / 2, this.getMundoY() + this.hitbox / 2, false)) {
+			this.chocoConMuro = true;
+		}
+
 		this.contadorSprites++;
 		if (this.contadorSprites > this.cambiaSprite) {
 			if (this.numeroSprites == 1) {this.numeroSprites = 2;} 
@@ -99,44 +112,11 @@ public class Proyectil extends Entidad{
 		
 	}
 
-	public void draw(Graphics2D g2) {
-		BufferedImage sprite = null;	// Declara una variable para almacenar el sprite que se va a dibujar.
-
-		int pantallaX = this.mundoX - gP.getJugador().getMundoX() + gP.getJugador().getPantallaX();
-		int pantallaY = this.mundoY - gP.getJugador().getMundoY() + gP.getJugador().getPantallaY();
-
-		// Selecciona el sprite correcto basado en la dirección y el número de sprite actual.
-//		switch (this.direccion) {
-//			case "arriba":
-//				// Usa el operador ternario para elegir entre el sprite 1 y 2 de "arriba".
-//				sprite = (this.numeroSprites == 1) ? this.arriba1 : this.arriba2;
-//				break;
-//			case "abajo":
-//				sprite = (this.numeroSprites == 1) ? this.abajo1 : this.abajo2;
-//				break;
-//			case "izquierda":
-//				sprite = (this.numeroSprites == 1) ? this.izquierda1 : this.izquierda2;
-//				break;
-//			case "derecha":
-//				sprite = (this.numeroSprites == 1) ? this.derecha1 : this.derecha2;
-//				break;
-//		}
-
-	
-		sprite = this.arriba1;
-
-
-		
-		g2.drawImage(sprite, pantallaX, pantallaY, this.gP.getTamanioTile()/3, this.gP.getTamanioTile()/3, null);
-		
-		//hitbox
-		g2.setColor(Color.YELLOW);
-		//g2.fillRect(pantallaX, pantallaY, hitbox, hitbox);
-
-		g2.drawString(String.valueOf(getAreaSolidaAlto()), 100, 100); 					//(Debug)Numero de proyectiles en pantalla
+	@Override
+	public BufferedImage getSpriteActual() {
+		return this.sprite;
 	}
-	
-	
+
 	/** @return La coordenada X del jugador en el mundo. */
 	public int getMundoX() {
 		return this.mundoX;
@@ -160,4 +140,22 @@ public class Proyectil extends Entidad{
 	public int getTimer() {
 		return this.timer;
 	}
+
+	/** Marca el proyectil para devolverlo al pool (p. ej. al golpear a un enemigo). */
+	public void retira() {
+		this.retirado = true;
+	}
+
+	/**
+	 * @return {@code true} si el proyectil ya no sigue en juego: lo retiraron,
+	 *         chocó con un muro o superó su rango.
+	 */
+	public boolean debeRetirarse() {
+		return this.retirado || this.chocoConMuro || this.timer > this.rango;
+	}
+
+	/** @return {@code true} si el proyectil chocó con un mosaico sólido y debe retirarse. */
+	public boolean getChocoConMuro() {
+		return this.chocoConMuro;
+	}
 }
@@ -0,0 +1,162 @@
+package main;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import entidad.Horda;
+
+/**
+ * Actualiza la horda de enemigos en dos fases:
+ * <ol>
+ * <li>Intención ({@link Horda#calculaIntencion(int, int, boolean)}): cada enemigo
+ * decide su nivel de detalle, su dirección y su nueva posición leyendo el
+ * mundo, sin modificar nada más que sus propios campos de intención. Con
+ * hordas grandes esta fase se reparte en bloques sobre un {@link ForkJoinPool}.</li>
+ * <li>Aplicación ({@link Horda#aplicaIntencion(int)}): en un solo hilo y en el
+ * orden de la lista.</li>
+ * </ol>
+ * Como en la primera fase nadie lee lo que escribe otro enemigo, el resultado
+ * es idéntico bit a bit al de la versión en serie y las repeticiones siguen
+ * siendo válidas.
+ *
+ * El número de hilos se elige con {@code -Dsurvivor.hilos=N} (por omisión, uno
+ * por procesador); con 1 todo se hace en serie. Todos los paneles comparten el
+ * mismo {@link ForkJoinPool} (los benchmarks y pruebas crean muchos), así que
+ * no se acumulan hilos; sus hilos son demonios y terminan solos si quedan
+ * ociosos. Preparar y lanzar las tareas no crea objetos en cada tick.
+ */
+public class ActualizadorEnemigos {
+
+    // Con menos enemigos, repartir el trabajo cuesta más de lo que ahorra.
+    private static final int UMBRAL_PARALELO = 1024;
+    private static final int TAMANIO_BLOQUE = 512;
+
+    // Márgenes (en mosaicos fuera de la pantalla) de los niveles de detalle.
+    private static final int MARGEN_DETALLE_CERCA = 3;
+    private static final int MARGEN_DETALLE_MEDIO = 10;
+
+    // Pool compartido por todos los actualizadores; null si se trabaja en serie.
+    private static ForkJoinPool hilosCompartidos;
+
+    private final GamePanel gP;
+    private final ForkJoinPool hilos;
+    private final Raiz raiz = new Raiz();
+    private Bloque[] bloques = new Bloque[0];
+    private int numBloques;
+
+    // Datos del tick en curso, que leen todas las tareas.
+    private Horda horda;
+    private int camaraX, camaraY;
+
+    public ActualizadorEnemigos(GamePanel gP) {
+        this.gP = gP;
+        this.hilos = hilosCompartidos();
+    }
+
+    private static synchronized ForkJoinPool hilosCompartidos() {
+        if (hilosCompartidos == null) {
+            int numHilos = Integer.getInteger("survivor.hilos", Runtime.getRuntime().availableProcessors());
+            if (numHilos > 1) hilosCompartidos = new ForkJoinPool(numHilos);
+        }
+        return hilosCompartidos;
+    }
+
+    /**
+     * Actualiza todos los enemigos de la lista.
+     * @param horda    Los enemigos.
+     * @param camaraX  Coordenada X del mundo en el borde izquierdo de la pantalla.
+     * @param camaraY  Coordenada Y del mundo en el borde superior de la pantalla.
+     */
+    public void actualiza(Horda horda, int camaraX, int camaraY) {
+        this.horda = horda;
+        this.camaraX = camaraX;
+        this.camaraY = camaraY;
+        int n = horda.getNumEnemigos();
+
+        // 1. Intenciones (en paralelo si vale la pena).
+        if (this.hilos == null || n < UMBRAL_PARALELO) {
+            this.calculaIntenciones(0, n);
+        } else {
+            this.preparaBloques(n);
+            this.raiz.reinitialize();
+            this.hilos.invoke(this.raiz);
+        }
+
+        // 2. Aplicación, en orden.
+        for (int i = 0; i < n; i++) {
+            horda.aplicaIntencion(i);
+        }
+        this.horda = null;
+    }
+
+    private void calculaIntenciones(int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            int fuera = this.distanciaFueraDePantalla(i);
+            this.horda.calculaIntencion(i, this.nivelDetalle(fuera), fuera < 0);
+        }
+    }
+
+    private void preparaBloques(int n) {
+        this.numBloques = (n + TAMANIO_BLOQUE - 1) / TAMANIO_BLOQUE;
+        if (this.bloques.length < this.numBloques) {
+            int anterior = this.bloques.length;
+            this.bloques = Arrays.copyOf(this.bloques, this.numBloques);
+            for (int b = anterior; b < this.numBloques; b++) this.bloques[b] = new Bloque();
+        }
+        for (int b = 0; b < this.numBloques; b++) {
+            Bloque bloque = this.bloques[b];
+            bloque.desde = b * TAMANIO_BLOQUE;
+            bloque.hasta = Math.min(n, bloque.desde + TAMANIO_BLOQUE);
+            bloque.reinitialize();
+        }
+    }
+
+    /**
+     * Distancia en píxeles entre el sprite de un enemigo (del tamaño de un
+     * mosaico) y el borde de la pantalla, medida en el eje en que está más
+     * lejos. Es negativa si el sprite toca la pantalla.
+     */
+    private int distanciaFueraDePantalla(int i) {
+        int tamanioTile = this.gP.getTamanioTile();
+        int x = this.horda.getMundoX(i), y = this.horda.getMundoY(i);
+        int fueraX = Math.max(this.camaraX - (x + tamanioTile), x - (this.camaraX + this.gP.getAnchoPantalla()));
+        int fueraY = Math.max(this.camaraY - (y + tamanioTile), y - (this.camaraY + this.gP.getAltoPantalla()));
+        return Math.max(fueraX, fueraY);
+    }
+
+    /**
+     * Nivel de detalle de un enemigo según {@link #distanciaFueraDePantalla}.
+     * Los márgenes dejan varios mosaicos de distancia entre el cambio de nivel y
+     * la pantalla, así que nunca se ve a un enemigo cambiar de nivel.
+     */
+    private int nivelDetalle(int fuera) {
+        int tamanioTile = this.gP.getTamanioTile();
+        if (fuera < MARGEN_DETALLE_CERCA * tamanioTile) return Horda.DETALLE_CERCA;
+        if (fuera < MARGEN_DETALLE_MEDIO * tamanioTile) return Horda.DETALLE_MEDIO;
+        return Horda.DETALLE_LEJOS;
+    }
+
+    // Lanza todos los bloques menos el primero, calcula ése y espera a los demás.
+    private final class Raiz extends RecursiveAction {
+        private static final long serialVersionUID = 4620135876113209357L;
+
+        @Override
+        protected void compute() {
+            for (int b = 1; b < numBloques; b++) bloques[b].fork();
+            bloques[0].compute();
+            for (int b = numBloques - 1; b >= 1; b--) bloques[b].join();
+        }
+    }
+
+    private final class Bloque extends RecursiveAction {
+        private static final long serialVersionUID = -7304815526981347112L;
+
+        int desde, hasta;
+
+        @Override
+        protected void compute() {
+            calculaIntenciones(this.desde, this.hasta);
+        }
+    }
+}
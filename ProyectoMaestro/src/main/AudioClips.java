@@ -0,0 +1,73 @@
+package main;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+
+/**
+ * Sumidero de audio basado en {@link Clip}. Cada sonido se abre una sola vez
+ * y se guarda por su ruta. Si un sonido no se puede abrir (archivo ausente,
+ * sin dispositivo de audio...) se informa una vez y después se ignora.
+ */
+public class AudioClips implements SumideroAudio {
+
+    private final Map<String, Clip> clips = new HashMap<String, Clip>();
+
+    @Override
+    public void precarga(String... rutas) {
+        for (String ruta : rutas) this.getClip(ruta);
+    }
+
+    @Override
+    public void reproducir(String ruta) {
+        Clip clip = this.getClip(ruta);
+        if (clip != null) {
+            if (clip.isRunning()) clip.stop();
+            clip.setFramePosition(0);
+            clip.start();
+        }
+    }
+
+    @Override
+    public void reproducirEnBucle(String ruta) {
+        Clip clip = this.getClip(ruta);
+        if (clip != null) clip.loop(Clip.LOOP_CONTINUOUSLY);
+    }
+
+    @Override
+    public void detener(String ruta) {
+        Clip clip = this.getClip(ruta);
+        if (clip != null) clip.stop();
+    }
+
+    @Override
+    public void reanudar(String ruta) {
+        Clip clip = this.getClip(ruta);
+        if (clip != null) {
+            clip.setFramePosition(0);
+            clip.start();
+        }
+    }
+
+    // Devuelve el clip ya abierto o lo abre la primera vez. Guarda null si falla.
+    private Clip getClip(String ruta) {
+        if (this.clips.containsKey(ruta)) return this.clips.get(ruta);
+        Clip clip = null;
+        try {
+            InputStream is = getClass().getResourceAsStream(ruta);
+            AudioInputStream ais = AudioSystem.getAudioInputStream(new BufferedInputStream(is));
+            clip = AudioSystem.getClip();
+            clip.open(ais);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.out.println("Error cargando sonido: " + ruta);
+            clip = null;
+        }
+        this.clips.put(ruta, clip);
+        return clip;
+    }
+}
@@ -0,0 +1,14 @@
+package main;
+
+/**
+ * Sumidero de audio que no hace nada. Se usa en la simulación sin ventana y
+ * en cualquier entorno donde no haya (o no interese) un dispositivo de sonido.
+ */
+public class AudioNulo implements SumideroAudio {
+
+    @Override public void precarga(String... rutas) { }
+    @Override public void reproducir(String ruta) { }
+    @Override public void reproducirEnBucle(String ruta) { }
+    @Override public void detener(String ruta) { }
+    @Override public void reanudar(String ruta) { }
+}
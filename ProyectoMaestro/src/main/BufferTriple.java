@@ -0,0 +1,46 @@
+package main;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Triple búfer sin bloqueos para pasar fotos del mundo del hilo de la
+ * simulación al hilo de dibujo.
+ *
+ * El escritor siempre llena su propia foto y al publicarla la intercambia con
+ * la intermedia; el lector, cuando hay una foto nueva, intercambia la suya con
+ * la intermedia. Ninguno de los dos espera nunca al otro, y el lector siempre
+ * obtiene la foto completa más reciente.
+ *
+ * Admite un solo escritor y un solo lector a la vez.
+ */
+public class BufferTriple {
+
+    // Bit que marca que la foto intermedia todavía no ha sido leída.
+    private static final int NUEVA = 4;
+    private static final int INDICE = 3;
+
+    private final FotoMundo[] fotos = { new FotoMundo(), new FotoMundo(), new FotoMundo() };
+    private final AtomicInteger intermedia = new AtomicInteger(2);
+    private int escritura = 0; // Sólo la usa el escritor.
+    private int lectura = 1;   // Sólo la usa el lector.
+
+    /** @return La foto que el escritor debe llenar en este tick. */
+    public FotoMundo getEscritura() {
+        return this.fotos[this.escritura];
+    }
+
+    /** Publica la foto de escritura y toma la intermedia para el siguiente tick. */
+    public void publica() {
+        int anterior = this.intermedia.getAndSet(this.escritura | NUEVA);
+        this.escritura = anterior & INDICE;
+    }
+
+    /** @return La foto publicada más reciente (puede ser la misma que la vez anterior). */
+    public FotoMundo getLectura() {
+        if ((this.intermedia.get() & NUEVA) != 0) {
+            int anterior = this.intermedia.getAndSet(this.lectura);
+            this.lectura = anterior & INDICE;
+        }
+        return this.fotos[this.lectura];
+    }
+}
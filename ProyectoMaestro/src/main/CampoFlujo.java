@@ -0,0 +1,156 @@
+package main;
+
+import java.util.Arrays;
+
+import tile.ManejadorTiles;
+
+/**
+ * Campo de flujo compartido por todos los zombies. Es una búsqueda en anchura
+ * sobre el mapa de mosaicos que parte de la celda del jugador: cada celda
+ * transitable guarda la dirección del vecino que está un paso más cerca de él.
+ * Así un enemigo sabe hacia dónde ir con una sola lectura, sin importar
+ * cuántos enemigos haya, y rodea muros y agua en lugar de atorarse.
+ *
+ * La búsqueda se limita a una ventana de {@link #RADIO_VENTANA} celdas
+ * alrededor del jugador (recortada al mapa), así el costo no crece con el
+ * tamaño del mundo. Fuera de la ventana no hay dirección; los enemigos de ahí
+ * se acercan en línea recta hasta entrar. En un mapa que cabe en la ventana el
+ * campo es el del mapa completo.
+ *
+ * El campo sólo se recalcula cuando el jugador cambia de celda o cuando cambia
+ * el mapa ({@link ManejadorTiles} llama a {@link #invalida()}); recalcularlo
+ * es una pasada por la ventana y no crea objetos.
+ */
+public class CampoFlujo {
+
+    // Direcciones guardadas en cada celda.
+    public static final byte NINGUNA = 0;
+    public static final byte ARRIBA = 1;
+    public static final byte ABAJO = 2;
+    public static final byte IZQUIERDA = 3;
+    public static final byte DERECHA = 4;
+
+    /** Celdas que abarca la ventana a cada lado del jugador. */
+    public static final int RADIO_VENTANA = 64;
+
+    private final ManejadorTiles mTi;
+    private final int columnas;
+    private final int renglones;
+    private final int tamanioCelda;
+
+    // Ventana calculada: esquina superior izquierda en el mapa y tamaño (fijo).
+    private int colVentana, renVentana;
+    private final int anchoVentana;
+    private final int altoVentana;
+
+    // Por celda de la ventana, renglón por renglón:
+    // Pasos hasta el jugador (-1 si la celda es sólida o no hay camino).
+    private final int[] distancia;
+    // Dirección a seguir desde cada celda.
+    private final byte[] direccion;
+    // Cola de la búsqueda, reutilizada en cada recálculo.
+    private final int[] cola;
+
+    // Celda del jugador con la que se calculó el campo (-1 = sin calcular).
+    private int celdaObjetivo = -1;
+
+    /**
+     * @param mTi          Mapa de mosaicos sobre el que se busca.
+     * @param columnas     Columnas del mundo.
+     * @param renglones    Renglones del mundo.
+     * @param tamanioCelda Lado de cada celda en píxeles.
+     */
+    public CampoFlujo(ManejadorTiles mTi, int columnas, int renglones, int tamanioCelda) {
+        this.mTi = mTi;
+        this.columnas = columnas;
+        this.renglones = renglones;
+        this.tamanioCelda = tamanioCelda;
+        this.anchoVentana = Math.min(columnas, 2 * RADIO_VENTANA + 1);
+        this.altoVentana = Math.min(renglones, 2 * RADIO_VENTANA + 1);
+        int celdas = this.anchoVentana * this.altoVentana;
+        this.distancia = new int[celdas];
+        this.direccion = new byte[celdas];
+        this.cola = new int[celdas];
+    }
+
+    /**
+     * Recalcula el campo si el punto del mundo (normalmente el centro del
+     * jugador) está en una celda distinta a la del último cálculo.
+     * @return {@code true} si se recalculó.
+     */
+    public boolean actualiza(int mundoX, int mundoY) {
+        int col = Math.max(0, Math.min(this.columnas - 1, Math.floorDiv(mundoX, this.tamanioCelda)));
+        int ren = Math.max(0, Math.min(this.renglones - 1, Math.floorDiv(mundoY, this.tamanioCelda)));
+        int celda = ren * this.columnas + col;
+        if (celda == this.celdaObjetivo) return false;
+        this.celdaObjetivo = celda;
+        this.calcula(col, ren);
+        return true;
+    }
+
+    /** Obliga a recalcular en la siguiente llamada a {@link #actualiza(int, int)}; se llama cuando cambia el mapa. */
+    public void invalida() {
+        this.celdaObjetivo = -1;
+    }
+
+    // Búsqueda en anchura desde la celda del jugador. Al descubrir una celda se
+    // apunta hacia la celda desde la que se llegó, que está un paso más cerca.
+    // Los índices son de la ventana, que se centra en el jugador sin salir del mapa.
+    private void calcula(int colJugador, int renJugador) {
+        this.colVentana = Math.max(0, Math.min(this.columnas - this.anchoVentana, colJugador - RADIO_VENTANA));
+        this.renVentana = Math.max(0, Math.min(this.renglones - this.altoVentana, renJugador - RADIO_VENTANA));
+        Arrays.fill(this.distancia, -1);
+        Arrays.fill(this.direccion, NINGUNA);
+
+        int inicio = 0, fin = 0;
+        int origen = (renJugador - this.renVentana) * this.anchoVentana + (colJugador - this.colVentana);
+        this.distancia[origen] = 0;
+        this.cola[fin++] = origen;
+
+        while (inicio < fin) {
+            int celda = this.cola[inicio++];
+            int col = this.colVentana + celda % this.anchoVentana;
+            int ren = this.renVentana + celda / this.anchoVentana;
+            int siguiente = this.distancia[celda] + 1;
+            // El vecino de arriba llega bajando, el de abajo subiendo, etc.
+            fin = this.visita(col, ren - 1, siguiente, ABAJO, fin);
+            fin = this.visita(col, ren + 1, siguiente, ARRIBA, fin);
+            fin = this.visita(col - 1, ren, siguiente, DERECHA, fin);
+            fin = this.visita(col + 1, ren, siguiente, IZQUIERDA, fin);
+        }
+    }
+
+    private int visita(int col, int ren, int pasos, byte haciaElJugador, int fin) {
+        if (!this.cubre(col, ren) || this.mTi.esSolido(col, ren)) return fin;
+        int celda = (ren - this.renVentana) * this.anchoVentana + (col - this.colVentana);
+        if (this.distancia[celda] != -1) return fin;
+        this.distancia[celda] = pasos;
+        this.direccion[celda] = haciaElJugador;
+        this.cola[fin] = celda;
+        return fin + 1;
+    }
+
+    /** @return {@code true} si la celda está dentro de la ventana del último cálculo. */
+    public boolean cubre(int col, int ren) {
+        return col >= this.colVentana && ren >= this.renVentana
+                && col < this.colVentana + this.anchoVentana && ren < this.renVentana + this.altoVentana;
+    }
+
+    /**
+     * @return La dirección que acerca al jugador desde la celda, o
+     *         {@link #NINGUNA} si es la celda del jugador, es sólida, no tiene
+     *         camino o está fuera de la ventana.
+     */
+    public byte getDireccion(int col, int ren) {
+        if (!this.cubre(col, ren)) return NINGUNA;
+        return this.direccion[(ren - this.renVentana) * this.anchoVentana + (col - this.colVentana)];
+    }
+
+    /** @return Pasos hasta el jugador, o -1 si no hay camino o está fuera de la ventana. */
+    public int getDistancia(int col, int ren) {
+        if (!this.cubre(col, ren)) return -1;
+        return this.distancia[(ren - this.renVentana) * this.anchoVentana + (col - this.colVentana)];
+    }
+
+    public int getTamanioCelda() { return this.tamanioCelda; }
+}
@@ -0,0 +1,202 @@
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import entidad.Horda;
+
+/**
+ * Cola de sprites de un fotograma. El {@link Renderizador} encola sólo lo que
+ * toca la pantalla; antes de dibujar, la cola ordena los sprites por capa y,
+ * dentro de cada capa, por imagen, para que Java2D dibuje seguidas todas las
+ * copias de la misma imagen. Las barras de vida de los enemigos se guardan
+ * aparte y se dibujan juntas por color (todos los fondos y luego todas las
+ * vidas), con dos cambios de color por fotograma en lugar de dos por enemigo.
+ *
+ * El orden es estable: dentro de una capa, los sprites con la misma imagen
+ * quedan en el orden en que se encolaron.
+ *
+ * Los arreglos sólo crecen cuando hace falta; en el caso normal llenar y
+ * dibujar la cola no crea objetos. La usa sólo el hilo de dibujo.
+ */
+public class ColaDibujo {
+
+    // Capas de sprites, en el orden en que se dibujan.
+    public static final int CAPA_PROYECTILES = 0;
+    public static final int CAPA_ENEMIGOS = 1;
+    public static final int CAPA_JEFE = 2;
+    public static final int NUM_CAPAS = 3;
+
+    // Sprites encolados, en arreglos paralelos.
+    private int numSprites;
+    private int[] capa = new int[64];
+    private int[] textura = new int[64];
+    private int[] x = new int[64];
+    private int[] y = new int[64];
+    private BufferedImage[] sprite = new BufferedImage[64];
+    private int[] orden = new int[64];
+    private int[] cuenta = new int[NUM_CAPAS * 16 + 1];
+
+    // Imágenes distintas del fotograma: tabla de dispersión por identidad.
+    private int numTexturas;
+    private BufferedImage[] tablaImagen = new BufferedImage[64];
+    private int[] tablaId = new int[64];
+
+    // Barras de vida de los enemigos.
+    private int numBarras;
+    private int[] barraX = new int[64];
+    private int[] barraY = new int[64];
+    private int[] anchoVida = new int[64];
+
+    /** Vacía la cola para un fotograma nuevo. */
+    public void limpia() {
+        Arrays.fill(this.sprite, 0, this.numSprites, null);
+        Arrays.fill(this.tablaImagen, null);
+        this.numSprites = 0;
+        this.numTexturas = 0;
+        this.numBarras = 0;
+    }
+
+    /**
+     * Encola un sprite.
+     * @param capaSprite Una de las constantes {@code CAPA_*}.
+     * @param imagen     El sprite, ya escalado.
+     * @param pantallaX  Coordenada X en pantalla.
+     * @param pantallaY  Coordenada Y en pantalla.
+     */
+    public void agrega(int capaSprite, BufferedImage imagen, int pantallaX, int pantallaY) {
+        if (imagen == null) return;
+        if (this.numSprites == this.capa.length) this.creceSprites();
+        int i = this.numSprites++;
+        this.capa[i] = capaSprite;
+        this.textura[i] = this.idDe(imagen);
+        this.x[i] = pantallaX;
+        this.y[i] = pantallaY;
+        this.sprite[i] = imagen;
+    }
+
+    /**
+     * Encola la barra de vida de un enemigo.
+     * @param pantallaX Coordenada X del enemigo en pantalla.
+     * @param pantallaY Coordenada Y del enemigo en pantalla.
+     * @param ancho     Ancho de la parte roja, de {@link Horda#anchoVida}.
+     */
+    public void agregaBarra(int pantallaX, int pantallaY, int ancho) {
+        if (this.numBarras == this.barraX.length) {
+            int capacidad = this.numBarras * 2;
+            this.barraX = Arrays.copyOf(this.barraX, capacidad);
+            this.barraY = Arrays.copyOf(this.barraY, capacidad);
+            this.anchoVida = Arrays.copyOf(this.anchoVida, capacidad);
+        }
+        int i = this.numBarras++;
+        this.barraX[i] = pantallaX;
+        this.barraY[i] = pantallaY;
+        this.anchoVida[i] = ancho;
+    }
+
+    /**
+     * Ordena los sprites encolados por capa y por imagen (ordenamiento por
+     * conteo: lineal en el número de sprites). Se llama una vez, después de
+     * encolar todo y antes de {@link #dibujaCapa}.
+     */
+    public void ordena() {
+        int numGrupos = NUM_CAPAS * this.numTexturas;
+        if (this.cuenta.length < numGrupos + 1) this.cuenta = new int[Math.max(numGrupos + 1, this.cuenta.length * 2)];
+        if (this.orden.length < this.numSprites) this.orden = new int[this.capa.length];
+        int[] c = this.cuenta;
+        Arrays.fill(c, 0, numGrupos + 1, 0);
+        for (int i = 0; i < this.numSprites; i++) {
+            c[this.grupo(i) + 1]++;
+        }
+        for (int g = 0; g < numGrupos; g++) {
+            c[g + 1] += c[g];
+        }
+        // Al colocar, cuenta[g] avanza del inicio al final del grupo g.
+        for (int i = 0; i < this.numSprites; i++) {
+            this.orden[c[this.grupo(i)]++] = i;
+        }
+    }
+
+    private int grupo(int i) {
+        return this.capa[i] * this.numTexturas + this.textura[i];
+    }
+
+    /**
+     * Dibuja los sprites de una capa, ya ordenados por {@link #ordena()}.
+     * @param g2         El contexto gráfico donde dibujar.
+     * @param capaSprite Una de las constantes {@code CAPA_*}.
+     */
+    public void dibujaCapa(Graphics2D g2, int capaSprite) {
+        int inicio = this.finDeGrupo(capaSprite * this.numTexturas - 1);
+        int fin = this.finDeGrupo((capaSprite + 1) * this.numTexturas - 1);
+        for (int k = inicio; k < fin; k++) {
+            int i = this.orden[k];
+            g2.drawImage(this.sprite[i], this.x[i], this.y[i], null);
+        }
+    }
+
+    private int finDeGrupo(int g) {
+        return (g < 0 || this.numTexturas == 0) ? 0 : this.cuenta[g];
+    }
+
+    /**
+     * Dibuja las barras de vida encoladas.
+     * @param g2          El contexto gráfico donde dibujar.
+     * @param tamanioTile Tamaño del mosaico en pantalla (ancho de la barra llena).
+     */
+    public void dibujaBarras(Graphics2D g2, int tamanioTile) {
+        Horda.dibujaBarras(g2, this.barraX, this.barraY, this.anchoVida, this.numBarras, tamanioTile);
+    }
+
+    public int getNumSprites() { return this.numSprites; }
+    public int getNumBarras() { return this.numBarras; }
+    /** @return Imágenes distintas en el fotograma (grupos de sprites por capa, como mucho). */
+    public int getNumTexturas() { return this.numTexturas; }
+
+    // Número (0, 1, ...) de la imagen en este fotograma, por identidad.
+    private int idDe(BufferedImage imagen) {
+        if (this.numTexturas * 2 >= this.tablaImagen.length) this.creceTabla();
+        int mascara = this.tablaImagen.length - 1;
+        int h = mezcla(System.identityHashCode(imagen)) & mascara;
+        while (true) {
+            BufferedImage actual = this.tablaImagen[h];
+            if (actual == imagen) return this.tablaId[h];
+            if (actual == null) {
+                this.tablaImagen[h] = imagen;
+                this.tablaId[h] = this.numTexturas;
+                return this.numTexturas++;
+            }
+            h = (h + 1) & mascara;
+        }
+    }
+
+    private static int mezcla(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void creceTabla() {
+        BufferedImage[] imagenes = this.tablaImagen;
+        int[] ids = this.tablaId;
+        this.tablaImagen = new BufferedImage[imagenes.length * 2];
+        this.tablaId = new int[imagenes.length * 2];
+        int mascara = this.tablaImagen.length - 1;
+        for (int j = 0; j < imagenes.length; j++) {
+            if (imagenes[j] == null) continue;
+            int h = mezcla(System.identityHashCode(imagenes[j])) & mascara;
+            while (this.tablaImagen[h] != null) h = (h + 1) & mascara;
+            this.tablaImagen[h] = imagenes[j];
+            this.tablaId[h] = ids[j];
+        }
+    }
+
+    private void creceSprites() {
+        int capacidad = this.capa.length * 2;
+        this.capa = Arrays.copyOf(this.capa, capacidad);
+        this.textura = Arrays.copyOf(this.textura, capacidad);
+        this.x = Arrays.copyOf(this.x, capacidad);
+        this.y = Arrays.copyOf(this.y, capacidad);
+        this.sprite = Arrays.copyOf(this.sprite, capacidad);
+    }
+}
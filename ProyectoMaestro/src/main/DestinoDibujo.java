@@ -0,0 +1,20 @@
+package main;
+
+import java.awt.Graphics2D;
+import java.util.function.Consumer;
+
+/**
+ * Superficie donde se dibujan y presentan los fotogramas. Con
+ * {@link LienzoActivo} se ven en la ventana; con {@link DestinoImagen} quedan
+ * en una imagen en memoria, lo que permite dibujar (y medir o comparar lo
+ * dibujado) en máquinas sin pantalla, con {@code java.awt.headless=true}.
+ */
+public interface DestinoDibujo {
+
+    /**
+     * Dibuja un fotograma y lo presenta.
+     * @param dibujo Lo que pinta el fotograma sobre la superficie (ya limpia, en negro).
+     * @return {@code false} si la superficie todavía no estaba lista y no se dibujó nada.
+     */
+    boolean presenta(Consumer<Graphics2D> dibujo);
+}
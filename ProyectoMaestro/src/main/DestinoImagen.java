@@ -0,0 +1,64 @@
+package main;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.function.Consumer;
+
+/**
+ * Destino de dibujo fuera de pantalla: cada fotograma se pinta en una imagen
+ * RGB en memoria, que funciona igual con {@code java.awt.headless=true}. Sirve
+ * para medir cuánto cuesta dibujar sin ventana y para comparar fotogramas
+ * píxel a píxel mediante {@link #getSuma()}.
+ *
+ * El formato es siempre {@code TYPE_INT_RGB} (no el de la pantalla), para que
+ * el mismo fotograma dé los mismos píxeles en cualquier máquina con la misma
+ * JVM.
+ */
+public class DestinoImagen implements DestinoDibujo {
+
+    private final BufferedImage imagen;
+
+    /**
+     * @param ancho Ancho de la imagen en píxeles (normalmente el de la pantalla del juego).
+     * @param alto  Alto de la imagen en píxeles.
+     */
+    public DestinoImagen(int ancho, int alto) {
+        this.imagen = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Override
+    public boolean presenta(Consumer<Graphics2D> dibujo) {
+        Graphics2D g2 = this.imagen.createGraphics();
+        try {
+            g2.setColor(Color.BLACK);
+            g2.fillRect(0, 0, this.imagen.getWidth(), this.imagen.getHeight());
+            dibujo.accept(g2);
+        } finally {
+            g2.dispose();
+        }
+        return true;
+    }
+
+    /** @return La imagen con el último fotograma presentado. */
+    public BufferedImage getImagen() {
+        return this.imagen;
+    }
+
+    /**
+     * Calcula un resumen de los píxeles del último fotograma. Dos fotogramas
+     * con la misma suma son, en la práctica, idénticos.
+     * @return Un resumen de 64 bits de la imagen.
+     */
+    public long getSuma() {
+        int[] pixeles = ((DataBufferInt) this.imagen.getRaster().getDataBuffer()).getData();
+        long h = 1125899906842597L;
+        h = 31 * h + this.imagen.getWidth();
+        h = 31 * h + this.imagen.getHeight();
+        for (int pixel : pixeles) {
+            h = 31 * h + (pixel & 0xFFFFFF);
+        }
+        return h;
+    }
+}
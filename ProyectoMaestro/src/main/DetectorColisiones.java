@@ -2,9 +2,11 @@ package main;
 
 import java.awt.Rectangle;
 
+import entidad.ArquetipoEnemigo;
 import entidad.Entidad;
+import entidad.Horda;
 import entidad.Jugador; 
-import entidad.Jefe;
+import tile.ManejadorTiles;
 
 /**
  * Clase encargada de gestionar y verificar las colisiones entre las
@@ -20,62 +22,61 @@ public class DetectorColisiones {
 
     /**
      * Revisa si la entidad colisionará con un mosaico sólido en su próxima
-     * posición. Refactorizado para funcionar con cualquier Entidad (Jugador, Enemigo, etc.).
+     * posición. Refactorizado para funcionar con cualquier Entidad (Jugador, Jefe, etc.).
+     * Sólo se revisa la franja del borde que avanza, contra el mapa de bits de
+     * celdas sólidas de {@link ManejadorTiles}.
      * @param entidad La Entidad que se va a verificar.
      */
     public void revisaTile(Entidad entidad) {
-        
-
-        // Calcula las coordenadas del área de colisión de la entidad en el mundo, 
-        // usando los getters de la superclase Entidad.
-        int izquierdaEntidadMundoX = entidad.getMundoX() + entidad.getAreaSolidaX();
-        int derechaEntidadMundoX = izquierdaEntidadMundoX + entidad.getAreaSolidaAncho();
-        int arribaEntidadMundoY = entidad.getMundoY() + entidad.getAreaSolidaY();
-        int abajoEntidadMundoY = arribaEntidadMundoY + entidad.getAreaSolidaAlto();
+        if (this.chocaConTiles(entidad, entidad.getMundoX(), entidad.getMundoY(),
+                entidad.getDireccion(), entidad.getVelocidad())) {
+            // Usa el setter de la superclase Entidad.
+            entidad.setColisionActivada(true); 
+        }
+    }
 
-        // Conversión de coordenadas del mundo a columnas y filas del mapa:
-        int colIzquierdaEntidad = izquierdaEntidadMundoX / this.gP.getTamanioTile();
-        int colDerechaEntidad = derechaEntidadMundoX / this.gP.getTamanioTile();
-        int renArribaEntidad = arribaEntidadMundoY / this.gP.getTamanioTile();
-        int renAbajoEntidad = abajoEntidadMundoY / this.gP.getTamanioTile();
+    /**
+     * Igual que {@link #revisaTile(Entidad)}, pero con la posición, la dirección
+     * y el paso indicados en lugar de los de la entidad, y sin modificarla.
+     * @return {@code true} si el paso choca con un mosaico sólido.
+     */
+    public boolean chocaConTiles(Entidad entidad, int mundoX, int mundoY, String direccion, int paso) {
+        byte haciaDonde;
+        switch (direccion) {
+            case "arriba":    haciaDonde = CampoFlujo.ARRIBA; break;
+            case "abajo":     haciaDonde = CampoFlujo.ABAJO; break;
+            case "izquierda": haciaDonde = CampoFlujo.IZQUIERDA; break;
+            case "derecha":   haciaDonde = CampoFlujo.DERECHA; break;
+            default: return false;
+        }
+        return this.chocaConTiles(mundoX + entidad.getAreaSolidaX(), mundoY + entidad.getAreaSolidaY(),
+                entidad.getAreaSolidaAncho(), entidad.getAreaSolidaAlto(), haciaDonde, paso, entidad.getCruzaAgua());
+    }
 
-        int numTile1 = 0, numTile2 = 0;
+    /**
+     * Revisa si un área de colisión, dada en coordenadas del mundo, chocará con
+     * un mosaico sólido al dar un paso. Sólo lee el mapa, así que puede
+     * llamarse desde varios hilos a la vez.
+     * @param direccion Dirección del paso, con las constantes de {@link CampoFlujo}.
+     * @param cruzaAgua {@code true} si el agua no la detiene.
+     * @return {@code true} si el paso choca con un mosaico sólido.
+     */
+    public boolean chocaConTiles(int izquierda, int arriba, int ancho, int alto, byte direccion, int paso, boolean cruzaAgua) {
+        // Primer y último píxel del área, ambos incluidos. Un área del tamaño
+        // de un mosaico cabe exactamente en un pasillo de un mosaico de ancho.
+        int derecha = izquierda + ancho - 1;
+        int abajo = arriba + alto - 1;
 
-        // Utiliza el getter de Entidad para la dirección, velocidad, etc.
-        switch (entidad.getDireccion()) {
-            case "arriba":
-                renArribaEntidad = (arribaEntidadMundoY - entidad.getVelocidad()) / this.gP.getTamanioTile();
-                numTile1 = this.gP.getManejadorTiles().getCodigoMapaTiles(renArribaEntidad, colIzquierdaEntidad);
-                numTile2 = this.gP.getManejadorTiles().getCodigoMapaTiles(renArribaEntidad, colDerechaEntidad);
-                break;
-            case "abajo":
-                renAbajoEntidad = (abajoEntidadMundoY + entidad.getVelocidad()) / this.gP.getTamanioTile();
-                numTile1 = this.gP.getManejadorTiles().getCodigoMapaTiles(renAbajoEntidad, colIzquierdaEntidad);
-                numTile2 = this.gP.getManejadorTiles().getCodigoMapaTiles(renAbajoEntidad, colDerechaEntidad);
-                break;
-            case "izquierda":
-                colIzquierdaEntidad = (izquierdaEntidadMundoX - entidad.getVelocidad()) / this.gP.getTamanioTile();
-                numTile1 = this.gP.getManejadorTiles().getCodigoMapaTiles(renArribaEntidad, colIzquierdaEntidad);
-                numTile2 = this.gP.getManejadorTiles().getCodigoMapaTiles(renAbajoEntidad, colIzquierdaEntidad);
-                break;
-            case "derecha":
-                colDerechaEntidad = (derechaEntidadMundoX + entidad.getVelocidad()) / this.gP.getTamanioTile();
-                numTile1 = this.gP.getManejadorTiles().getCodigoMapaTiles(renArribaEntidad, colDerechaEntidad);
-                numTile2 = this.gP.getManejadorTiles().getCodigoMapaTiles(renAbajoEntidad, colDerechaEntidad);
-                break;
-            default:
-                break;
-        }
-        if (entidad instanceof Jefe) {
-            if (numTile1 == 0) return;  
-            if (numTile2 == 0) return;
+        // Reduce el rectángulo al borde que avanza, ya desplazado.
+        switch (direccion) {
+            case CampoFlujo.ARRIBA:    arriba -= paso; abajo = arriba; break;
+            case CampoFlujo.ABAJO:     abajo += paso; arriba = abajo; break;
+            case CampoFlujo.IZQUIERDA: izquierda -= paso; derecha = izquierda; break;
+            case CampoFlujo.DERECHA:   derecha += paso; izquierda = derecha; break;
+            default: return false;
         }
 
-        if (this.gP.getManejadorTiles().getColisionDeTile(numTile1)
-                || this.gP.getManejadorTiles().getColisionDeTile(numTile2)) {
-            // Usa el setter de la superclase Entidad.
-            entidad.setColisionActivada(true); 
-        }
+        return this.gP.getManejadorTiles().hayColisionEnArea(izquierda, arriba, derecha, abajo, cruzaAgua);
     }
     
     
@@ -87,49 +88,58 @@ public class DetectorColisiones {
     * @return true si hay colisión, false en caso contrario.
     */
     public boolean revisaEntidad(Entidad entidad1, Entidad entidad2) {
-        // Crear Rectangles de colisión en coordenadas del mundo
-        java.awt.Rectangle area1 = new java.awt.Rectangle(
-            entidad1.getMundoX(),
-            entidad1.getMundoY(),
-            entidad1.getAreaSolidaAncho(),
-            entidad1.getAreaSolidaAlto()
-        );
-        
-
-        java.awt.Rectangle area2 = new java.awt.Rectangle(
-            entidad2.getMundoX(),
-            entidad2.getMundoY(),
-            entidad2.getAreaSolidaAncho(),
-            entidad2.getAreaSolidaAlto()
-        );
-
-        // Verificar si intersectan
-        return area1.intersects(area2);
+        // Rectángulos de colisión en coordenadas del mundo, sin crear objetos.
+        return intersectan(
+            entidad1.getMundoX(), entidad1.getMundoY(), entidad1.getAreaSolidaAncho(), entidad1.getAreaSolidaAlto(),
+            entidad2.getMundoX(), entidad2.getMundoY(), entidad2.getAreaSolidaAncho(), entidad2.getAreaSolidaAlto());
     }
     /**
-    * Revisa si una entidad (ej: Enemigo) colisiona con el Jugador.
+    * Igual que {@link #revisaEntidad(Entidad, Entidad)}, con el enemigo {@code i} de la horda como segunda entidad.
+    */
+    public boolean revisaEntidad(Entidad entidad, Horda horda, int i) {
+        int hitbox = horda.getArquetipo(i).getHitbox();
+        return intersectan(
+            entidad.getMundoX(), entidad.getMundoY(), entidad.getAreaSolidaAncho(), entidad.getAreaSolidaAlto(),
+            horda.getMundoX(i), horda.getMundoY(i), hitbox, hitbox);
+    }
+
+    /**
+    * Revisa si una entidad (ej: el jefe) colisiona con el Jugador.
     * @param entidad La entidad que se va a verificar (generalmente el enemigo).
     * @return true si hay colisión, false en caso contrario.
     */
     public boolean revisaJugador(Entidad entidad) {
-        // 1. Obtener el área de colisión del Enemigo en coordenadas del mundo.
-        Rectangle areaEntidad = new Rectangle(
-            entidad.getMundoX() + entidad.getAreaSolidaX(),
-            entidad.getMundoY() + entidad.getAreaSolidaY(),
-            entidad.getAreaSolidaAncho(),
-            entidad.getAreaSolidaAlto()
-        );
+        Jugador jugador = gP.getJugador();
+        // Áreas de colisión de la entidad y del Jugador en coordenadas del mundo.
+        return intersectan(
+            entidad.getMundoX() + entidad.getAreaSolidaX(), entidad.getMundoY() + entidad.getAreaSolidaY(),
+            entidad.getAreaSolidaAncho(), entidad.getAreaSolidaAlto(),
+            jugador.getMundoX() + jugador.getAreaSolidaX(), jugador.getMundoY() + jugador.getAreaSolidaY(),
+            jugador.getAreaSolidaAncho(), jugador.getAreaSolidaAlto());
+    }
 
-        // 2. Obtener el área de colisión del Jugador en coordenadas del mundo.
+    /**
+    * Revisa si el enemigo {@code i} de la horda colisiona con el Jugador.
+    */
+    public boolean revisaJugador(Horda horda, int i) {
         Jugador jugador = gP.getJugador();
-        Rectangle areaJugador = new Rectangle(
-            jugador.getMundoX() + jugador.getAreaSolidaX(),
-            jugador.getMundoY() + jugador.getAreaSolidaY(),
-            jugador.getAreaSolidaAncho(),
-            jugador.getAreaSolidaAlto()
-        );
+        ArquetipoEnemigo a = horda.getArquetipo(i);
+        return intersectan(
+            horda.getMundoX(i) + a.getOffset(), horda.getMundoY(i) + a.getOffset(), a.getHitbox(), a.getHitbox(),
+            jugador.getMundoX() + jugador.getAreaSolidaX(), jugador.getMundoY() + jugador.getAreaSolidaY(),
+            jugador.getAreaSolidaAncho(), jugador.getAreaSolidaAlto());
+    }
 
-        // 3. Verificar si intersectan.
-        return areaEntidad.intersects(areaJugador);
+    /**
+    * Prueba de intersección entre dos rectángulos alineados con los ejes, con
+    * el mismo criterio que {@link Rectangle#intersects(Rectangle)} (tocarse por
+    * el borde no cuenta) pero sin crear objetos.
+    * @return true si los rectángulos se solapan.
+    */
+    public static boolean intersectan(int x1, int y1, int ancho1, int alto1,
+                                      int x2, int y2, int ancho2, int alto2) {
+        if (ancho1 <= 0 || alto1 <= 0 || ancho2 <= 0 || alto2 <= 0) return false;
+        return x1 < x2 + ancho2 && x2 < x1 + ancho1
+            && y1 < y2 + alto2 && y2 < y1 + alto1;
     }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package main;
+
+import entidad.Horda;
+
+/**
+ * Decide cuántos zombies hay en juego. La población objetivo crece con la
+ * puntuación y con el tiempo de partida, y el director agrega enemigos poco a
+ * poco (fuera de la pantalla, ver {@link Horda#setPosicionAleatoria}) hasta
+ * alcanzarla.
+ *
+ * El objetivo está limitado por un techo que depende del tiempo medido: lo que
+ * tardan el tick y el fotograma (promedios móviles) frente al presupuesto de un
+ * fotograma a 60 FPS. Con más de {@link #USO_PAUSA} del presupuesto deja de
+ * agregar; con más de {@link #USO_RETIRO} baja el techo y retira enemigos
+ * lejanos, que el jugador no ve. Cuando vuelve a haber holgura el techo sube
+ * de uno en uno. Así el juego se pone más difícil sin perder fotogramas.
+ *
+ * Los tiempos sólo se miden con {@link #setMidiendo(boolean)} activo, que es
+ * lo que hace el bucle con ventana. Lo medido se resume en cada tick en una
+ * carga ({@link #CARGA_HOLGURA}, {@link #CARGA_PAUSA} o {@link #CARGA_RETIRO})
+ * y sólo esa carga decide qué hace el director. El {@link GamePanel} la pasa
+ * por la {@link FuenteEntrada}, así que se graba con las teclas y una
+ * repetición usa la grabada: la huella sigue siendo reproducible aunque la
+ * partida original tuviera tirones. Sin medir la carga es siempre de holgura.
+ *
+ * Desactivado con {@link #setActivo(boolean)} no agrega ni retira a nadie: la
+ * horda se queda con los enemigos que se le pongan a mano, como necesitan los
+ * benchmarks que miden un tamaño de horda fijo.
+ */
+public class DirectorAparicion {
+
+    /** Zombies al empezar la partida. */
+    public static final int POBLACION_INICIAL = 10;
+    // Un zombie más por cada tantos puntos y por cada tantos ticks de partida.
+    private static final int PUNTOS_POR_ENEMIGO = 10;
+    private static final int TICKS_POR_ENEMIGO = 300;
+    private static final int POBLACION_MAXIMA = 5000;
+    // Como mucho se agrega o retira este número de enemigos por tick.
+    private static final int CAMBIOS_POR_TICK = 2;
+    // Ticks de holgura entre cada aumento del techo.
+    private static final int TICKS_POR_AUMENTO_TECHO = 30;
+
+    // Carga de un tick, según la fracción del presupuesto que se usa.
+    public static final int CARGA_HOLGURA = 0;
+    public static final int CARGA_PAUSA = 1;
+    public static final int CARGA_RETIRO = 2;
+
+    /** Fracción del presupuesto a partir de la cual ya no se agregan enemigos. */
+    public static final double USO_PAUSA = 0.75;
+    /** Fracción del presupuesto a partir de la cual se retiran enemigos lejanos. */
+    public static final double USO_RETIRO = 0.9;
+
+    private final long presupuestoNanos;
+    private volatile boolean midiendo = false;
+    private boolean activo = true;
+    // Promedios móviles (1/16 de peso a cada muestra) del tick y del fotograma.
+    private long nanosTick;
+    private volatile long nanosFotograma;
+
+    private long ticksPartida;
+    private int objetivo = POBLACION_INICIAL;
+    private int techo = POBLACION_MAXIMA;
+    private int poblacion;
+    private int ticksHolgura;
+
+    /**
+     * @param fps Fotogramas por segundo; el presupuesto es un fotograma.
+     */
+    public DirectorAparicion(int fps) {
+        this.presupuestoNanos = 1_000_000_000L / fps;
+    }
+
+    /** Vuelve al principio de la partida: sin tiempo jugado y con el techo al máximo. */
+    public void reinicia() {
+        this.ticksPartida = 0;
+        this.objetivo = POBLACION_INICIAL;
+        this.techo = POBLACION_MAXIMA;
+        this.ticksHolgura = 0;
+    }
+
+    /**
+     * Agrega o retira enemigos para acercarse al objetivo. Se llama una vez
+     * por tick de juego, antes de actualizar la horda.
+     * @param horda      Los enemigos.
+     * @param puntuacion Puntuación actual del jugador.
+     * @param carga      Carga del tick: la de {@link #cargaMedida()} o la grabada.
+     */
+    public void actualiza(Horda horda, int puntuacion, int carga) {
+        if (!this.activo) {
+            this.poblacion = horda.getNumEnemigos();
+            return;
+        }
+        this.ticksPartida++;
+        this.objetivo = Math.min(POBLACION_MAXIMA, POBLACION_INICIAL
+                + puntuacion / PUNTOS_POR_ENEMIGO + (int) (this.ticksPartida / TICKS_POR_ENEMIGO));
+
+        if (carga == CARGA_RETIRO) {
+            this.techo = Math.max(POBLACION_INICIAL, Math.min(this.techo, horda.getNumEnemigos() - 1));
+            this.ticksHolgura = 0;
+        } else if (carga == CARGA_HOLGURA && this.techo < POBLACION_MAXIMA
+                && ++this.ticksHolgura >= TICKS_POR_AUMENTO_TECHO) {
+            this.techo++;
+            this.ticksHolgura = 0;
+        }
+
+        int limite = Math.min(this.objetivo, this.techo);
+        if (carga == CARGA_RETIRO) {
+            for (int c = 0; c < CAMBIOS_POR_TICK && horda.getNumEnemigos() > this.techo; c++) {
+                if (!retiraLejano(horda)) break;
+            }
+        } else if (carga == CARGA_HOLGURA) {
+            for (int c = 0; c < CAMBIOS_POR_TICK && horda.getNumEnemigos() < limite; c++) {
+                horda.agrega(Horda.ZOMBIE);
+            }
+        }
+        this.poblacion = horda.getNumEnemigos();
+    }
+
+    // Retira el último enemigo que esté lejos de la pantalla, si hay alguno.
+    private static boolean retiraLejano(Horda horda) {
+        for (int i = horda.getNumEnemigos() - 1; i >= 0; i--) {
+            if (horda.getNivelDetalle(i) == Horda.DETALLE_LEJOS) return horda.elimina(horda.getId(i));
+        }
+        return false;
+    }
+
+    /** @return La hora actual si se están midiendo los tiempos, 0 si no. */
+    public long marca() {
+        return this.midiendo ? System.nanoTime() : 0;
+    }
+
+    /** Registra lo que tardó un tick que empezó en {@code inicio} (de {@link #marca()}). */
+    public void registraTick(long inicio) {
+        if (!this.midiendo) return;
+        this.nanosTick += (System.nanoTime() - inicio - this.nanosTick) >> 4;
+    }
+
+    /** Registra lo que tardó un fotograma que empezó en {@code inicio}. Se llama desde el hilo de dibujo. */
+    public void registraFotograma(long inicio) {
+        if (!this.midiendo) return;
+        long actual = this.nanosFotograma;
+        this.nanosFotograma = actual + ((System.nanoTime() - inicio - actual) >> 4);
+    }
+
+    /** @return La carga según el tiempo medido ({@link #CARGA_HOLGURA} sin medir). */
+    public int cargaMedida() {
+        double uso = this.getUso();
+        if (uso >= USO_RETIRO) return CARGA_RETIRO;
+        if (uso >= USO_PAUSA) return CARGA_PAUSA;
+        return CARGA_HOLGURA;
+    }
+
+    /** @return Fracción del presupuesto de un fotograma que ocupan el tick y el dibujo (0 sin medir). */
+    public double getUso() {
+        if (!this.midiendo) return 0;
+        return (double) (this.nanosTick + this.nanosFotograma) / this.presupuestoNanos;
+    }
+
+    /** @return Fracción del presupuesto que queda libre. */
+    public double getHolgura() { return 1 - this.getUso(); }
+
+    public boolean isActivo() { return this.activo; }
+    public void setActivo(boolean activo) { this.activo = activo; }
+    public boolean isMidiendo() { return this.midiendo; }
+    public void setMidiendo(boolean midiendo) { this.midiendo = midiendo; }
+
+    /** @return Enemigos en juego al final del último tick. */
+    public int getPoblacion() { return this.poblacion; }
+    /** @return Enemigos que pide la partida según la puntuación y el tiempo. */
+    public int getObjetivo() { return this.objetivo; }
+    /** @return Máximo de enemigos que permite el tiempo medido. */
+    public int getTecho() { return this.techo; }
+    public long getNanosTick() { return this.nanosTick; }
+    public long getNanosFotograma() { return this.nanosFotograma; }
+}
@@ -0,0 +1,68 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ * Fuente de entrada que reproduce un guion fijo de pasos (máscara de teclas y
+ * duración en ticks). Al terminar el guion vuelve a empezar, de modo que puede
+ * alimentar una simulación de cualquier longitud.
+ */
+public class EntradaGuionada implements FuenteEntrada {
+
+    private int[] mascaras = new int[8];
+    private int[] duraciones = new int[8];
+    private int numPasos = 0;
+
+    private int pasoActual = 0;
+    private int ticksEnPaso = -1; // -1: todavía no empieza el primer tick
+    private int mascara = 0;
+
+    /**
+     * Añade un paso al final del guion.
+     * @param mascara Combinación de las constantes de {@link FuenteEntrada}.
+     * @param ticks   Número de ticks que se mantiene esa combinación.
+     * @return Esta misma instancia, para encadenar llamadas.
+     */
+    public EntradaGuionada agregaPaso(int mascara, int ticks) {
+        if (ticks <= 0) throw new IllegalArgumentException("La duración debe ser positiva");
+        if (this.numPasos == this.mascaras.length) {
+            this.mascaras = Arrays.copyOf(this.mascaras, this.numPasos * 2);
+            this.duraciones = Arrays.copyOf(this.duraciones, this.numPasos * 2);
+        }
+        this.mascaras[this.numPasos] = mascara;
+        this.duraciones[this.numPasos] = ticks;
+        this.numPasos++;
+        return this;
+    }
+
+    /**
+     * Guion por defecto para pruebas de resistencia: el jugador recorre un
+     * cuadrado por el campo abierto disparando todo el tiempo.
+     */
+    public static EntradaGuionada patrulla() {
+        return new EntradaGuionada()
+                .agregaPaso(DISPARO, 2)
+                .agregaPaso(DERECHA | DISPARO, 90)
+                .agregaPaso(ARRIBA | DISPARO, 90)
+                .agregaPaso(IZQUIERDA | DISPARO, 90)
+                .agregaPaso(ABAJO | DISPARO, 90);
+    }
+
+    @Override
+    public void avanzaTick() {
+        if (this.numPasos == 0) return;
+        this.ticksEnPaso++;
+        if (this.ticksEnPaso >= this.duraciones[this.pasoActual]) {
+            this.ticksEnPaso = 0;
+            this.pasoActual = (this.pasoActual + 1) % this.numPasos;
+        }
+        this.mascara = this.mascaras[this.pasoActual];
+    }
+
+    @Override public boolean getTeclaArriba() { return (this.mascara & ARRIBA) != 0; }
+    @Override public boolean getTeclaAbajo() { return (this.mascara & ABAJO) != 0; }
+    @Override public boolean getTeclaIzquierda() { return (this.mascara & IZQUIERDA) != 0; }
+    @Override public boolean getTeclaDerecha() { return (this.mascara & DERECHA) != 0; }
+    @Override public boolean getDisparo() { return (this.mascara & DISPARO) != 0; }
+    @Override public int getMascara() { return this.mascara; }
+}
@@ -0,0 +1,120 @@
+package main;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Fotografía compacta del estado visible del mundo al final de un tick. La
+ * escribe el hilo de la simulación y la lee el hilo de dibujo, así que el
+ * dibujo nunca toca las listas de entidades mientras se modifican.
+ *
+ * Las entidades se guardan en arreglos paralelos (tipo, posición actual y
+ * anterior, sprite y vida) que sólo crecen cuando hace falta; en el caso normal
+ * llenar una foto no crea objetos nuevos.
+ *
+ * Las instancias se reciclan a través de {@link BufferTriple}.
+ */
+public class FotoMundo {
+
+    // Tipos de entidad que puede contener la foto.
+    public static final int TIPO_PROYECTIL = 0;
+    public static final int TIPO_ENEMIGO = 1;
+    public static final int TIPO_JEFE = 2;
+
+    // Momento (System.nanoTime) en que se publicó la foto y número de tick.
+    long nanosPublicacion;
+    long numeroTick;
+    boolean valida = false;
+
+    // Estado de la interfaz.
+    int gameState;
+    boolean juegoTerminado;
+    boolean victoria;
+    int puntuacion;
+    int vidasJugador;
+
+    // Jugador (la cámara lo sigue).
+    int jugadorX, jugadorY, jugadorXPrevio, jugadorYPrevio;
+    BufferedImage jugadorSprite;
+    boolean jugadorInvencible;
+
+    // Resto de entidades, en arreglos paralelos.
+    int numEntidades;
+    int[] tipo = new int[64];
+    int[] x = new int[64];
+    int[] y = new int[64];
+    int[] xPrevio = new int[64];
+    int[] yPrevio = new int[64];
+    int[] vida = new int[64];
+    int[] maxVida = new int[64];
+    BufferedImage[] sprite = new BufferedImage[64];
+
+    /** Vacía la lista de entidades para volver a llenar la foto. */
+    void limpia() {
+        // Se sueltan las referencias para no retener sprites de más.
+        Arrays.fill(this.sprite, 0, this.numEntidades, null);
+        this.numEntidades = 0;
+    }
+
+    /** Añade una entidad al final de la foto. */
+    void agrega(int tipoEntidad, int mundoX, int mundoY, int mundoXPrevio, int mundoYPrevio,
+            BufferedImage spriteEntidad, int vidaActual, int vidaMaxima) {
+        if (this.numEntidades == this.tipo.length) this.crece();
+        int i = this.numEntidades++;
+        this.tipo[i] = tipoEntidad;
+        this.x[i] = mundoX;
+        this.y[i] = mundoY;
+        this.xPrevio[i] = mundoXPrevio;
+        this.yPrevio[i] = mundoYPrevio;
+        this.sprite[i] = spriteEntidad;
+        this.vida[i] = vidaActual;
+        this.maxVida[i] = vidaMaxima;
+    }
+
+    private void crece() {
+        int capacidad = this.tipo.length * 2;
+        this.tipo = Arrays.copyOf(this.tipo, capacidad);
+        this.x = Arrays.copyOf(this.x, capacidad);
+        this.y = Arrays.copyOf(this.y, capacidad);
+        this.xPrevio = Arrays.copyOf(this.xPrevio, capacidad);
+        this.yPrevio = Arrays.copyOf(this.yPrevio, capacidad);
+        this.vida = Arrays.copyOf(this.vida, capacidad);
+        this.maxVida = Arrays.copyOf(this.maxVida, capacidad);
+        this.sprite = Arrays.copyOf(this.sprite, capacidad);
+    }
+
+    /**
+     * Interpola linealmente entre la posición anterior y la actual.
+     * @param previo Coordenada al inicio del tick.
+     * @param actual Coordenada al final del tick.
+     * @param alfa   Factor entre 0 y 1.
+     */
+    public static int interpola(int previo, int actual, double alfa) {
+        return previo + (int) Math.round((actual - previo) * alfa);
+    }
+
+    // --- GETTERS (sólo lectura para el hilo de dibujo) ---
+    public boolean esValida() { return this.valida; }
+    public long getNanosPublicacion() { return this.nanosPublicacion; }
+    public long getNumeroTick() { return this.numeroTick; }
+    public int getGameState() { return this.gameState; }
+    public boolean getJuegoTerminado() { return this.juegoTerminado; }
+    public boolean getVictoria() { return this.victoria; }
+    public int getPuntuacion() { return this.puntuacion; }
+    public int getVidasJugador() { return this.vidasJugador; }
+    public int getJugadorX() { return this.jugadorX; }
+    public int getJugadorY() { return this.jugadorY; }
+    public int getJugadorXPrevio() { return this.jugadorXPrevio; }
+    public int getJugadorYPrevio() { return this.jugadorYPrevio; }
+    public BufferedImage getJugadorSprite() { return this.jugadorSprite; }
+    public boolean getJugadorInvencible() { return this.jugadorInvencible; }
+    public int getNumEntidades() { return this.numEntidades; }
+    public int getTipo(int i) { return this.tipo[i]; }
+    public int getX(int i) { return this.x[i]; }
+    public int getY(int i) { return this.y[i]; }
+    public int getXPrevio(int i) { return this.xPrevio[i]; }
+    public int getYPrevio(int i) { return this.yPrevio[i]; }
+    public int getVida(int i) { return this.vida[i]; }
+    public int getMaxVida(int i) { return this.maxVida[i]; }
+    public BufferedImage getSprite(int i) { return this.sprite[i]; }
+}
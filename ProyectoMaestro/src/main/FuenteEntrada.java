@@ -0,0 +1,56 @@
+package main;
+
+/**
+ * Origen de las órdenes del jugador. El teclado ({@link ManejadorTeclas}) es
+ * la fuente normal, pero la simulación también puede alimentarse con un guion
+ * ({@link EntradaGuionada}) para ejecutarse sin ventana.
+ *
+ * Las constantes permiten empaquetar el estado de un tick en un solo entero
+ * (un bit por tecla).
+ */
+public interface FuenteEntrada {
+
+    int ARRIBA = 1;
+    int ABAJO = 1 << 1;
+    int IZQUIERDA = 1 << 2;
+    int DERECHA = 1 << 3;
+    int DISPARO = 1 << 4;
+
+    boolean getTeclaArriba();
+    boolean getTeclaAbajo();
+    boolean getTeclaIzquierda();
+    boolean getTeclaDerecha();
+    boolean getDisparo();
+
+    /**
+     * Lo llama el {@link GamePanel} al comienzo de cada tick, antes de consultar
+     * las teclas. Las fuentes que dependen del número de tick lo usan para
+     * avanzar; el resto puede ignorarlo.
+     */
+    default void avanzaTick() {
+        // Sin implementación por defecto.
+    }
+
+    /**
+     * Lo llama el {@link GamePanel} en cada tick, justo después de
+     * {@link #avanzaTick()}, con la carga que midió el {@link DirectorAparicion}
+     * ({@code DirectorAparicion.CARGA_*}). Depende del reloj, así que se trata
+     * como una entrada más: una grabación la guarda y una repetición devuelve
+     * la grabada en lugar de la medida.
+     * @return La carga que debe usar el director en este tick.
+     */
+    default int cargaDelTick(int cargaMedida) {
+        return cargaMedida;
+    }
+
+    /** @return El estado de todas las teclas empaquetado en una máscara de bits. */
+    default int getMascara() {
+        int mascara = 0;
+        if (getTeclaArriba()) mascara |= ARRIBA;
+        if (getTeclaAbajo()) mascara |= ABAJO;
+        if (getTeclaIzquierda()) mascara |= IZQUIERDA;
+        if (getTeclaDerecha()) mascara |= DERECHA;
+        if (getDisparo()) mascara |= DISPARO;
+        return mascara;
+    }
+}
@@ -1,24 +1,21 @@
 package main;
 
+import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.io.BufferedInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.Iterator;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.UnsupportedAudioFileException;
+import java.awt.GraphicsEnvironment;
+import java.awt.event.KeyListener;
+import java.util.Random;
+import java.util.function.Consumer;
 import javax.swing.JPanel;
 
-import entidad.Enemigo;
+import entidad.Entidad;
+import entidad.Horda;
 import entidad.Jefe; 
 import entidad.Jugador;
+import entidad.PoolProyectiles;
 import entidad.Proyectil;
 import tile.ManejadorTiles;
 
@@ -34,38 +31,84 @@ public class GamePanel extends JPanel implements Runnable {
     private final int anchoPantalla = this.tamanioTile * this.maxColPantalla;
     private final int altoPantalla = this.tamanioTile * this.maxRenPantalla;
     
-    // Configuración mundo
-    private final int maxRenMundo = 50;
-    private final int maxColMundo = 50;
-    private final int anchoMundo = this.tamanioTile * this.maxColMundo;
-    private final int altoMundo = this.tamanioTile * this.maxRenMundo;
+    // Mapa del mundo; se puede cambiar con -Dsurvivor.mapa=/mapas/otro.txt.
+    // Las dimensiones del mundo salen del propio mapa (ver abajo, tras mTi).
+    private static final String MAPA = System.getProperty("survivor.mapa", "/mapas/mundo01.txt");
     private final int FPS = 60;
+    private final int MAX_TICKS_RECUPERACION = 5;
     
     // Sistema
-    private Thread hebraJuego;
-    private final ManejadorTeclas mT = new ManejadorTeclas();
+    private volatile Thread hebraJuego;
+    private Planificador planificador = new PlanificadorPasoFijo(this.FPS, this.FPS, this.MAX_TICKS_RECUPERACION);
+    // Fotos del mundo que la simulación publica para el hilo de dibujo.
+    private final BufferTriple fotos = new BufferTriple();
+    private final Renderizador renderizador = new Renderizador(this);
+    // Dibujo activo: el hilo del juego pinta y presenta cada fotograma en el
+    // destino (el lienzo, o una imagen en memoria sin pantalla). Sin destino (modo
+    // pasivo, -Dsurvivor.dibujo=pasivo) se pide repaint() y Swing llama a paintComponent.
+    private final LienzoActivo lienzo;
+    private volatile DestinoDibujo destino;
+    private final Consumer<Graphics2D> dibujoActivo = this::dibuja;
+    private long numeroTick = 0;
+    // Tiempos por fase del tick y del dibujo (desactivado salvo -Dsurvivor.perfil=true).
+    private final Perfilador perfilador = new Perfilador();
+    private final FuenteEntrada mT;
+    private final SumideroAudio audio;
+    // Único generador aleatorio de la simulación. Con la misma semilla y la misma
+    // entrada, la partida se repite exactamente.
+    private final long semilla;
+    private final Random aleatorio;
     private final DetectorColisiones dC = new DetectorColisiones(this);
+    // Imágenes compartidas; se declara antes que todo lo que carga sprites.
+    private final Recursos recursos = new Recursos();
 
     // Entidades
-    private final Jugador jugador = new Jugador(this, this.mT);
-    private final ArrayList<Enemigo> listaEnemigos = new ArrayList<Enemigo>();
-    private final ArrayList<Proyectil> listaProjectil= new ArrayList<Proyectil>();
-    private final ManejadorTiles mTi = new ManejadorTiles(this);
-    private final Clip musica = AudioSystem.getClip();
-
-    // Sonidos
-    private Clip aud_gameover;
-    private Clip aud_golpePersonaje;
-    private Clip aud_golpeZombie;
-    private Clip aud_muerteZombie;
-    private Clip aud_victoria;
-    private Clip aud_Scream;
+    private final Jugador jugador;
+    // Zombies, guardados como estructura de arreglos.
+    private final Horda horda = new Horda(this);
+    // Proyectiles, todos creados al empezar; caben de sobra los que permite la cadencia del jugador.
+    private static final int CAPACIDAD_PROYECTILES = 32;
+    private final PoolProyectiles proyectiles = new PoolProyectiles(this, CAPACIDAD_PROYECTILES);
+    private final ManejadorTiles mTi = new ManejadorTiles(this, MAPA);
+
+    // Configuración mundo
+    private final int maxRenMundo = this.mTi.getRenglones();
+    private final int maxColMundo = this.mTi.getColumnas();
+    private final int anchoMundo = this.tamanioTile * this.maxColMundo;
+    private final int altoMundo = this.tamanioTile * this.maxRenMundo;
+    // Índice espacial de jefe y enemigos, reconstruido en cada tick. Guarda el
+    // índice de cada enemigo en la horda, o ID_JEFE.
+    private final RejillaEspacial rejilla = new RejillaEspacial(this.anchoMundo, this.altoMundo, this.tamanioTile);
+    // Direcciones hacia el jugador para todos los zombies, en una ventana alrededor
+    // de él; se recalcula cuando cambia de celda.
+    private final CampoFlujo campoFlujo = new CampoFlujo(this.mTi, this.maxColMundo, this.maxRenMundo, this.tamanioTile);
+    // Actualización de la horda en dos fases (intención en paralelo, aplicación en orden).
+    private final ActualizadorEnemigos actualizadorEnemigos = new ActualizadorEnemigos(this);
+    // Cuántos zombies hay en juego, según la partida y el tiempo que queda en cada fotograma.
+    private final DirectorAparicion director = new DirectorAparicion(this.FPS);
+    // Carga del director en el tick en curso (medida, o la grabada al repetir).
+    private int cargaTick;
+    // Rutas del jefe (3x3 mosaicos, cruza el agua) sobre clusters de 10x10 celdas.
+    private final PlanificadorRutas planificadorJefe = new PlanificadorRutas(this.mTi.getMapaHolgura(true),
+            this.maxColMundo, this.maxRenMundo, 10, Jefe.ESCALA);
+
+    // Sonidos (rutas dentro de los recursos)
+    public static final String SONIDO_MUSICA = "/sounds/musica.wav";
+    public static final String SONIDO_GAMEOVER = "/sounds/gameover.wav";
+    public static final String SONIDO_GOLPE_PERSONAJE = "/sounds/golpe_personaje.wav";
+    public static final String SONIDO_GOLPE_ZOMBIE = "/sounds/golpe_zombie.wav";
+    public static final String SONIDO_MUERTE_ZOMBIE = "/sounds/muerte_zombie.wav";
+    public static final String SONIDO_VICTORIA = "/sounds/victoria.wav";
+    public static final String SONIDO_GRITO = "/sounds/zombieScream.wav";
+    public static final String SONIDO_CAMINAR = "/sounds/walk.wav";
+    public static final String SONIDO_DISPARO = "/sounds/disparo.wav";
 
     // --- VARIABLES DEL JEFE FINAL ---
     public Jefe jefeFinal;
     public boolean jefeActivo = false; // Indica si el jefe ya apareció
     public boolean jefeDerrotado = false; // Indica si ya lo mataste
     public final int PUNTUACION_PARA_JEFE = 100; //
+    private static final int ID_JEFE = -1;
 
     // UI y ESTADOS DEL JUEGO
     public UI ui = new UI(this); 
@@ -76,94 +119,176 @@ public class GamePanel extends JPanel implements Runnable {
     public final int winState = 3;
 
 
-    public GamePanel() throws UnsupportedAudioFileException, LineUnavailableException, IOException {
+    /**
+     * Crea el panel para jugar con teclado y sonido.
+     */
+    public GamePanel() {
+        this(new ManejadorTeclas(), new AudioClips(), System.nanoTime());
+    }
+
+    /**
+     * Crea el panel con una semilla aleatoria.
+     * @see #GamePanel(FuenteEntrada, SumideroAudio, long)
+     */
+    public GamePanel(FuenteEntrada entrada, SumideroAudio audio) {
+        this(entrada, audio, System.nanoTime());
+    }
+
+    /**
+     * Crea el panel con una fuente de entrada y un sumidero de audio concretos.
+     * Con una {@link EntradaGuionada} y un {@link AudioNulo} la simulación puede
+     * ejecutarse sin ventana ni dispositivo de sonido.
+     * @param entrada Origen de las órdenes del jugador.
+     * @param audio   Destino de los sonidos.
+     * @param semilla Semilla del generador aleatorio de la simulación.
+     */
+    public GamePanel(FuenteEntrada entrada, SumideroAudio audio, long semilla) {
+        this.mT = entrada;
+        this.audio = audio;
+        this.semilla = semilla;
+        this.aleatorio = new Random(semilla);
+        this.jugador = new Jugador(this, this.mT);
+
         this.setPreferredSize(new Dimension(this.anchoPantalla, this.altoPantalla));
         this.setBackground(Color.BLACK);
         this.setDoubleBuffered(true);
-        this.addKeyListener(mT);
-        this.setFocusable(true);
+        boolean activo = !GraphicsEnvironment.isHeadless()
+                && !"pasivo".equals(System.getProperty("survivor.dibujo", "activo"));
+        if (activo) {
+            // El lienzo ocupa todo el panel y recibe el foco (y las teclas).
+            this.lienzo = new LienzoActivo();
+            this.setLayout(new BorderLayout());
+            this.add(this.lienzo, BorderLayout.CENTER);
+            this.setIgnoreRepaint(true);
+            this.setFocusable(false);
+            this.destino = this.lienzo;
+        } else {
+            this.lienzo = null;
+            this.setFocusable(true);
+        }
+        if (entrada instanceof KeyListener) this.addKeyListener((KeyListener) entrada);
+
+        if (Boolean.getBoolean("survivor.perfil")) {
+            this.perfilador.setActivo(true);
+            this.perfilador.vuelcaAlSalir(System.getProperty("survivor.perfil.archivo", "perfil.txt"));
+        }
 
         this.gameState = titleState;
     }
 
+    /**
+     * Crea los enemigos del principio de la partida; después el
+     * {@link DirectorAparicion} agrega los demás.
+     */
     public void configuraEnemigos() {
-        final int NUM_ENEMIGOS_INICIALES = 10;
-        for (int i = 0; i < NUM_ENEMIGOS_INICIALES; i++) {
-            listaEnemigos.add(new Enemigo(this));
-        }
+        this.director.reinicia();
+        this.agregaEnemigos(DirectorAparicion.POBLACION_INICIAL);
     }
 
-    public void cargaMusica() {
-        try {
-            InputStream rawStream = getClass().getResourceAsStream("/sounds/musica.wav");
-            BufferedInputStream bis = new BufferedInputStream(rawStream);
-            AudioInputStream ais = AudioSystem.getAudioInputStream(bis);
-            musica.open(ais);
-        } catch (Exception e) { e.printStackTrace(); }
-    }
-
-    public void cargaEfectos() {
-        try {
-            aud_gameover = cargarSonido("/sounds/gameover.wav");
-            aud_golpePersonaje = cargarSonido("/sounds/golpe_personaje.wav");
-            aud_golpeZombie = cargarSonido("/sounds/golpe_zombie.wav");
-            aud_muerteZombie = cargarSonido("/sounds/muerte_zombie.wav");
-            aud_victoria = cargarSonido("/sounds/victoria.wav");
-            aud_Scream = cargarSonido("/sounds/zombieScream.wav");
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("Error cargando sonidos.");
+    /**
+     * Añade enemigos en posiciones aleatorias libres del mapa.
+     * @param cantidad Número de enemigos a crear.
+     */
+    public void agregaEnemigos(int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            this.horda.agrega(Horda.ZOMBIE);
         }
     }
-    
-    // Método auxiliar para cargar sonidos más limpio
-    private Clip cargarSonido(String ruta) throws Exception {
-        InputStream is = getClass().getResourceAsStream(ruta);
-        AudioInputStream ais = AudioSystem.getAudioInputStream(new BufferedInputStream(is));
-        Clip clip = AudioSystem.getClip();
-        clip.open(ais);
-        return clip;
+
+    public void cargaSonidos() {
+        this.audio.precarga(SONIDO_MUSICA, SONIDO_GAMEOVER, SONIDO_GOLPE_PERSONAJE, SONIDO_GOLPE_ZOMBIE,
+                SONIDO_MUERTE_ZOMBIE, SONIDO_VICTORIA, SONIDO_GRITO, SONIDO_CAMINAR, SONIDO_DISPARO);
     }
 
-    public void reproducir(Clip clip) {
-        if (clip != null) {
-            if (clip.isRunning()) clip.stop();
-            clip.setFramePosition(0);
-            clip.start();
-        }
+    public void reproducir(String ruta) {
+        this.audio.reproducir(ruta);
     }
 
     public void iniciaHebraJuego() {
-        this.cargaMusica();
-        this.cargaEfectos();
+        this.cargaSonidos();
         this.configuraEnemigos();
         this.hebraJuego = new Thread(this);
         this.hebraJuego.start();
     }
 
+    /**
+     * Pide al hilo del juego que termine y espera a que lo haga.
+     */
+    public void detieneHebraJuego() {
+        Thread hebra = this.hebraJuego;
+        this.hebraJuego = null;
+        if (hebra != null && hebra != Thread.currentThread()) {
+            try {
+                hebra.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     @Override
     public void run() {
-        double intervaloDibujo = 1000000000.0 / this.FPS;
-        double delta = 0;
-        long ultimaVez = System.nanoTime();
-        long tiempoActual;
-        
         // Reproducir música en bucle
-        if(musica != null) musica.loop(Clip.LOOP_CONTINUOUSLY);
-
-        while (this.hebraJuego != null) {
-            tiempoActual = System.nanoTime();
-            delta += (tiempoActual - ultimaVez) / intervaloDibujo;
-            ultimaVez = tiempoActual;
-            if (delta >= 1) {
-                this.update();
-                this.repaint();
-                delta--;
-            }
+        this.audio.reproducirEnBucle(SONIDO_MUSICA);
+
+        if (this.planificador instanceof PlanificadorPasoFijo && Boolean.getBoolean("survivor.reporte")) {
+            ((PlanificadorPasoFijo) this.planificador).setReporteEnConsola(true);
         }
+        // Con ventana, el director ajusta la horda al tiempo medido de tick y fotograma.
+        this.director.setMidiendo(true);
+        // El dibujo calcula su propia interpolación a partir de la hora de publicación
+        // de cada foto. En el modo activo este hilo dibuja y presenta; en el pasivo
+        // basta con pedir que se repinte.
+        this.planificador.ejecutar(() -> this.hebraJuego != null, this::update, alfa -> this.presentaFotograma());
+    }
+
+    /**
+     * Presenta un fotograma. En el modo activo lo dibuja y lo muestra en este
+     * hilo (si el destino todavía no está listo, se salta) y registra cuánto
+     * pasó desde que se publicó la foto (fase "presentacion" del
+     * {@link Perfilador}); en el pasivo pide un repaint().
+     */
+    private void presentaFotograma() {
+        DestinoDibujo destinoActual = this.destino;
+        if (destinoActual == null) {
+            this.repaint();
+            return;
+        }
+        long publicacion = this.fotos.getLectura().getNanosPublicacion();
+        if (destinoActual.presenta(this.dibujoActivo)) {
+            this.perfilador.registra(Perfilador.FASE_PRESENTACION, publicacion);
+        }
+    }
+
+    /**
+     * En el modo activo las teclas llegan al lienzo, que es el que tiene el
+     * foco, así que los oyentes se registran también en él.
+     */
+    @Override
+    public synchronized void addKeyListener(KeyListener oyente) {
+        super.addKeyListener(oyente);
+        if (this.lienzo != null) this.lienzo.addKeyListener(oyente);
     }
 
+    /**
+     * Avanza la simulación un tick y publica la foto resultante para el dibujo.
+     * Sólo debe llamarse desde el hilo de la simulación.
+     */
     public void update() {
+        long inicioTick = this.perfilador.marca();
+        long inicioDirector = this.director.marca();
+        this.mT.avanzaTick();
+        this.cargaTick = this.mT.cargaDelTick(this.director.cargaMedida());
+        this.guardaPosicionesPrevias();
+        this.actualizaLogica();
+        long t = this.perfilador.marca();
+        this.publicaFoto();
+        this.perfilador.registra(Perfilador.FASE_FOTO, t);
+        this.perfilador.registra(Perfilador.FASE_TICK, inicioTick);
+        this.director.registraTick(inicioDirector);
+    }
+
+    private void actualizaLogica() {
     	
     	if (gameState == titleState) {
             // Si estamos en la portada y presionan ESPACIO (que es el disparo en tu código)
@@ -192,16 +317,18 @@ public class GamePanel extends JPanel implements Runnable {
         }
     	
         if (gameState == playState) {
+            long t = this.perfilador.marca();
             this.jugador.update();
 
             // REVISAR CONDICIÓN DE DERROTA
             if(this.jugador.getVidaActual() <= 0) {
                 this.gameState = gameOverState;
                 this.ui.juegoTerminado = true;
-                if(musica != null) musica.stop();
-                reproducir(aud_Scream);
-                reproducir(aud_gameover);
+                this.audio.detener(SONIDO_MUSICA);
+                reproducir(SONIDO_GRITO);
+                reproducir(SONIDO_GAMEOVER);
             }
+            t = this.perfilador.registra(Perfilador.FASE_JUGADOR, t);
 
             // --- LÓGICA DEL JEFE FINAL ---
             // 1. Verificar si debe aparecer
@@ -215,114 +342,238 @@ public class GamePanel extends JPanel implements Runnable {
             // 2. Actualizar Jefe si está activo
             if (jefeActivo) {
                 jefeFinal.update();
-                
-                // Colisión Jefe golpea a Jugador
-                if (dC.revisaJugador(jefeFinal)) {
-                    int vidaAntes = this.jugador.getVidaActual();
-                    this.jugador.recibeDanio(jefeFinal.getDanio());
-                    if(this.jugador.getVidaActual() < vidaAntes) {
-                        reproducir(aud_golpePersonaje);
-                    }
-                }
             }
             // -----------------------------
+            t = this.perfilador.registra(Perfilador.FASE_JEFE, t);
 
             // Lógica enemigos normales
-            for (Enemigo e : listaEnemigos) {
-                e.update();
-                if (dC.revisaJugador(e)) {
+            this.director.actualiza(this.horda, this.jugador.getPuntuacion(), this.cargaTick);
+            this.campoFlujo.actualiza(
+                    this.jugador.getMundoX() + this.jugador.getAreaSolidaX() + this.jugador.getAreaSolidaAncho() / 2,
+                    this.jugador.getMundoY() + this.jugador.getAreaSolidaY() + this.jugador.getAreaSolidaAlto() / 2);
+            // Cada enemigo se actualiza con más o menos detalle según su distancia
+            // a la cámara; la fase de intención puede repartirse entre varios hilos.
+            this.actualizadorEnemigos.actualiza(this.horda,
+                    this.jugador.getMundoX() - this.jugador.getPantallaX(),
+                    this.jugador.getMundoY() - this.jugador.getPantallaY());
+
+            // Rejilla con las posiciones finales del tick. El jefe se inserta
+            // primero para que las consultas lo devuelvan antes que a los zombies,
+            // igual que cuando se revisaba antes que la lista de enemigos.
+            this.rejilla.limpia();
+            // Los enemigos lejanos no pueden tocar al jugador ni a un proyectil
+            // (que recorre menos de lo que hay hasta ellos), así que no entran.
+            if (jefeActivo) this.rejilla.inserta(ID_JEFE, jefeFinal);
+            for (int i = 0; i < this.horda.getNumEnemigos(); i++) {
+                if (this.horda.getNivelDetalle(i) != Horda.DETALLE_LEJOS) this.insertaEnemigoEnRejilla(i);
+            }
+
+            // Colisión Jefe / Enemigos golpean a Jugador
+            int candidatos = this.rejilla.consultaAreaSolida(this.jugador);
+            for (int i = 0; i < candidatos; i++) {
+                int id = this.rejilla.getResultado(i);
+                boolean golpea = id == ID_JEFE ? dC.revisaJugador(jefeFinal) : dC.revisaJugador(this.horda, id);
+                if (golpea) {
                     int vidaAntes = this.jugador.getVidaActual();
-                    this.jugador.recibeDanio(e.getDanio());
+                    this.jugador.recibeDanio(id == ID_JEFE ? jefeFinal.getDanio() : this.horda.getArquetipo(id).getDanio());
                     if(this.jugador.getVidaActual() < vidaAntes) {
-                        reproducir(aud_golpePersonaje);
+                        reproducir(SONIDO_GOLPE_PERSONAJE);
                     }
                 }
             }
+            t = this.perfilador.registra(Perfilador.FASE_ENEMIGOS, t);
 
             // Lógica Proyectiles (Vs Enemigos y Vs Jefe)
-            Iterator<Proyectil> iteradorProyectil = listaProjectil.iterator();
-            while (iteradorProyectil.hasNext()) {
-                Proyectil proyectilActual = iteradorProyectil.next();
+            // Los que golpean algo se marcan y al final vuelven al pool todos juntos.
+            for (int p = 0; p < this.proyectiles.getNumActivos(); p++) {
+                Proyectil proyectilActual = this.proyectiles.getActivo(p);
                 proyectilActual.update();
+                // Si chocó con un muro ya no revisa enemigos (recoge() lo retira).
+                if (proyectilActual.getChocoConMuro()) {
+                    continue;
+                }
                 boolean proyectilImpacto = false;
 
-                // A) Verificar impacto contra JEFE
-                if (jefeActivo) {
-                    if (dC.revisaEntidad(proyectilActual, jefeFinal)) {
-                        jefeFinal.recibeDanio(proyectilActual.getDanio());
-                        proyectilImpacto = true;
-                        reproducir(aud_golpeZombie); // Sonido de golpe
-
-                        if (jefeFinal.getVidaActual() <= 0) {
-                            jefeActivo = false;
-                            jefeDerrotado = true;
-                            reproducir(aud_muerteZombie);
-                            jugador.setPuntuacion(jugador.getPuntuacion() + 500); // Super Bonus
-                            System.out.println("¡JEFE DERROTADO!");
-                            if(musica!= null) musica.stop();
-                            ui.victoria = true;
-                            reproducir(aud_victoria);
-                            this.gameState = winState;
+                // Sólo se revisan las entidades de las celdas que toca el proyectil.
+                candidatos = this.rejilla.consultaEntidad(proyectilActual);
+                for (int i = 0; i < candidatos && !proyectilImpacto; i++) {
+                    int objetivo = this.rejilla.getResultado(i);
+
+                    // A) Verificar impacto contra JEFE
+                    if (objetivo == ID_JEFE) {
+                        if (jefeActivo && dC.revisaEntidad(proyectilActual, jefeFinal)) {
+                            jefeFinal.recibeDanio(proyectilActual.getDanio());
+                            proyectilImpacto = true;
+                            reproducir(SONIDO_GOLPE_ZOMBIE); // Sonido de golpe
+
+                            if (jefeFinal.getVidaActual() <= 0) {
+                                jefeActivo = false;
+                                jefeDerrotado = true;
+                                reproducir(SONIDO_MUERTE_ZOMBIE);
+                                jugador.setPuntuacion(jugador.getPuntuacion() + 500); // Super Bonus
+                                System.out.println("¡JEFE DERROTADO!");
+                                this.audio.detener(SONIDO_MUSICA);
+                                ui.victoria = true;
+                                reproducir(SONIDO_VICTORIA);
+                                this.gameState = winState;
+                            }
                         }
+                        continue;
                     }
-                }
 
-                // B) Verificar impacto contra Enemigos normales (si no golpeó al jefe)
-                if (!proyectilImpacto) {
-                    Iterator<Enemigo> iteradorEnemigo = listaEnemigos.iterator();
-                    while (iteradorEnemigo.hasNext()) {
-                        Enemigo enemigoActual = iteradorEnemigo.next();
-                        if (dC.revisaEntidad(proyectilActual, enemigoActual)) {
-                            enemigoActual.recibeDanio(proyectilActual.getDanio());
-                            proyectilImpacto = true;
+                    // B) Verificar impacto contra Enemigos normales
+                    if (dC.revisaEntidad(proyectilActual, this.horda, objetivo)) {
+                        this.horda.recibeDanio(objetivo, proyectilActual.getDanio());
+                        proyectilImpacto = true;
 
-                            if (enemigoActual.getVidaActual() <= 0) {
-                                reproducir(aud_muerteZombie);
-                                enemigoActual.setPosicionAleatoria();
-                                enemigoActual.setVidaActual(enemigoActual.getMaxVida());
-                                jugador.setPuntuacion(jugador.getPuntuacion() + 10);
-                            } else {
-                                reproducir(aud_golpeZombie);
-                            }
-                            break; 
+                        if (this.horda.getVidaActual(objetivo) <= 0) {
+                            reproducir(SONIDO_MUERTE_ZOMBIE);
+                            this.horda.reaparece(objetivo);
+                            jugador.setPuntuacion(jugador.getPuntuacion() + 10);
+                            // Reaparece en otro sitio: se enlaza también en sus nuevas celdas.
+                            int alcance = this.alcanceEnRejilla(objetivo);
+                            this.rejilla.reinserta(this.rejilla.getIndiceResultado(i),
+                                    this.horda.getMundoX(objetivo), this.horda.getMundoY(objetivo), alcance, alcance);
+                        } else {
+                            reproducir(SONIDO_GOLPE_ZOMBIE);
                         }
                     }
                 }
 
                 // Eliminar proyectil si golpeó algo o si voló muy lejos
-                if (proyectilImpacto || proyectilActual.getTimer() > 75) {
-                    iteradorProyectil.remove();
-                }
+                if (proyectilImpacto) proyectilActual.retira();
             }
+            // Eliminar proyectiles que golpearon algo, chocaron con un muro o volaron muy lejos
+            this.proyectiles.recoge();
+            this.perfilador.registra(Perfilador.FASE_PROYECTILES, t);
         }
     }
 
-    @Override
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g;
-
-        // 1. Dibujar Mundo y Entidades
-        this.mTi.draw(g2);
+    private void insertaEnemigoEnRejilla(int i) {
+        int alcance = this.alcanceEnRejilla(i);
+        this.rejilla.inserta(i, this.horda.getMundoX(i), this.horda.getMundoY(i), alcance, alcance);
+    }
 
-        // Dibujar proyectiles
-        for(Proyectil i : listaProjectil) i.draw(g2);
+    // Lado del rectángulo de un enemigo en la rejilla: de su posición al borde de su área sólida.
+    private int alcanceEnRejilla(int i) {
+        return this.horda.getArquetipo(i).getOffset() + this.horda.getArquetipo(i).getHitbox();
+    }
 
-        // Dibujar enemigos normales
-        for (Enemigo e : listaEnemigos) e.draw(g2);
+    /**
+     * Guarda la posición de todas las entidades antes de moverlas, para que el
+     * dibujo pueda interpolar entre el tick anterior y el actual.
+     */
+    private void guardaPosicionesPrevias() {
+        this.jugador.guardaPosicionPrevia();
+        if (jefeActivo) jefeFinal.guardaPosicionPrevia();
+        this.horda.guardaPosicionesPrevias();
+        for (int i = 0; i < this.proyectiles.getNumActivos(); i++) this.proyectiles.getActivo(i).guardaPosicionPrevia();
+    }
 
-        // --- DIBUJAR JEFE ---
+    /**
+     * Copia el estado visible del mundo en la foto de escritura y la publica.
+     * Las entidades se añaden en el orden en que se dibujan.
+     */
+    private void publicaFoto() {
+        FotoMundo foto = this.fotos.getEscritura();
+        foto.limpia();
+        foto.nanosPublicacion = System.nanoTime();
+        foto.numeroTick = ++this.numeroTick;
+        foto.valida = true;
+
+        foto.gameState = this.gameState;
+        foto.juegoTerminado = this.ui.juegoTerminado;
+        foto.victoria = this.ui.victoria;
+        foto.puntuacion = this.jugador.getPuntuacion();
+        foto.vidasJugador = this.jugador.getVidaActual();
+
+        foto.jugadorX = this.jugador.getMundoX();
+        foto.jugadorY = this.jugador.getMundoY();
+        foto.jugadorXPrevio = this.jugador.getMundoXPrevio();
+        foto.jugadorYPrevio = this.jugador.getMundoYPrevio();
+        foto.jugadorSprite = this.jugador.getSpriteActual();
+        foto.jugadorInvencible = this.jugador.getInvencible();
+
+        for (int i = 0; i < this.proyectiles.getNumActivos(); i++) {
+            this.agregaAFoto(foto, FotoMundo.TIPO_PROYECTIL, this.proyectiles.getActivo(i));
+        }
+        for (int i = 0; i < this.horda.getNumEnemigos(); i++) {
+            // Sólo los cercanos pueden aparecer en pantalla antes del siguiente tick.
+            if (this.horda.getNivelDetalle(i) != Horda.DETALLE_CERCA) continue;
+            foto.agrega(FotoMundo.TIPO_ENEMIGO, this.horda.getMundoX(i), this.horda.getMundoY(i),
+                    this.horda.getMundoXPrevio(i), this.horda.getMundoYPrevio(i), this.horda.getSpriteActual(i),
+                    this.horda.getVidaActual(i), this.horda.getArquetipo(i).getMaxVida());
+        }
         if (jefeActivo && jefeFinal != null) {
-            jefeFinal.draw(g2);
+            this.agregaAFoto(foto, FotoMundo.TIPO_JEFE, jefeFinal);
         }
-        // --------------------
 
-        this.jugador.draw(g2);
-        
-        // 2. Dibujar UI
-        ui.draw(g2);
+        this.fotos.publica();
+    }
+
+    private void agregaAFoto(FotoMundo foto, int tipo, Entidad e) {
+        foto.agrega(tipo, e.getMundoX(), e.getMundoY(), e.getMundoXPrevio(), e.getMundoYPrevio(),
+                e.getSpriteActual(), e.getVidaActual(), e.getMaxVida());
+    }
+
+    /**
+     * Al mostrarse el panel ya se sabe en qué pantalla se dibuja. Si su formato
+     * o su escala no son los que se supusieron al cargar las imágenes, éstas se
+     * convierten y se vuelven a repartir.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (this.recursos.setConfiguracion(this.getGraphicsConfiguration())) this.recargaImagenes();
+    }
+
+    /**
+     * Vuelve a pedir a {@link Recursos} todas las imágenes que guardan el mapa,
+     * las entidades y la UI, después de que cambiaron.
+     */
+    public void recargaImagenes() {
+        this.mTi.recargaImagenes();
+        this.jugador.recargaSprites(this.recursos);
+        this.horda.recargaSprites(this.recursos);
+        this.proyectiles.recargaSprite();
+        Jefe jefe = this.jefeFinal;
+        if (jefe != null) jefe.recargaSprites(this.recursos);
+        this.ui.cargaImagenes();
+    }
+
+    @Override
+    public void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        // En el modo activo el lienzo cubre el panel y sólo el hilo del juego lee las fotos.
+        if (this.destino != null) return;
+        Graphics2D g2 = (Graphics2D) g;
+        this.dibuja(g2);
         g2.dispose();
     }
+
+    /**
+     * Dibuja la foto más reciente, interpolando según el tiempo transcurrido
+     * desde que se publicó. Se puede llamar desde cualquier hilo de dibujo
+     * (uno solo a la vez): no toca el estado de la simulación.
+     * @param g2 El contexto gráfico donde dibujar.
+     */
+    public void dibuja(Graphics2D g2) {
+        long inicio = this.director.marca();
+        FotoMundo foto = this.fotos.getLectura();
+        double alfa = (System.nanoTime() - foto.getNanosPublicacion()) / (1_000_000_000.0 / this.FPS);
+        this.renderizador.dibuja(g2, foto, Math.min(1.0, alfa));
+        this.director.registraFotograma(inicio);
+    }
+
+    /**
+     * Dibuja la foto más reciente con un factor de interpolación fijo (1 dibuja
+     * exactamente el último tick, útil para dibujar fuera de pantalla).
+     * @param g2   El contexto gráfico donde dibujar.
+     * @param alfa Factor de interpolación entre 0 y 1.
+     */
+    public void dibuja(Graphics2D g2, double alfa) {
+        this.renderizador.dibuja(g2, this.fotos.getLectura(), alfa);
+    }
     
     public void reiniciarJuego() {
         // Restaurar al Jugador
@@ -331,8 +582,8 @@ public class GamePanel extends JPanel implements Runnable {
         jugador.setPuntuacion(0); 
 
         // Limpiar las listas viejas
-        listaEnemigos.clear();
-        listaProjectil.clear();
+        this.horda.vacia();
+        this.proyectiles.vacia();
         
         //Volver a crear enemigos
         configuraEnemigos(); 
@@ -347,10 +598,7 @@ public class GamePanel extends JPanel implements Runnable {
         ui.victoria = false;
 
         // Reiniciar música
-        if (musica != null) {
-            musica.setFramePosition(0);
-            musica.start(); 
-        }
+        this.audio.reanudar(SONIDO_MUSICA);
     }
     
     // Getters
@@ -365,6 +613,62 @@ public class GamePanel extends JPanel implements Runnable {
     public int getAnchoMundo() { return this.anchoMundo; }
     public int getAltoMundo() { return this.altoMundo; }
     public DetectorColisiones getDetectorColisiones() { return this.dC; }
+    public RejillaEspacial getRejillaEspacial() { return this.rejilla; }
+    public CampoFlujo getCampoFlujo() { return this.campoFlujo; }
+    public PlanificadorRutas getPlanificadorJefe() { return this.planificadorJefe; }
     public ManejadorTiles getManejadorTiles() { return this.mTi; }
-    public ArrayList<Proyectil> getListaProjectil() { return listaProjectil; }
+    public Recursos getRecursos() { return this.recursos; }
+    public PoolProyectiles getProyectiles() { return this.proyectiles; }
+    public Horda getHorda() { return this.horda; }
+    /** @return El lienzo del dibujo activo, o null en el modo pasivo. */
+    public LienzoActivo getLienzo() { return this.lienzo; }
+    /** @return Dónde se presentan los fotogramas, o null en el modo pasivo. */
+    public DestinoDibujo getDestino() { return this.destino; }
+    /**
+     * Cambia dónde presenta los fotogramas el hilo del juego; por ejemplo, un
+     * {@link DestinoImagen} para dibujar sin pantalla. Con null se vuelve al
+     * modo pasivo.
+     */
+    public void setDestino(DestinoDibujo destino) { this.destino = destino; }
+    public DirectorAparicion getDirector() { return this.director; }
+    public FuenteEntrada getManejadorTeclas() { return this.mT; }
+    public SumideroAudio getAudio() { return this.audio; }
+    public Random getAleatorio() { return this.aleatorio; }
+    public long getSemilla() { return this.semilla; }
+    public long getNumeroTick() { return this.numeroTick; }
+    public Perfilador getPerfilador() { return this.perfilador; }
+
+    /**
+     * Calcula una huella del estado de la simulación (jugador, enemigos,
+     * proyectiles y jefe). Dos ejecuciones con la misma semilla y la misma
+     * entrada deben dar la misma huella en el mismo tick.
+     * @return Un resumen de 64 bits del estado actual.
+     */
+    public long getHuellaEstado() {
+        long h = 1125899906842597L;
+        h = 31 * h + this.gameState;
+        h = 31 * h + this.jugador.getMundoX();
+        h = 31 * h + this.jugador.getMundoY();
+        h = 31 * h + this.jugador.getVidaActual();
+        h = 31 * h + this.jugador.getPuntuacion();
+        for (int i = 0; i < this.horda.getNumEnemigos(); i++) {
+            h = 31 * h + this.horda.getMundoX(i);
+            h = 31 * h + this.horda.getMundoY(i);
+            h = 31 * h + this.horda.getVidaActual(i);
+        }
+        for (int i = 0; i < this.proyectiles.getNumActivos(); i++) {
+            Proyectil p = this.proyectiles.getActivo(i);
+            h = 31 * h + p.getMundoX();
+            h = 31 * h + p.getMundoY();
+        }
+        if (jefeActivo && jefeFinal != null) {
+            h = 31 * h + jefeFinal.getMundoX();
+            h = 31 * h + jefeFinal.getMundoY();
+            h = 31 * h + jefeFinal.getVidaActual();
+        }
+        return h;
+    }
+    public Planificador getPlanificador() { return this.planificador; }
+    public void setPlanificador(Planificador planificador) { this.planificador = planificador; }
+
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package main;
+
+/**
+ * Fuente de entrada que envuelve a otra (normalmente el teclado) y anota en un
+ * {@link RegistroEntrada} la máscara de teclas y la carga del director de cada
+ * tick. El tick se anota al recibir la carga ({@link #cargaDelTick(int)}).
+ */
+public class GrabadoraEntrada implements FuenteEntrada {
+
+    private final FuenteEntrada fuente;
+    private final RegistroEntrada registro;
+    private int mascara = 0;
+
+    /**
+     * @param fuente  La fuente real de la que se toman las teclas.
+     * @param semilla La semilla del {@link GamePanel} que se está grabando.
+     */
+    public GrabadoraEntrada(FuenteEntrada fuente, long semilla) {
+        this.fuente = fuente;
+        this.registro = new RegistroEntrada(semilla);
+    }
+
+    @Override
+    public void avanzaTick() {
+        this.fuente.avanzaTick();
+        this.mascara = this.fuente.getMascara();
+    }
+
+    @Override
+    public int cargaDelTick(int cargaMedida) {
+        int carga = this.fuente.cargaDelTick(cargaMedida);
+        this.registro.agregaTick(this.mascara, carga);
+        return carga;
+    }
+
+    public RegistroEntrada getRegistro() { return this.registro; }
+
+    @Override public boolean getTeclaArriba() { return (this.mascara & ARRIBA) != 0; }
+    @Override public boolean getTeclaAbajo() { return (this.mascara & ABAJO) != 0; }
+    @Override public boolean getTeclaIzquierda() { return (this.mascara & IZQUIERDA) != 0; }
+    @Override public boolean getTeclaDerecha() { return (this.mascara & DERECHA) != 0; }
+    @Override public boolean getDisparo() { return (this.mascara & DISPARO) != 0; }
+    @Override public int getMascara() { return this.mascara; }
+}
@@ -0,0 +1,84 @@
+package main;
+
+/**
+ * Histograma de latencias de memoria fija, con cubetas logarítmicas
+ * subdivididas en 16 partes iguales (error relativo máximo de 1/16, ~6%).
+ * Cubre desde 1 ns hasta 2^41 ns (unos 36 minutos) con 608 contadores; los
+ * valores mayores se cuentan en la última cubeta.
+ *
+ * Registrar un valor sólo incrementa un contador: no crea objetos, así que
+ * se puede usar dentro del bucle del juego sin provocar recolecciones.
+ * Cada histograma debe tener un único hilo escritor; las lecturas desde otro
+ * hilo son aproximadas pero seguras.
+ */
+public class HistogramaLatencia {
+
+    private static final int BITS_SUBCUBETA = 4;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int EXPONENTE_MAXIMO = 40;
+    private static final int NUM_CUBETAS = (EXPONENTE_MAXIMO - BITS_SUBCUBETA + 2) * SUBCUBETAS;
+
+    private final long[] cubetas = new long[NUM_CUBETAS];
+    private long conteo;
+    private long suma;
+    private long maximo;
+
+    /**
+     * Registra una medición.
+     * @param nanos Duración en nanosegundos (los valores negativos cuentan como 0).
+     */
+    public void registra(long nanos) {
+        long valor = Math.max(0, nanos);
+        this.cubetas[indice(valor)]++;
+        this.conteo++;
+        this.suma += valor;
+        if (valor > this.maximo) this.maximo = valor;
+    }
+
+    /** Borra todas las mediciones. */
+    public void reinicia() {
+        java.util.Arrays.fill(this.cubetas, 0);
+        this.conteo = 0;
+        this.suma = 0;
+        this.maximo = 0;
+    }
+
+    // Los valores menores que 16 tienen su propia cubeta; a partir de ahí cada
+    // potencia de dos se divide en 16 cubetas.
+    private static int indice(long valor) {
+        if (valor < SUBCUBETAS) return (int) valor;
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        if (exponente > EXPONENTE_MAXIMO) return NUM_CUBETAS - 1;
+        int sub = (int) (valor >>> (exponente - BITS_SUBCUBETA)) & (SUBCUBETAS - 1);
+        return (exponente - BITS_SUBCUBETA + 1) * SUBCUBETAS + sub;
+    }
+
+    // Límite superior (inclusivo) de los valores que caen en la cubeta.
+    private static long limiteSuperior(int indice) {
+        if (indice < SUBCUBETAS) return indice;
+        int exponente = indice / SUBCUBETAS + BITS_SUBCUBETA - 1;
+        int sub = indice % SUBCUBETAS;
+        long ancho = 1L << (exponente - BITS_SUBCUBETA);
+        return (1L << exponente) + (sub + 1) * ancho - 1;
+    }
+
+    /**
+     * @param percentil Valor entre 0 y 100 (ej: 50 para la mediana, 99 para el p99).
+     * @return La latencia por debajo de la cual queda ese porcentaje de mediciones.
+     */
+    public long getPercentil(double percentil) {
+        if (this.conteo == 0) return 0;
+        long objetivo = (long) Math.ceil(this.conteo * percentil / 100.0);
+        if (objetivo < 1) objetivo = 1;
+        long acumulado = 0;
+        for (int i = 0; i < NUM_CUBETAS; i++) {
+            acumulado += this.cubetas[i];
+            if (acumulado >= objetivo) return Math.min(limiteSuperior(i), this.maximo);
+        }
+        return this.maximo;
+    }
+
+    public long getConteo() { return this.conteo; }
+    public long getMaximo() { return this.maximo; }
+    public double getMedia() { return this.conteo == 0 ? 0 : (double) this.suma / this.conteo; }
+}
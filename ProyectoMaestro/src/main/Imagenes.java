@@ -0,0 +1,116 @@
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Utilidades para preparar las imágenes al cargarlas.
+ *
+ * Dibujar una imagen escalada ({@code drawImage(img, x, y, ancho, alto, null)})
+ * crea transformaciones y, con algunos formatos de PNG, una copia completa de
+ * la imagen en cada llamada. Por eso los sprites se escalan una sola vez al
+ * cargarlos y después se dibujan a su tamaño natural.
+ *
+ * Las copias se crean con el formato de la pantalla de destino, para que
+ * Java2D pueda dibujarlas sin convertirlas (y guardarlas en la memoria de
+ * video). Al principio es la pantalla por omisión; {@link Recursos#setConfiguracion}
+ * la cambia por la del panel cuando éste se muestra. Sin pantalla se usa ARGB
+ * de enteros.
+ */
+public final class Imagenes {
+
+    // Configuración para la que se crean las imágenes (null sin pantalla).
+    private static volatile GraphicsConfiguration destino = configuracionPorOmision();
+    // Sube cada vez que cambia el destino: las imágenes anteriores ya no son compatibles.
+    private static volatile int generacion;
+
+    private Imagenes() {
+    }
+
+    /** @return La configuración para la que se crean las imágenes, o null sin pantalla. */
+    public static GraphicsConfiguration getDestino() { return destino; }
+
+    /** @return Un número que cambia cada vez que cambia el destino. */
+    public static int getGeneracion() { return generacion; }
+
+    /**
+     * Cambia la configuración para la que se crean las imágenes. Las que ya
+     * existen siguen siendo válidas, pero dibujarlas puede requerir convertirlas.
+     */
+    static synchronized void setDestino(GraphicsConfiguration gc) {
+        destino = gc;
+        generacion++;
+    }
+
+    /**
+     * @return {@code true} si una imagen compatible con una configuración lo es
+     *         también con la otra: mismo modelo de color y misma escala de
+     *         pantalla.
+     */
+    public static boolean mismoFormato(GraphicsConfiguration a, GraphicsConfiguration b) {
+        if (a == b) return true;
+        if (a == null || b == null) return false;
+        return a.getColorModel(Transparency.TRANSLUCENT).equals(b.getColorModel(Transparency.TRANSLUCENT))
+                && a.getColorModel(Transparency.OPAQUE).equals(b.getColorModel(Transparency.OPAQUE))
+                && a.getDefaultTransform().equals(b.getDefaultTransform());
+    }
+
+    /**
+     * Devuelve una copia de la imagen en el formato de la pantalla y con el
+     * tamaño indicado (vecino más cercano, para conservar el pixel art).
+     * @param original La imagen tal como se leyó del recurso; puede ser null.
+     * @param ancho    Ancho en píxeles con el que se va a dibujar.
+     * @param alto     Alto en píxeles con el que se va a dibujar.
+     * @return La imagen escalada, o null si el original era null.
+     */
+    public static BufferedImage escalada(BufferedImage original, int ancho, int alto) {
+        if (original == null) return null;
+        BufferedImage copia = nueva(ancho, alto);
+        Graphics2D g2 = copia.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(original, 0, 0, ancho, alto, null);
+        g2.dispose();
+        return copia;
+    }
+
+    /**
+     * Devuelve una copia de la imagen, del mismo tamaño, en el formato de la
+     * pantalla.
+     * @param original La imagen tal como se leyó del recurso; puede ser null.
+     * @return La copia, o null si el original era null.
+     */
+    public static BufferedImage compatible(BufferedImage original) {
+        if (original == null) return null;
+        BufferedImage copia = nueva(original.getWidth(), original.getHeight());
+        Graphics2D g2 = copia.createGraphics();
+        g2.drawImage(original, 0, 0, null);
+        g2.dispose();
+        return copia;
+    }
+
+    /**
+     * Crea una imagen opaca en el formato de la pantalla (RGB de enteros sin
+     * pantalla), para capas que se pintan una vez y se copian en cada fotograma.
+     */
+    public static BufferedImage opaca(int ancho, int alto) {
+        GraphicsConfiguration gc = destino;
+        if (gc == null) return new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        return gc.createCompatibleImage(ancho, alto, Transparency.OPAQUE);
+    }
+
+    /** Crea una imagen translúcida vacía en el formato de la pantalla (ARGB sin pantalla). */
+    public static BufferedImage nueva(int ancho, int alto) {
+        GraphicsConfiguration gc = destino;
+        if (gc == null) return new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+        return gc.createCompatibleImage(ancho, alto, Transparency.TRANSLUCENT);
+    }
+
+    private static GraphicsConfiguration configuracionPorOmision() {
+        if (GraphicsEnvironment.isHeadless()) return null;
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+}
@@ -0,0 +1,71 @@
+package main;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.function.Consumer;
+
+/**
+ * Superficie para el dibujo activo: el hilo del juego pinta cada fotograma en
+ * el búfer trasero de una {@link BufferStrategy} (con intercambio de páginas
+ * si la pantalla lo permite) y lo presenta él mismo con {@code show()} y
+ * {@link Toolkit#sync()}, en lugar de pedir un {@code repaint()} que Swing
+ * agenda (y a veces junta o retrasa) en el hilo de eventos.
+ *
+ * Así el momento en que se presenta cada fotograma depende sólo del
+ * planificador, y se puede medir cuánto pasa desde que la simulación publica
+ * una foto hasta que se ve.
+ */
+public class LienzoActivo extends Canvas implements DestinoDibujo {
+    private static final long serialVersionUID = -2317140873315489246L;
+
+    private static final int NUM_BUFERES = 2;
+    private BufferStrategy estrategia;
+
+    public LienzoActivo() {
+        this.setIgnoreRepaint(true);
+        this.setBackground(Color.BLACK);
+        this.setFocusable(true);
+    }
+
+    /**
+     * @return {@code true} si ya se puede dibujar: el lienzo está en una
+     *         ventana visible y tiene su estrategia de búferes.
+     */
+    public boolean estaListo() {
+        if (this.estrategia != null) return true;
+        if (!this.isDisplayable() || this.getWidth() == 0) return false;
+        this.createBufferStrategy(NUM_BUFERES);
+        this.estrategia = this.getBufferStrategy();
+        return this.estrategia != null;
+    }
+
+    /**
+     * Dibuja un fotograma en el búfer trasero y lo presenta. Si el contenido
+     * del búfer se pierde mientras tanto (p. ej. al minimizar), se vuelve a
+     * dibujar.
+     */
+    @Override
+    public boolean presenta(Consumer<Graphics2D> dibujo) {
+        if (!this.estaListo()) return false;
+        BufferStrategy bs = this.estrategia;
+        do {
+            do {
+                Graphics2D g2 = (Graphics2D) bs.getDrawGraphics();
+                try {
+                    g2.setColor(Color.BLACK);
+                    g2.fillRect(0, 0, this.getWidth(), this.getHeight());
+                    dibujo.accept(g2);
+                } finally {
+                    g2.dispose();
+                }
+            } while (bs.contentsRestored());
+            bs.show();
+        } while (bs.contentsLost());
+        // Sin esto algunos sistemas (X11) retienen el fotograma en su cola.
+        Toolkit.getDefaultToolkit().sync();
+        return true;
+    }
+}
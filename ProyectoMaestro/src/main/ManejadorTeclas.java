@@ -11,12 +11,16 @@ import java.awt.event.KeyListener;
  *        Implementa la interfaz KeyListener para poder "escuchar" los eventos
  *        de pulsación y liberación de teclas.
  */
-public class ManejadorTeclas implements KeyListener {
+public class ManejadorTeclas implements KeyListener, FuenteEntrada {
 
 	// Banderas (flags) booleanas que indican el estado de cada tecla de movimiento.
 	// Son 'true' si la tecla está siendo presionada, 'false' en caso contrario.
-	private boolean teclaArriba, teclaAbajo, teclaIzquierda, teclaDerecha;
-	private boolean disparo;
+	// Son 'volatile' porque las escribe el hilo de eventos y las lee el de la simulación.
+	private volatile boolean teclaArriba, teclaAbajo, teclaIzquierda, teclaDerecha;
+	private volatile boolean disparo;
+	// Estado congelado al comienzo del tick actual. Es lo que ve la simulación, para
+	// que una tecla no cambie a mitad de un tick y la partida se pueda grabar.
+	private int mascaraTick = 0;
 
 	/**
 	 * Este método se invoca cuando una tecla es presionada y luego soltada (un
@@ -95,10 +99,25 @@ public class ManejadorTeclas implements KeyListener {
 	}
 
 
-	public boolean getTeclaArriba() {return this.teclaArriba;}
-	public boolean getTeclaAbajo() {return this.teclaAbajo;}
-	public boolean getTeclaIzquierda() {return this.teclaIzquierda;}
-	public boolean getTeclaDerecha() {return this.teclaDerecha;}
+	/**
+	 * Congela el estado de las teclas para el tick que empieza.
+	 */
+	@Override
+	public void avanzaTick() {
+		int mascara = 0;
+		if (this.teclaArriba) mascara |= ARRIBA;
+		if (this.teclaAbajo) mascara |= ABAJO;
+		if (this.teclaIzquierda) mascara |= IZQUIERDA;
+		if (this.teclaDerecha) mascara |= DERECHA;
+		if (this.disparo) mascara |= DISPARO;
+		this.mascaraTick = mascara;
+	}
+
+	@Override public boolean getTeclaArriba() {return (this.mascaraTick & ARRIBA) != 0;}
+	@Override public boolean getTeclaAbajo() {return (this.mascaraTick & ABAJO) != 0;}
+	@Override public boolean getTeclaIzquierda() {return (this.mascaraTick & IZQUIERDA) != 0;}
+	@Override public boolean getTeclaDerecha() {return (this.mascaraTick & DERECHA) != 0;}
 	
-	public boolean getDisparo() {return this.disparo;}
+	@Override public boolean getDisparo() {return (this.mascaraTick & DISPARO) != 0;}
+	@Override public int getMascara() {return this.mascaraTick;}
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package main;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Mide cuánto tarda cada fase del tick ({@code GamePanel.update}) y del dibujo
+ * ({@code Renderizador.dibuja}) y lo acumula en un {@link HistogramaLatencia}
+ * por fase, del que se pueden sacar p50, p99 y máximo.
+ *
+ * Uso dentro del bucle:
+ * <pre>
+ *   long t = perfilador.marca();
+ *   ... fase A ...
+ *   t = perfilador.registra(Perfilador.FASE_A, t);
+ *   ... fase B ...
+ *   t = perfilador.registra(Perfilador.FASE_B, t);
+ * </pre>
+ * Desactivado, {@link #marca()} y {@link #registra(int, long)} no hacen nada.
+ * Activado, sólo leen el reloj y suben un contador: no crean objetos.
+ *
+ * Se activa con {@code -Dsurvivor.perfil=true}; al salir se vuelca el resumen
+ * en el archivo de {@code -Dsurvivor.perfil.archivo} (por defecto "perfil.txt").
+ */
+public class Perfilador {
+
+    // Fases del tick (hilo de la simulación).
+    public static final int FASE_TICK = 0;
+    public static final int FASE_JUGADOR = 1;
+    public static final int FASE_JEFE = 2;
+    public static final int FASE_ENEMIGOS = 3;
+    public static final int FASE_PROYECTILES = 4;
+    public static final int FASE_FOTO = 5;
+    // Fases del fotograma (hilo de dibujo).
+    public static final int FASE_FOTOGRAMA = 6;
+    public static final int FASE_DIBUJO_TILES = 7;
+    public static final int FASE_DIBUJO_PROYECTILES = 8;
+    public static final int FASE_DIBUJO_ENEMIGOS = 9;
+    public static final int FASE_DIBUJO_JEFE = 10;
+    public static final int FASE_DIBUJO_JUGADOR = 11;
+    public static final int FASE_DIBUJO_UI = 12;
+    // De la publicación de la foto a que el fotograma está en pantalla (dibujo activo).
+    public static final int FASE_PRESENTACION = 13;
+    public static final int FASE_DIBUJO_BARRAS = 14;
+
+    private static final String[] NOMBRES = {
+        "tick", "jugador", "jefe", "enemigos", "proyectiles", "foto",
+        "fotograma", "dibujo.tiles", "dibujo.proyectiles", "dibujo.enemigos",
+        "dibujo.jefe", "dibujo.jugador", "dibujo.ui", "presentacion",
+        "dibujo.barras"
+    };
+
+    private final HistogramaLatencia[] histogramas = new HistogramaLatencia[NOMBRES.length];
+    private boolean activo = false;
+
+    public Perfilador() {
+        for (int i = 0; i < this.histogramas.length; i++) {
+            this.histogramas[i] = new HistogramaLatencia();
+        }
+    }
+
+    /** @return La hora actual si el perfilador está activo, 0 si no. */
+    public long marca() {
+        return this.activo ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Registra el tiempo transcurrido desde {@code inicio} en la fase indicada.
+     * @return La hora actual, para usarla como inicio de la siguiente fase.
+     */
+    public long registra(int fase, long inicio) {
+        if (!this.activo) return 0;
+        long ahora = System.nanoTime();
+        this.histogramas[fase].registra(ahora - inicio);
+        return ahora;
+    }
+
+    public boolean isActivo() { return this.activo; }
+    public void setActivo(boolean activo) { this.activo = activo; }
+
+    public HistogramaLatencia getHistograma(int fase) { return this.histogramas[fase]; }
+    public static String getNombreFase(int fase) { return NOMBRES[fase]; }
+    public static int getNumFases() { return NOMBRES.length; }
+
+    /** Borra las mediciones de todas las fases. */
+    public void reinicia() {
+        for (HistogramaLatencia h : this.histogramas) h.reinicia();
+    }
+
+    /** @return Tabla con el conteo, p50, p99 y máximo (en microsegundos) de cada fase. */
+    public String getResumen() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-20s %10s %10s %10s %10s%n", "fase", "n", "p50(us)", "p99(us)", "max(us)"));
+        for (int i = 0; i < this.histogramas.length; i++) {
+            HistogramaLatencia h = this.histogramas[i];
+            if (h.getConteo() == 0) continue;
+            sb.append(String.format("%-20s %10d %10.1f %10.1f %10.1f%n", NOMBRES[i], h.getConteo(),
+                    h.getPercentil(50) / 1e3, h.getPercentil(99) / 1e3, h.getMaximo() / 1e3));
+        }
+        return sb.toString();
+    }
+
+    /** Escribe el resumen en el archivo indicado. */
+    public void vuelca(String archivo) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(archivo), StandardCharsets.UTF_8))) {
+            out.print(this.getResumen());
+        }
+    }
+
+    /** Registra un gancho que vuelca el resumen en el archivo al terminar la JVM. */
+    public void vuelcaAlSalir(String archivo) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                this.vuelca(archivo);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }));
+    }
+}
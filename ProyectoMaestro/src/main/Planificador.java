@@ -0,0 +1,24 @@
+package main;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Contrato para las estrategias que deciden cuándo se ejecuta cada tick de la
+ * simulación y cuándo se dibuja un fotograma. El {@link GamePanel} delega su
+ * bucle principal en una implementación de esta interfaz, de modo que se puede
+ * cambiar la forma de marcar el ritmo sin tocar la lógica del juego.
+ */
+public interface Planificador {
+
+    /**
+     * Ejecuta el bucle del juego hasta que {@code activo} devuelva {@code false}.
+     *
+     * @param activo Condición que se consulta en cada vuelta del bucle.
+     * @param tick   Acción que avanza la simulación exactamente un paso.
+     * @param dibujo Acción que dibuja un fotograma. Recibe el factor de
+     *               interpolación (entre 0 y 1) que indica cuánto se ha avanzado
+     *               hacia el siguiente tick.
+     */
+    void ejecutar(BooleanSupplier activo, Runnable tick, DoubleConsumer dibujo);
+}
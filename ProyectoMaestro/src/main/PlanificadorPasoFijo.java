@@ -0,0 +1,175 @@
+package main;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Planificador de paso fijo. La simulación avanza siempre en incrementos de
+ * 1/ticksPorSegundo segundos, mientras que el dibujo puede ir a otra frecuencia
+ * y recibe un factor de interpolación para suavizar el movimiento.
+ *
+ * En lugar de girar sobre {@link System#nanoTime()} sin descanso, el hilo se
+ * estaciona con {@link LockSupport#parkNanos(long)} hasta poco antes del
+ * siguiente evento y sólo gira (con {@link Thread#onSpinWait()}) durante un
+ * margen corto que se ajusta según lo que se pasa de largo el sistema al
+ * despertar. Así el juego deja de ocupar un núcleo entero.
+ *
+ * Si la simulación se atrasa (una pausa del recolector, la ventana arrastrada,
+ * etc.) se ejecutan como máximo {@code maxTicksRecuperacion} ticks seguidos y
+ * el resto del atraso se descarta, para no entrar en una espiral de la que no
+ * se sale.
+ */
+public class PlanificadorPasoFijo implements Planificador {
+
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+    // Límites del margen que se reserva para girar antes de cada evento.
+    private static final long MARGEN_MINIMO = 100_000L;   // 0.1 ms
+    private static final long MARGEN_MAXIMO = 2_000_000L; // 2 ms
+
+    private final long nanosPorTick;
+    private final long nanosPorDibujo; // 0 = dibujar después de cada tanda de ticks
+    private final int maxTicksRecuperacion;
+    private boolean reporteEnConsola = false;
+
+    // Margen de giro adaptativo (promedio móvil del retraso al despertar).
+    private long margenGiro = 1_000_000L;
+
+    // Estadísticas del último segundo completo (escritas por el hilo del juego).
+    private volatile int ticksUltimoSegundo;
+    private volatile int dibujosUltimoSegundo;
+    private volatile long nanosOciososUltimoSegundo;
+    private volatile long nanosOcupadosUltimoSegundo;
+    private volatile long ticksDescartados;
+
+    /**
+     * @param ticksPorSegundo      Frecuencia fija de la simulación (ej: 60).
+     * @param dibujosPorSegundo    Frecuencia de dibujo; 0 para dibujar justo
+     *                             después de cada tanda de ticks.
+     * @param maxTicksRecuperacion Número máximo de ticks que se ejecutan seguidos
+     *                             para ponerse al día tras un atraso.
+     */
+    public PlanificadorPasoFijo(int ticksPorSegundo, int dibujosPorSegundo, int maxTicksRecuperacion) {
+        if (ticksPorSegundo <= 0 || dibujosPorSegundo < 0 || maxTicksRecuperacion <= 0) {
+            throw new IllegalArgumentException("Parámetros de planificación inválidos");
+        }
+        this.nanosPorTick = NANOS_POR_SEGUNDO / ticksPorSegundo;
+        this.nanosPorDibujo = dibujosPorSegundo == 0 ? 0 : NANOS_POR_SEGUNDO / dibujosPorSegundo;
+        this.maxTicksRecuperacion = maxTicksRecuperacion;
+    }
+
+    @Override
+    public void ejecutar(BooleanSupplier activo, Runnable tick, DoubleConsumer dibujo) {
+        long anterior = System.nanoTime();
+        long acumulado = 0;
+        long proximoDibujo = anterior;
+
+        // Contadores de la ventana de un segundo en curso.
+        long inicioVentana = anterior;
+        long ociosoVentana = 0;
+        int ticksVentana = 0;
+        int dibujosVentana = 0;
+
+        while (activo.getAsBoolean()) {
+            long ahora = System.nanoTime();
+            acumulado += ahora - anterior;
+            anterior = ahora;
+
+            // 1. Ticks de simulación pendientes (con tope de recuperación).
+            int ticks = 0;
+            while (acumulado >= this.nanosPorTick && ticks < this.maxTicksRecuperacion) {
+                tick.run();
+                acumulado -= this.nanosPorTick;
+                ticks++;
+            }
+            if (acumulado >= this.nanosPorTick) {
+                // Demasiado atraso: se descarta en lugar de intentar recuperarlo.
+                this.ticksDescartados += acumulado / this.nanosPorTick;
+                acumulado %= this.nanosPorTick;
+            }
+            ticksVentana += ticks;
+
+            // 2. Dibujo, con el factor de interpolación hacia el siguiente tick.
+            ahora = System.nanoTime();
+            boolean tocaDibujar = (this.nanosPorDibujo == 0) ? ticks > 0 : ahora >= proximoDibujo;
+            if (tocaDibujar) {
+                double alfa = (double) (acumulado + (ahora - anterior)) / this.nanosPorTick;
+                dibujo.accept(Math.min(1.0, alfa));
+                dibujosVentana++;
+                if (this.nanosPorDibujo > 0) {
+                    proximoDibujo += this.nanosPorDibujo;
+                    if (proximoDibujo < ahora) proximoDibujo = ahora + this.nanosPorDibujo;
+                }
+            }
+
+            // 3. Esperar hasta el siguiente evento (tick o dibujo).
+            ahora = System.nanoTime();
+            long siguienteTick = anterior + (this.nanosPorTick - acumulado);
+            long siguienteEvento = (this.nanosPorDibujo == 0) ? siguienteTick : Math.min(siguienteTick, proximoDibujo);
+            if (siguienteEvento > ahora) {
+                this.esperarHasta(siguienteEvento);
+                ociosoVentana += System.nanoTime() - ahora;
+            }
+
+            // 4. Cerrar la ventana de estadísticas cada segundo.
+            ahora = System.nanoTime();
+            long duracionVentana = ahora - inicioVentana;
+            if (duracionVentana >= NANOS_POR_SEGUNDO) {
+                this.ticksUltimoSegundo = ticksVentana;
+                this.dibujosUltimoSegundo = dibujosVentana;
+                this.nanosOciososUltimoSegundo = ociosoVentana;
+                this.nanosOcupadosUltimoSegundo = duracionVentana - ociosoVentana;
+                if (this.reporteEnConsola) {
+                    System.out.println(this.getResumen());
+                }
+                inicioVentana = ahora;
+                ociosoVentana = 0;
+                ticksVentana = 0;
+                dibujosVentana = 0;
+            }
+        }
+    }
+
+    /**
+     * Espera híbrida: se estaciona el hilo hasta {@code margenGiro} antes del
+     * objetivo y después gira el tiempo restante para no pasarse de largo.
+     */
+    private void esperarHasta(long objetivo) {
+        long restante = objetivo - System.nanoTime();
+        if (restante > this.margenGiro) {
+            long solicitado = restante - this.margenGiro;
+            long antes = System.nanoTime();
+            LockSupport.parkNanos(solicitado);
+            long exceso = (System.nanoTime() - antes) - solicitado;
+            // Promedio móvil del exceso; el margen es el doble para cubrir la variación.
+            long propuesto = (this.margenGiro * 7 + Math.max(0, exceso) * 2) / 8;
+            this.margenGiro = Math.max(MARGEN_MINIMO, Math.min(MARGEN_MAXIMO, propuesto));
+        }
+        while (System.nanoTime() < objetivo) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /** Activa o desactiva la impresión de las estadísticas una vez por segundo. */
+    public void setReporteEnConsola(boolean valor) { this.reporteEnConsola = valor; }
+
+    public int getTicksUltimoSegundo() { return this.ticksUltimoSegundo; }
+    public int getDibujosUltimoSegundo() { return this.dibujosUltimoSegundo; }
+    public long getNanosOciososUltimoSegundo() { return this.nanosOciososUltimoSegundo; }
+    public long getNanosOcupadosUltimoSegundo() { return this.nanosOcupadosUltimoSegundo; }
+    public long getTicksDescartados() { return this.ticksDescartados; }
+
+    /** @return Fracción (0 a 1) del último segundo en que el hilo estuvo trabajando. */
+    public double getFraccionOcupado() {
+        long total = this.nanosOciososUltimoSegundo + this.nanosOcupadosUltimoSegundo;
+        return total == 0 ? 0 : (double) this.nanosOcupadosUltimoSegundo / total;
+    }
+
+    /** @return Línea de texto con las estadísticas del último segundo. */
+    public String getResumen() {
+        return String.format("ticks/s=%d dibujos/s=%d ocupado=%.1f ms ocioso=%.1f ms descartados=%d",
+                this.ticksUltimoSegundo, this.dibujosUltimoSegundo,
+                this.nanosOcupadosUltimoSegundo / 1e6, this.nanosOciososUltimoSegundo / 1e6,
+                this.ticksDescartados);
+    }
+}
@@ -0,0 +1,574 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ * Planificador de rutas jerárquico (HPA*) para unidades que ocupan un cuadrado
+ * de varias celdas, como el jefe.
+ *
+ * El mapa se divide en clusters cuadrados. Al crear el planificador se buscan
+ * las entradas entre clusters vecinos (tramos del borde por donde la unidad
+ * cabe) y se conectan entre sí las entradas de cada cluster con la distancia
+ * real dentro de él. Planear una ruta es entonces un A* sobre ese grafo
+ * pequeño, más dos búsquedas locales para enlazar el origen y el destino; el
+ * costo casi no depende del tamaño del mapa.
+ *
+ * Que la unidad "cabe" en una celda se decide con el mapa de holgura de
+ * {@link tile.ManejadorTiles}: la celda es la esquina superior izquierda de la
+ * unidad y necesita una holgura de al menos su tamaño.
+ *
+ * La ruta se guarda celda por celda. Si el destino se mueve dentro del mismo
+ * cluster sólo se repara el último tramo ({@link #repara(int, int, int)});
+ * si cambia de cluster hay que volver a planear. Después de construido, el
+ * planificador no crea objetos salvo cuando un arreglo interno tiene que crecer.
+ *
+ * El planificador lee el mapa de holgura que recibe, sin copiarlo. Si el mapa
+ * cambia, quien lo modifica debe llamar a {@link #actualizaRegion}: se vuelven
+ * a calcular sólo los clusters cercanos al cambio.
+ */
+public class PlanificadorRutas {
+
+    private final byte[] holgura;
+    private final int columnas;
+    private final int renglones;
+    private final int tamanioCluster;
+    private final int tamanioUnidad;
+    private final int clustersX;
+    private final int clustersY;
+
+    // Grafo abstracto: un nodo por celda de entrada, aristas en formato compacto.
+    private int numNodos;
+    private int[] celdaDeNodo;
+    private final int[] nodoDeCelda;
+    private int[] inicioAristas;
+    private int[] destinoArista;
+    private int[] costoArista;
+    // Nodos de cada cluster, agrupados.
+    private int[] inicioNodosCluster;
+    private int[] nodosCluster;
+    // Aristas dentro de cada cluster como ternas (celda origen, celda destino,
+    // costo); se guardan por celda para conservarlas aunque cambie la numeración
+    // de los nodos. null = hay que calcularlas.
+    private final int[][] aristasCluster;
+    // Sube cada vez que se reconstruye el grafo.
+    private int generacion;
+
+    // Búsqueda en anchura dentro de un cluster (marcas por búsqueda, sin limpiar).
+    private final int[] distanciaLocal;
+    private final int[] padreLocal;
+    private final int[] marcaLocal;
+    private final int[] colaLocal;
+    private int busquedaLocal = 0;
+
+    // A* sobre el grafo abstracto. El nodo numNodos representa la meta.
+    private int[] costoNodo;
+    private int[] padreNodo;
+    private int[] marcaNodo;
+    private boolean[] cerradoNodo;
+    private int[] costoAMeta;
+    private int busquedaAbstracta = 0;
+    private int[] monticuloNodo = new int[64];
+    private int[] monticuloPrioridad = new int[64];
+    private int tamanioMonticulo;
+    private int[] cadena = new int[64];
+
+    // Ruta resultante: celdas a recorrer, sin incluir la de partida.
+    private int[] ruta = new int[64];
+    private int longitudRuta;
+    // Índice de la ruta donde empieza el tramo dentro del cluster de la meta (-1: desde el origen).
+    private int indiceEntradaMeta;
+    private int celdaMeta = -1;
+    private int clusterMeta = -1;
+
+    /**
+     * Construye el grafo abstracto del mapa.
+     * @param holgura        Mapa de holgura, renglón por renglón.
+     * @param columnas       Columnas del mapa.
+     * @param renglones      Renglones del mapa.
+     * @param tamanioCluster Lado de cada cluster en celdas.
+     * @param tamanioUnidad  Lado de la unidad en celdas.
+     */
+    public PlanificadorRutas(byte[] holgura, int columnas, int renglones, int tamanioCluster, int tamanioUnidad) {
+        this.holgura = holgura;
+        this.columnas = columnas;
+        this.renglones = renglones;
+        this.tamanioCluster = tamanioCluster;
+        this.tamanioUnidad = tamanioUnidad;
+        this.clustersX = (columnas + tamanioCluster - 1) / tamanioCluster;
+        this.clustersY = (renglones + tamanioCluster - 1) / tamanioCluster;
+
+        int celdas = columnas * renglones;
+        this.nodoDeCelda = new int[celdas];
+        Arrays.fill(this.nodoDeCelda, -1);
+        this.distanciaLocal = new int[celdas];
+        this.padreLocal = new int[celdas];
+        this.marcaLocal = new int[celdas];
+        this.colaLocal = new int[celdas];
+        this.aristasCluster = new int[this.clustersX * this.clustersY][];
+
+        this.construyeGrafo();
+    }
+
+    // ===================== CONSTRUCCIÓN DEL GRAFO =====================
+
+    // Aristas mientras se construye el grafo (después se compactan).
+    private int numAristasTemp;
+    private int[] origenTemp, destinoTemp, costoTemp;
+    // Ternas de un cluster mientras se calculan.
+    private int[] ternasTemp;
+
+    /**
+     * Vuelve a leer la holgura de una región del mapa que cambió (ambos
+     * extremos incluidos) y reconstruye el grafo. Las aristas internas se
+     * recalculan sólo en los clusters que pueden verse afectados: los que
+     * contienen celdas donde la unidad pasó a caber o a no caber, y sus
+     * vecinos, con los que comparten entradas. La ruta actual se descarta.
+     */
+    public void actualizaRegion(int col0, int ren0, int col1, int ren1) {
+        // Cambia si la unidad cabe en las celdas cuyo cuadrado toca la región;
+        // una celda más a cada lado alcanza a los clusters vecinos.
+        int colMin = Math.max(0, col0 - this.tamanioUnidad), renMin = Math.max(0, ren0 - this.tamanioUnidad);
+        int colMax = Math.min(this.columnas - 1, col1 + 1), renMax = Math.min(this.renglones - 1, ren1 + 1);
+        for (int cy = renMin / this.tamanioCluster; cy <= renMax / this.tamanioCluster; cy++) {
+            for (int cx = colMin / this.tamanioCluster; cx <= colMax / this.tamanioCluster; cx++) {
+                this.aristasCluster[cy * this.clustersX + cx] = null;
+            }
+        }
+        this.construyeGrafo();
+        this.longitudRuta = 0;
+        this.indiceEntradaMeta = -1;
+        this.celdaMeta = -1;
+        this.clusterMeta = -1;
+        this.generacion++;
+    }
+
+    private void construyeGrafo() {
+        // Se borran los nodos del grafo anterior, si lo había.
+        for (int n = 0; n < this.numNodos; n++) {
+            this.nodoDeCelda[this.celdaDeNodo[n]] = -1;
+        }
+        this.numNodos = 0;
+        this.numAristasTemp = 0;
+        if (this.celdaDeNodo == null) this.celdaDeNodo = new int[64];
+        this.origenTemp = new int[256];
+        this.destinoTemp = new int[256];
+        this.costoTemp = new int[256];
+
+        // 1. Entradas entre clusters vecinos: en cada tramo libre del borde se
+        //    pone un par de nodos, uno a cada lado, unidos por una arista.
+        for (int cy = 0; cy < this.clustersY; cy++) {
+            int ren0 = cy * this.tamanioCluster, ren1 = Math.min(ren0 + this.tamanioCluster, this.renglones);
+            for (int cx = 1; cx < this.clustersX; cx++) {
+                int col = cx * this.tamanioCluster;
+                this.buscaEntradas(col - 1, ren0, col, ren0, 0, 1, ren1 - ren0);
+            }
+        }
+        for (int cx = 0; cx < this.clustersX; cx++) {
+            int col0 = cx * this.tamanioCluster, col1 = Math.min(col0 + this.tamanioCluster, this.columnas);
+            for (int cy = 1; cy < this.clustersY; cy++) {
+                int ren = cy * this.tamanioCluster;
+                this.buscaEntradas(col0, ren - 1, col0, ren, 1, 0, col1 - col0);
+            }
+        }
+
+        // 2. Nodos agrupados por cluster (ordenación por conteo).
+        int numClusters = this.clustersX * this.clustersY;
+        this.inicioNodosCluster = new int[numClusters + 1];
+        for (int n = 0; n < this.numNodos; n++) {
+            this.inicioNodosCluster[this.clusterDe(this.celdaDeNodo[n]) + 1]++;
+        }
+        for (int c = 0; c < numClusters; c++) {
+            this.inicioNodosCluster[c + 1] += this.inicioNodosCluster[c];
+        }
+        this.nodosCluster = new int[this.numNodos];
+        int[] siguiente = Arrays.copyOf(this.inicioNodosCluster, numClusters);
+        for (int n = 0; n < this.numNodos; n++) {
+            this.nodosCluster[siguiente[this.clusterDe(this.celdaDeNodo[n])]++] = n;
+        }
+
+        // 3. Aristas dentro de cada cluster, con la distancia real entre
+        //    entradas. Las de los clusters que no cambiaron ya están calculadas.
+        for (int c = 0; c < numClusters; c++) {
+            if (this.aristasCluster[c] == null) this.aristasCluster[c] = this.calculaAristasCluster(c);
+            int[] ternas = this.aristasCluster[c];
+            for (int k = 0; k < ternas.length; k += 3) {
+                this.agregaArista(this.nodoDeCelda[ternas[k]], this.nodoDeCelda[ternas[k + 1]], ternas[k + 2]);
+            }
+        }
+
+        // 4. Formato compacto: las aristas de cada nodo quedan contiguas.
+        this.inicioAristas = new int[this.numNodos + 1];
+        for (int a = 0; a < this.numAristasTemp; a++) {
+            this.inicioAristas[this.origenTemp[a] + 1]++;
+        }
+        for (int n = 0; n < this.numNodos; n++) {
+            this.inicioAristas[n + 1] += this.inicioAristas[n];
+        }
+        this.destinoArista = new int[this.numAristasTemp];
+        this.costoArista = new int[this.numAristasTemp];
+        siguiente = Arrays.copyOf(this.inicioAristas, this.numNodos);
+        for (int a = 0; a < this.numAristasTemp; a++) {
+            int pos = siguiente[this.origenTemp[a]]++;
+            this.destinoArista[pos] = this.destinoTemp[a];
+            this.costoArista[pos] = this.costoTemp[a];
+        }
+        this.origenTemp = this.destinoTemp = this.costoTemp = null;
+
+        // Las marcas viejas son de búsquedas anteriores, así que los arreglos
+        // del A* sirven mientras alcancen.
+        int nodos = this.numNodos + 1;
+        if (this.costoNodo == null || this.costoNodo.length < nodos) {
+            this.costoNodo = new int[nodos];
+            this.padreNodo = new int[nodos];
+            this.marcaNodo = new int[nodos];
+            this.cerradoNodo = new boolean[nodos];
+            this.costoAMeta = new int[nodos];
+        }
+    }
+
+    // Distancia real entre cada par de entradas del cluster, como ternas.
+    private int[] calculaAristasCluster(int c) {
+        if (this.ternasTemp == null) this.ternasTemp = new int[96];
+        int numTernas = 0;
+        for (int i = this.inicioNodosCluster[c]; i < this.inicioNodosCluster[c + 1]; i++) {
+            int n = this.nodosCluster[i];
+            this.buscaEnCluster(c, this.celdaDeNodo[n], -1);
+            for (int j = this.inicioNodosCluster[c]; j < this.inicioNodosCluster[c + 1]; j++) {
+                int m = this.nodosCluster[j];
+                int distancia = this.distanciaLocalA(this.celdaDeNodo[m]);
+                if (m == n || distancia <= 0) continue;
+                if (numTernas + 3 > this.ternasTemp.length) {
+                    this.ternasTemp = Arrays.copyOf(this.ternasTemp, this.ternasTemp.length * 2);
+                }
+                this.ternasTemp[numTernas++] = this.celdaDeNodo[n];
+                this.ternasTemp[numTernas++] = this.celdaDeNodo[m];
+                this.ternasTemp[numTernas++] = distancia;
+            }
+        }
+        return Arrays.copyOf(this.ternasTemp, numTernas);
+    }
+
+    // Recorre el borde entre dos clusters: (colA, renA) del primero y
+    // (colB, renB) del segundo avanzan juntos (dCol, dRen) a lo largo del borde.
+    private void buscaEntradas(int colA, int renA, int colB, int renB, int dCol, int dRen, int largo) {
+        int inicio = -1;
+        for (int k = 0; k <= largo; k++) {
+            boolean libre = k < largo
+                    && this.cabe(colA + k * dCol, renA + k * dRen)
+                    && this.cabe(colB + k * dCol, renB + k * dRen);
+            if (libre && inicio < 0) inicio = k;
+            if (!libre && inicio >= 0) {
+                int medio = (inicio + k - 1) / 2;
+                int a = this.nodoEn(colA + medio * dCol, renA + medio * dRen);
+                int b = this.nodoEn(colB + medio * dCol, renB + medio * dRen);
+                this.agregaArista(a, b, 1);
+                this.agregaArista(b, a, 1);
+                inicio = -1;
+            }
+        }
+    }
+
+    private int nodoEn(int col, int ren) {
+        int celda = ren * this.columnas + col;
+        if (this.nodoDeCelda[celda] >= 0) return this.nodoDeCelda[celda];
+        if (this.numNodos == this.celdaDeNodo.length) {
+            this.celdaDeNodo = Arrays.copyOf(this.celdaDeNodo, this.numNodos * 2);
+        }
+        this.celdaDeNodo[this.numNodos] = celda;
+        this.nodoDeCelda[celda] = this.numNodos;
+        return this.numNodos++;
+    }
+
+    private void agregaArista(int origen, int destino, int costo) {
+        if (this.numAristasTemp == this.origenTemp.length) {
+            int capacidad = this.numAristasTemp * 2;
+            this.origenTemp = Arrays.copyOf(this.origenTemp, capacidad);
+            this.destinoTemp = Arrays.copyOf(this.destinoTemp, capacidad);
+            this.costoTemp = Arrays.copyOf(this.costoTemp, capacidad);
+        }
+        this.origenTemp[this.numAristasTemp] = origen;
+        this.destinoTemp[this.numAristasTemp] = destino;
+        this.costoTemp[this.numAristasTemp] = costo;
+        this.numAristasTemp++;
+    }
+
+    // ===================== BÚSQUEDA LOCAL =====================
+
+    /**
+     * Búsqueda en anchura desde una celda sin salir de un cluster. Se detiene
+     * al llegar a {@code destino} (o recorre todo el cluster si es -1).
+     * @return La distancia al destino, o -1 si no se llegó.
+     */
+    private int buscaEnCluster(int cluster, int origen, int destino) {
+        int col0 = (cluster % this.clustersX) * this.tamanioCluster;
+        int ren0 = (cluster / this.clustersX) * this.tamanioCluster;
+        int col1 = Math.min(col0 + this.tamanioCluster, this.columnas);
+        int ren1 = Math.min(ren0 + this.tamanioCluster, this.renglones);
+
+        int marca = ++this.busquedaLocal;
+        int inicio = 0, fin = 0;
+        this.marcaLocal[origen] = marca;
+        this.distanciaLocal[origen] = 0;
+        this.padreLocal[origen] = -1;
+        this.colaLocal[fin++] = origen;
+        while (inicio < fin) {
+            int celda = this.colaLocal[inicio++];
+            if (celda == destino) return this.distanciaLocal[celda];
+            int col = celda % this.columnas, ren = celda / this.columnas;
+            int pasos = this.distanciaLocal[celda] + 1;
+            if (ren > ren0) fin = this.visitaLocal(celda, celda - this.columnas, pasos, marca, fin);
+            if (ren + 1 < ren1) fin = this.visitaLocal(celda, celda + this.columnas, pasos, marca, fin);
+            if (col > col0) fin = this.visitaLocal(celda, celda - 1, pasos, marca, fin);
+            if (col + 1 < col1) fin = this.visitaLocal(celda, celda + 1, pasos, marca, fin);
+        }
+        return -1;
+    }
+
+    private int visitaLocal(int padre, int celda, int pasos, int marca, int fin) {
+        if (this.marcaLocal[celda] == marca || this.holgura[celda] < this.tamanioUnidad) return fin;
+        this.marcaLocal[celda] = marca;
+        this.distanciaLocal[celda] = pasos;
+        this.padreLocal[celda] = padre;
+        this.colaLocal[fin] = celda;
+        return fin + 1;
+    }
+
+    // Distancia de la última búsqueda local a la celda (-1 si no se alcanzó).
+    private int distanciaLocalA(int celda) {
+        return this.marcaLocal[celda] == this.busquedaLocal ? this.distanciaLocal[celda] : -1;
+    }
+
+    // Añade a la ruta el camino de la última búsqueda local hasta 'destino' (sin la celda de partida).
+    private void agregaTramo(int destino) {
+        int pasos = this.distanciaLocal[destino];
+        if (this.longitudRuta + pasos > this.ruta.length) {
+            this.ruta = Arrays.copyOf(this.ruta, Math.max(this.ruta.length * 2, this.longitudRuta + pasos));
+        }
+        int celda = destino;
+        for (int i = this.longitudRuta + pasos - 1; i >= this.longitudRuta; i--) {
+            this.ruta[i] = celda;
+            celda = this.padreLocal[celda];
+        }
+        this.longitudRuta += pasos;
+    }
+
+    private void agregaCelda(int celda) {
+        if (this.longitudRuta == this.ruta.length) {
+            this.ruta = Arrays.copyOf(this.ruta, this.longitudRuta * 2);
+        }
+        this.ruta[this.longitudRuta++] = celda;
+    }
+
+    // ===================== PLANEACIÓN =====================
+
+    /**
+     * Planea una ruta completa. Las celdas son la esquina superior izquierda
+     * de la unidad.
+     * @return {@code true} si hay ruta; se lee con {@link #getPaso(int)}.
+     */
+    public boolean planifica(int colOrigen, int renOrigen, int colDestino, int renDestino) {
+        this.longitudRuta = 0;
+        this.indiceEntradaMeta = -1;
+        this.celdaMeta = -1;
+        this.clusterMeta = -1;
+        if (!this.cabe(colOrigen, renOrigen) || !this.cabe(colDestino, renDestino)) return false;
+
+        int origen = renOrigen * this.columnas + colOrigen;
+        int destino = renDestino * this.columnas + colDestino;
+        int clusterOrigen = this.clusterDe(origen);
+        int clusterDestino = this.clusterDe(destino);
+
+        // En el mismo cluster se intenta primero el camino directo.
+        if (clusterOrigen == clusterDestino && this.buscaEnCluster(clusterOrigen, origen, destino) >= 0) {
+            this.agregaTramo(destino);
+            this.fijaMeta(destino, clusterDestino);
+            return true;
+        }
+
+        int meta = this.numNodos;
+        int busqueda = ++this.busquedaAbstracta;
+        this.tamanioMonticulo = 0;
+
+        // Costo de cada entrada del cluster destino hasta la meta.
+        this.buscaEnCluster(clusterDestino, destino, -1);
+        for (int i = this.inicioNodosCluster[clusterDestino]; i < this.inicioNodosCluster[clusterDestino + 1]; i++) {
+            int n = this.nodosCluster[i];
+            this.costoAMeta[n] = this.distanciaLocalA(this.celdaDeNodo[n]);
+            this.marcaNodo[n] = busqueda;
+            this.costoNodo[n] = Integer.MAX_VALUE;
+            this.cerradoNodo[n] = false;
+        }
+        this.marcaNodo[meta] = busqueda;
+        this.costoNodo[meta] = Integer.MAX_VALUE;
+        this.cerradoNodo[meta] = false;
+
+        // Las entradas del cluster origen arrancan con su distancia al origen.
+        this.buscaEnCluster(clusterOrigen, origen, -1);
+        for (int i = this.inicioNodosCluster[clusterOrigen]; i < this.inicioNodosCluster[clusterOrigen + 1]; i++) {
+            int n = this.nodosCluster[i];
+            int distancia = this.distanciaLocalA(this.celdaDeNodo[n]);
+            if (distancia >= 0) this.relaja(n, -1, distancia, busqueda, destino);
+        }
+
+        while (this.tamanioMonticulo > 0) {
+            int n = this.extraeMinimo();
+            if (this.cerradoNodo[n]) continue;
+            this.cerradoNodo[n] = true;
+            if (n == meta) break;
+            int costo = this.costoNodo[n];
+            if (this.costoEnMeta(n, clusterDestino) >= 0) {
+                this.relaja(meta, n, costo + this.costoAMeta[n], busqueda, destino);
+            }
+            for (int a = this.inicioAristas[n]; a < this.inicioAristas[n + 1]; a++) {
+                this.relaja(this.destinoArista[a], n, costo + this.costoArista[a], busqueda, destino);
+            }
+        }
+        if (!this.cerradoNodo[meta] || this.marcaNodo[meta] != busqueda) return false;
+
+        // Cadena de entradas desde el origen hasta la meta.
+        int largo = 0;
+        for (int n = this.padreNodo[meta]; n != -1; n = this.padreNodo[n]) {
+            if (largo == this.cadena.length) this.cadena = Arrays.copyOf(this.cadena, largo * 2);
+            this.cadena[largo++] = n;
+        }
+
+        // Refinamiento: cada par de entradas es una arista entre clusters
+        // (celdas vecinas) o un tramo dentro de un cluster.
+        int anterior = origen;
+        for (int i = largo - 1; i >= 0; i--) {
+            int celda = this.celdaDeNodo[this.cadena[i]];
+            int cluster = this.clusterDe(celda);
+            if (cluster == this.clusterDe(anterior)) {
+                this.buscaEnCluster(cluster, anterior, celda);
+                this.agregaTramo(celda);
+            } else {
+                this.agregaCelda(celda);
+            }
+            anterior = celda;
+        }
+        this.indiceEntradaMeta = this.longitudRuta - 1;
+        this.buscaEnCluster(clusterDestino, anterior, destino);
+        this.agregaTramo(destino);
+        this.fijaMeta(destino, clusterDestino);
+        return true;
+    }
+
+    /**
+     * Ajusta la ruta a un destino nuevo dentro del mismo cluster que el
+     * anterior: conserva la ruta hasta la celda a la que se dirige la unidad
+     * (o hasta la entrada al cluster de la meta) y vuelve a buscar sólo el
+     * último tramo.
+     * @param paso Índice de la celda de la ruta a la que se dirige la unidad.
+     * @return {@code false} si no se pudo reparar y hay que volver a planear.
+     */
+    public boolean repara(int paso, int colDestino, int renDestino) {
+        if (this.clusterMeta < 0 || this.longitudRuta == 0 || !this.cabe(colDestino, renDestino)) return false;
+        int destino = renDestino * this.columnas + colDestino;
+        if (this.clusterDe(destino) != this.clusterMeta) return false;
+        if (destino == this.celdaMeta) return true;
+
+        int desde = Math.min(Math.max(paso, this.indiceEntradaMeta), this.longitudRuta - 1);
+        if (desde < 0) return false;
+        if (this.buscaEnCluster(this.clusterMeta, this.ruta[desde], destino) < 0) return false;
+        this.longitudRuta = desde + 1;
+        this.agregaTramo(destino);
+        this.celdaMeta = destino;
+        return true;
+    }
+
+    private void fijaMeta(int destino, int cluster) {
+        this.celdaMeta = destino;
+        this.clusterMeta = cluster;
+    }
+
+    private int costoEnMeta(int n, int clusterDestino) {
+        if (n == this.numNodos || this.clusterDe(this.celdaDeNodo[n]) != clusterDestino) return -1;
+        return this.costoAMeta[n];
+    }
+
+    // Mejora el costo de un nodo si el nuevo camino es más corto.
+    private void relaja(int n, int padre, int costo, int busqueda, int destino) {
+        if (this.marcaNodo[n] != busqueda) {
+            this.marcaNodo[n] = busqueda;
+            this.costoNodo[n] = Integer.MAX_VALUE;
+            this.cerradoNodo[n] = false;
+        }
+        if (this.cerradoNodo[n] || costo >= this.costoNodo[n]) return;
+        this.costoNodo[n] = costo;
+        this.padreNodo[n] = padre;
+        int heuristica = n == this.numNodos ? 0 : this.manhattan(this.celdaDeNodo[n], destino);
+        this.inserta(n, costo + heuristica);
+    }
+
+    private int manhattan(int a, int b) {
+        return Math.abs(a % this.columnas - b % this.columnas) + Math.abs(a / this.columnas - b / this.columnas);
+    }
+
+    // ===================== MONTÍCULO =====================
+
+    private void inserta(int nodo, int prioridad) {
+        if (this.tamanioMonticulo == this.monticuloNodo.length) {
+            this.monticuloNodo = Arrays.copyOf(this.monticuloNodo, this.tamanioMonticulo * 2);
+            this.monticuloPrioridad = Arrays.copyOf(this.monticuloPrioridad, this.tamanioMonticulo * 2);
+        }
+        int i = this.tamanioMonticulo++;
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (this.monticuloPrioridad[padre] <= prioridad) break;
+            this.monticuloNodo[i] = this.monticuloNodo[padre];
+            this.monticuloPrioridad[i] = this.monticuloPrioridad[padre];
+            i = padre;
+        }
+        this.monticuloNodo[i] = nodo;
+        this.monticuloPrioridad[i] = prioridad;
+    }
+
+    private int extraeMinimo() {
+        int minimo = this.monticuloNodo[0];
+        int ultimo = --this.tamanioMonticulo;
+        int nodo = this.monticuloNodo[ultimo];
+        int prioridad = this.monticuloPrioridad[ultimo];
+        int i = 0;
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= ultimo) break;
+            if (hijo + 1 < ultimo && this.monticuloPrioridad[hijo + 1] < this.monticuloPrioridad[hijo]) hijo++;
+            if (this.monticuloPrioridad[hijo] >= prioridad) break;
+            this.monticuloNodo[i] = this.monticuloNodo[hijo];
+            this.monticuloPrioridad[i] = this.monticuloPrioridad[hijo];
+            i = hijo;
+        }
+        this.monticuloNodo[i] = nodo;
+        this.monticuloPrioridad[i] = prioridad;
+        return minimo;
+    }
+
+    // ===================== CONSULTAS =====================
+
+    /** @return {@code true} si la unidad cabe con su esquina superior izquierda en la celda. */
+    public boolean cabe(int col, int ren) {
+        if (col < 0 || ren < 0 || col >= this.columnas || ren >= this.renglones) return false;
+        return this.holgura[ren * this.columnas + col] >= this.tamanioUnidad;
+    }
+
+    /** @return El cluster al que pertenece la celda (índice renglón * columnas + columna). */
+    public int clusterDe(int celda) {
+        int col = celda % this.columnas, ren = celda / this.columnas;
+        return (ren / this.tamanioCluster) * this.clustersX + col / this.tamanioCluster;
+    }
+
+    /** @return El número de celdas de la ruta planeada (0 si ya se está en la meta). */
+    public int getLongitudRuta() { return this.longitudRuta; }
+
+    /** @return La celda {@code i} de la ruta, como renglón * columnas + columna. */
+    public int getPaso(int i) { return this.ruta[i]; }
+
+    /** @return El cluster de la meta de la ruta actual, o -1 si no hay ruta. */
+    public int getClusterMeta() { return this.clusterMeta; }
+
+    /** @return Cuántas veces se ha reconstruido el grafo; si cambia, la ruta guardada ya no vale. */
+    public int getGeneracion() { return this.generacion; }
+
+    public int getNumNodos() { return this.numNodos; }
+    public int getColumnas() { return this.columnas; }
+}
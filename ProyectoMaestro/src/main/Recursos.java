@@ -0,0 +1,135 @@
+package main;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Administrador de las imágenes del juego. Cada recurso se decodifica una sola
+ * vez, se convierte al formato de la pantalla ({@link Imagenes#compatible}) y
+ * se guarda por su ruta; después todos los que lo pidan reciben la misma
+ * instancia. Las copias escaladas también se guardan, por ruta y tamaño.
+ *
+ * Así crear o reaparecer una entidad nunca vuelve a pasar por {@link ImageIO}:
+ * sólo la primera petición de cada ruta lee el archivo.
+ *
+ * Las copias escaladas son una por tamaño, es decir, por factor de escala. Si
+ * cambia la pantalla de destino ({@link #setConfiguracion}) todas se vuelven a
+ * convertir, sin leer otra vez los archivos, y quien las tenga debe pedirlas
+ * de nuevo ({@code GamePanel.recargaImagenes()}).
+ *
+ * Las imágenes compartidas no deben modificarse.
+ */
+public class Recursos {
+
+    // Imágenes por ruta, y por ruta y tamaño ("ruta@anchoxalto") las escaladas.
+    private final Map<String, BufferedImage> imagenes = new HashMap<>();
+    private int lecturas;
+
+    /**
+     * @param ruta Ruta del recurso dentro del proyecto (ej: "/tiles/agua.png").
+     * @return La imagen compartida, o null si no se pudo leer.
+     */
+    public synchronized BufferedImage imagen(String ruta) {
+        BufferedImage imagen = this.imagenes.get(ruta);
+        if (imagen == null) {
+            imagen = this.lee(ruta);
+            if (imagen != null) this.imagenes.put(ruta, imagen);
+        }
+        return imagen;
+    }
+
+    /**
+     * Igual que {@link #imagen(String)}, pero escalada al tamaño con el que se
+     * va a dibujar (ver {@link Imagenes#escalada}).
+     * @return La imagen escalada compartida, o null si no se pudo leer.
+     */
+    public synchronized BufferedImage imagen(String ruta, int ancho, int alto) {
+        String clave = ruta + '@' + ancho + 'x' + alto;
+        BufferedImage escalada = this.imagenes.get(clave);
+        if (escalada == null) {
+            BufferedImage original = this.imagen(ruta);
+            if (original == null) return null;
+            escalada = Imagenes.escalada(original, ancho, alto);
+            this.imagenes.put(clave, escalada);
+        }
+        return escalada;
+    }
+
+    /**
+     * Indica la configuración de la pantalla donde se van a dibujar las
+     * imágenes (la del panel, que puede no ser la pantalla por omisión). Si su
+     * formato o su escala no son los de las imágenes guardadas, se convierten
+     * todas: las originales a partir de las anteriores y las escaladas a partir
+     * de las originales nuevas.
+     * @param gc La configuración del panel; null sin pantalla.
+     * @return {@code true} si las imágenes cambiaron y hay que volver a pedirlas.
+     */
+    public synchronized boolean setConfiguracion(GraphicsConfiguration gc) {
+        if (Imagenes.mismoFormato(gc, Imagenes.getDestino())) return false;
+        Imagenes.setDestino(gc);
+        // Primero las originales (las claves sin tamaño), luego las escaladas.
+        Map<String, BufferedImage> nuevas = new HashMap<>();
+        for (Map.Entry<String, BufferedImage> e : this.imagenes.entrySet()) {
+            if (e.getKey().indexOf('@') < 0) nuevas.put(e.getKey(), Imagenes.compatible(e.getValue()));
+        }
+        for (String clave : this.imagenes.keySet()) {
+            int arroba = clave.lastIndexOf('@');
+            if (arroba < 0) continue;
+            BufferedImage original = nuevas.get(clave.substring(0, arroba));
+            if (original == null) continue; // Se descartó la original; se escalará al pedirla.
+            int x = clave.indexOf('x', arroba);
+            int ancho = Integer.parseInt(clave.substring(arroba + 1, x));
+            int alto = Integer.parseInt(clave.substring(x + 1));
+            nuevas.put(clave, Imagenes.escalada(original, ancho, alto));
+        }
+        this.imagenes.clear();
+        this.imagenes.putAll(nuevas);
+        return true;
+    }
+
+    /**
+     * Olvida las imágenes cuya ruta empieza con el prefijo (p. ej. la carpeta
+     * de un nivel que ya no se usa), junto con sus copias escaladas. Quien
+     * todavía tenga una referencia puede seguir usándola; la siguiente
+     * petición vuelve a leer el archivo.
+     * @return El número de imágenes descartadas.
+     */
+    public synchronized int descarta(String prefijo) {
+        int descartadas = 0;
+        for (Iterator<String> it = this.imagenes.keySet().iterator(); it.hasNext();) {
+            if (it.next().startsWith(prefijo)) {
+                it.remove();
+                descartadas++;
+            }
+        }
+        return descartadas;
+    }
+
+    /** @return Cuántas veces se ha leído un archivo (para comprobar que no se repiten lecturas). */
+    public synchronized int getLecturas() { return this.lecturas; }
+
+    /** @return Cuántas imágenes (originales y escaladas) hay guardadas. */
+    public synchronized int getNumImagenes() { return this.imagenes.size(); }
+
+    private BufferedImage lee(String ruta) {
+        this.lecturas++;
+        try (InputStream in = Recursos.class.getResourceAsStream(ruta)) {
+            if (in == null) throw new IOException("No existe el recurso " + ruta);
+            BufferedImage leida = ImageIO.read(in);
+            if (leida == null) throw new IOException("Formato de imagen no reconocido: " + ruta);
+            return Imagenes.compatible(leida);
+        } catch (IOException e) {
+            // Si ocurre un error al cargar la imagen (ej: archivo no encontrado), se imprime el error.
+            System.out.println("ERROR: No se pudo cargar " + ruta);
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
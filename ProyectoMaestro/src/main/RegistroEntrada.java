@@ -0,0 +1,128 @@
+package main;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Grabación de la entrada de una partida: la semilla del generador aleatorio,
+ * la máscara de teclas de cada tick y la carga que midió el
+ * {@link DirectorAparicion} en ese tick (lo único de la simulación que depende
+ * del reloj). Con todo eso la simulación se puede repetir exactamente.
+ *
+ * Formato binario (big-endian):
+ * <pre>
+ *   int   MAGIA ("SARG")
+ *   short VERSION
+ *   long  semilla
+ *   long  número total de ticks
+ *   int   número de tramos
+ *   por cada tramo: byte máscara | carga &lt;&lt; 5 + entero variable (7 bits por byte) con la duración
+ * </pre>
+ * Las teclas y la carga cambian pocas veces por segundo, así que guardar
+ * tramos de ticks iguales ocupa mucho menos que un byte por tick. Las
+ * grabaciones de la versión 1 no guardaban la carga; se leen con carga 0.
+ */
+public class RegistroEntrada {
+
+    private static final int MAGIA = 0x53415247; // "SARG"
+    private static final short VERSION = 2;
+    private static final short VERSION_SIN_CARGA = 1;
+    // Bits de la máscara de teclas dentro del byte de cada tramo; encima va la carga.
+    private static final int BITS_MASCARA = 5;
+    private static final int MASCARA_TECLAS = (1 << BITS_MASCARA) - 1;
+
+    private final long semilla;
+    private byte[] mascaras = new byte[256];
+    private int[] duraciones = new int[256];
+    private int numTramos = 0;
+    private long totalTicks = 0;
+
+    public RegistroEntrada(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * Añade un tick al final de la grabación.
+     * @param mascara Teclas pulsadas (constantes de {@link FuenteEntrada}).
+     * @param carga   Carga del director en el tick ({@code DirectorAparicion.CARGA_*}).
+     */
+    public void agregaTick(int mascara, int carga) {
+        this.agregaTramo((mascara & MASCARA_TECLAS) | (carga << BITS_MASCARA), 1);
+    }
+
+    private void agregaTramo(int mascara, int duracion) {
+        byte m = (byte) mascara;
+        if (this.numTramos > 0 && this.mascaras[this.numTramos - 1] == m) {
+            this.duraciones[this.numTramos - 1] += duracion;
+        } else {
+            if (this.numTramos == this.mascaras.length) {
+                this.mascaras = Arrays.copyOf(this.mascaras, this.numTramos * 2);
+                this.duraciones = Arrays.copyOf(this.duraciones, this.numTramos * 2);
+            }
+            this.mascaras[this.numTramos] = m;
+            this.duraciones[this.numTramos] = duracion;
+            this.numTramos++;
+        }
+        this.totalTicks += duracion;
+    }
+
+    public long getSemilla() { return this.semilla; }
+    public long getTotalTicks() { return this.totalTicks; }
+    public int getNumTramos() { return this.numTramos; }
+    public int getMascaraTramo(int i) { return this.mascaras[i] & MASCARA_TECLAS; }
+    public int getCargaTramo(int i) { return (this.mascaras[i] & 0xFF) >>> BITS_MASCARA; }
+    public int getDuracionTramo(int i) { return this.duraciones[i]; }
+
+    /** Escribe la grabación en el flujo indicado (no lo cierra). */
+    public void escribe(OutputStream salida) throws IOException {
+        DataOutputStream out = new DataOutputStream(salida);
+        out.writeInt(MAGIA);
+        out.writeShort(VERSION);
+        out.writeLong(this.semilla);
+        out.writeLong(this.totalTicks);
+        out.writeInt(this.numTramos);
+        for (int i = 0; i < this.numTramos; i++) {
+            out.writeByte(this.mascaras[i]);
+            int duracion = this.duraciones[i];
+            while ((duracion & ~0x7F) != 0) {
+                out.writeByte((duracion & 0x7F) | 0x80);
+                duracion >>>= 7;
+            }
+            out.writeByte(duracion);
+        }
+        out.flush();
+    }
+
+    /**
+     * Lee una grabación escrita con {@link #escribe(OutputStream)}.
+     * @throws IOException Si el flujo no tiene el formato esperado.
+     */
+    public static RegistroEntrada lee(InputStream entrada) throws IOException {
+        DataInputStream in = new DataInputStream(entrada);
+        if (in.readInt() != MAGIA) throw new IOException("El archivo no es una grabación de entrada");
+        short version = in.readShort();
+        if (version != VERSION && version != VERSION_SIN_CARGA) throw new IOException("Versión de grabación no soportada: " + version);
+        RegistroEntrada registro = new RegistroEntrada(in.readLong());
+        long totalEsperado = in.readLong();
+        int tramos = in.readInt();
+        for (int i = 0; i < tramos; i++) {
+            int mascara = in.readByte();
+            int duracion = 0;
+            int desplazamiento = 0;
+            int b;
+            do {
+                b = in.readUnsignedByte();
+                duracion |= (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while ((b & 0x80) != 0);
+            if (duracion <= 0) throw new IOException("Tramo de duración inválida");
+            registro.agregaTramo(mascara, duracion);
+        }
+        if (registro.totalTicks != totalEsperado) throw new IOException("Grabación incompleta");
+        return registro;
+    }
+}
@@ -0,0 +1,218 @@
+package main;
+
+import java.util.Arrays;
+
+import entidad.Entidad;
+
+/**
+ * Rejilla uniforme sobre el mundo para acelerar las consultas de colisión
+ * entre entidades. Cada celda mide un mosaico ({@link GamePanel#getTamanioTile()})
+ * y guarda las entidades cuya área toca esa celda, así que una consulta sólo
+ * revisa las entidades cercanas en lugar de todas.
+ *
+ * Las entidades se guardan como un entero que elige quien las inserta (el
+ * índice de un enemigo en la {@link entidad.Horda}, o una constante para el
+ * jefe), junto con el rectángulo que ocupan.
+ *
+ * La rejilla se vacía y se vuelve a llenar en cada tick. Las celdas son listas
+ * enlazadas dentro de arreglos de enteros que sólo crecen cuando hace falta;
+ * en el caso normal llenarla y consultarla no crea objetos.
+ *
+ * Una consulta sólo devuelve candidatos: quien la hace sigue usando
+ * {@link DetectorColisiones} para la prueba exacta.
+ */
+public class RejillaEspacial {
+
+    private final int tamanioCelda;
+    private final int columnas;
+    private final int renglones;
+
+    // Primera entrada de cada celda (-1 si está vacía).
+    private final int[] cabeza;
+
+    // Entradas (una por cada celda que toca cada entidad), enlazadas por celda.
+    private int numEntradas;
+    private int[] siguiente = new int[256];
+    private int[] objetoDeEntrada = new int[256];
+    // Celda en la que se enlazó cada entrada, para poder vaciarla.
+    private int[] celdaDeEntrada = new int[256];
+
+    // Entidades insertadas, en el orden de inserción.
+    private int numObjetos;
+    private int[] objetos = new int[128];
+    // Última consulta que vio cada entidad (para no devolverla dos veces).
+    private int[] marca = new int[128];
+    private int consultaActual = 0;
+
+    // Resultado de la última consulta: índices de objeto ordenados.
+    private int numResultados;
+    private int[] resultados = new int[64];
+
+    /**
+     * @param anchoMundo   Ancho del mundo en píxeles.
+     * @param altoMundo    Alto del mundo en píxeles.
+     * @param tamanioCelda Lado de cada celda en píxeles (normalmente un mosaico).
+     */
+    public RejillaEspacial(int anchoMundo, int altoMundo, int tamanioCelda) {
+        this.tamanioCelda = tamanioCelda;
+        this.columnas = Math.max(1, (anchoMundo + tamanioCelda - 1) / tamanioCelda);
+        this.renglones = Math.max(1, (altoMundo + tamanioCelda - 1) / tamanioCelda);
+        this.cabeza = new int[this.columnas * this.renglones];
+        Arrays.fill(this.cabeza, -1);
+    }
+
+    /** Vacía la rejilla para volver a llenarla. */
+    public void limpia() {
+        // Sólo se vacían las celdas que tienen algo.
+        for (int i = 0; i < this.numEntradas; i++) {
+            this.cabeza[this.celdaDeEntrada[i]] = -1;
+        }
+        this.numEntradas = 0;
+        this.numObjetos = 0;
+    }
+
+    /**
+     * Inserta una entidad en todas las celdas que toca su rectángulo. Debe
+     * cubrir tanto el rectángulo que usa {@link DetectorColisiones#revisaEntidad}
+     * como el área sólida desplazada que usa {@link DetectorColisiones#revisaJugador}.
+     * @param id        El entero que devolverá {@link #getResultado(int)}.
+     * @param izquierda Borde izquierdo del rectángulo en el mundo.
+     * @param arriba    Borde superior del rectángulo en el mundo.
+     * @param ancho     Ancho del rectángulo.
+     * @param alto      Alto del rectángulo.
+     * @return El índice de la entidad dentro de la rejilla.
+     */
+    public int inserta(int id, int izquierda, int arriba, int ancho, int alto) {
+        if (this.numObjetos == this.objetos.length) {
+            this.objetos = Arrays.copyOf(this.objetos, this.numObjetos * 2);
+            this.marca = Arrays.copyOf(this.marca, this.numObjetos * 2);
+        }
+        int objeto = this.numObjetos++;
+        this.objetos[objeto] = id;
+        this.marca[objeto] = this.consultaActual;
+        this.enlaza(objeto, izquierda, arriba, ancho, alto);
+        return objeto;
+    }
+
+    /**
+     * Inserta una entidad con el rectángulo que va de su posición al borde
+     * inferior derecho de su área sólida.
+     * @see #inserta(int, int, int, int, int)
+     */
+    public int inserta(int id, Entidad e) {
+        return this.inserta(id, e.getMundoX(), e.getMundoY(),
+                e.getAreaSolidaX() + e.getAreaSolidaAncho(), e.getAreaSolidaY() + e.getAreaSolidaAlto());
+    }
+
+    /**
+     * Vuelve a enlazar una entidad que se movió después de insertarla (por
+     * ejemplo, un enemigo que reaparece), con su nuevo rectángulo. Las celdas
+     * antiguas se quedan con una entrada de más, que la prueba exacta descarta.
+     * @param objeto El índice que devolvió {@link #inserta(int, int, int, int, int)}.
+     */
+    public void reinserta(int objeto, int izquierda, int arriba, int ancho, int alto) {
+        this.enlaza(objeto, izquierda, arriba, ancho, alto);
+    }
+
+    private void enlaza(int objeto, int izquierda, int arriba, int ancho, int alto) {
+        int derecha = izquierda + ancho;
+        int abajo = arriba + alto;
+
+        int col0 = this.columna(izquierda), col1 = this.columna(derecha - 1);
+        int ren0 = this.renglon(arriba), ren1 = this.renglon(abajo - 1);
+        for (int ren = ren0; ren <= ren1; ren++) {
+            for (int col = col0; col <= col1; col++) {
+                if (this.numEntradas == this.siguiente.length) this.creceEntradas();
+                int entrada = this.numEntradas++;
+                int celda = ren * this.columnas + col;
+                this.objetoDeEntrada[entrada] = objeto;
+                this.celdaDeEntrada[entrada] = celda;
+                this.siguiente[entrada] = this.cabeza[celda];
+                this.cabeza[celda] = entrada;
+            }
+        }
+    }
+
+    /**
+     * Busca las entidades cuyas celdas tocan un rectángulo del mundo. El
+     * resultado se lee con {@link #getResultado(int)} y queda ordenado por
+     * orden de inserción, de modo que recorrerlo da el mismo orden que recorrer
+     * las listas originales. Cada consulta sustituye el resultado anterior.
+     * @return El número de candidatos encontrados.
+     */
+    public int consulta(int izquierda, int arriba, int ancho, int alto) {
+        this.consultaActual++;
+        this.numResultados = 0;
+        int col0 = this.columna(izquierda), col1 = this.columna(izquierda + ancho - 1);
+        int ren0 = this.renglon(arriba), ren1 = this.renglon(arriba + alto - 1);
+        for (int ren = ren0; ren <= ren1; ren++) {
+            for (int col = col0; col <= col1; col++) {
+                for (int entrada = this.cabeza[ren * this.columnas + col]; entrada != -1; entrada = this.siguiente[entrada]) {
+                    int objeto = this.objetoDeEntrada[entrada];
+                    if (this.marca[objeto] == this.consultaActual) continue;
+                    this.marca[objeto] = this.consultaActual;
+                    if (this.numResultados == this.resultados.length) {
+                        this.resultados = Arrays.copyOf(this.resultados, this.numResultados * 2);
+                    }
+                    this.resultados[this.numResultados++] = objeto;
+                }
+            }
+        }
+        // Suelen ser muy pocos: basta con ordenación por inserción.
+        for (int i = 1; i < this.numResultados; i++) {
+            int v = this.resultados[i];
+            int j = i - 1;
+            while (j >= 0 && this.resultados[j] > v) {
+                this.resultados[j + 1] = this.resultados[j];
+                j--;
+            }
+            this.resultados[j + 1] = v;
+        }
+        return this.numResultados;
+    }
+
+    /**
+     * Consulta con el área sólida de una entidad, tal como la usa
+     * {@link DetectorColisiones#revisaJugador}.
+     */
+    public int consultaAreaSolida(Entidad e) {
+        return this.consulta(e.getMundoX() + e.getAreaSolidaX(), e.getMundoY() + e.getAreaSolidaY(),
+                e.getAreaSolidaAncho(), e.getAreaSolidaAlto());
+    }
+
+    /**
+     * Consulta con el rectángulo que usa {@link DetectorColisiones#revisaEntidad}.
+     */
+    public int consultaEntidad(Entidad e) {
+        return this.consulta(e.getMundoX(), e.getMundoY(), e.getAreaSolidaAncho(), e.getAreaSolidaAlto());
+    }
+
+    /** @return El id con que se insertó el candidato {@code i} de la última consulta. */
+    public int getResultado(int i) {
+        return this.objetos[this.resultados[i]];
+    }
+
+    /** @return El índice de inserción del candidato {@code i} de la última consulta. */
+    public int getIndiceResultado(int i) {
+        return this.resultados[i];
+    }
+
+    public int getNumObjetos() { return this.numObjetos; }
+    public int getTamanioCelda() { return this.tamanioCelda; }
+
+    // Las entidades fuera del mundo se guardan en las celdas del borde.
+    private int columna(int x) {
+        return Math.max(0, Math.min(this.columnas - 1, Math.floorDiv(x, this.tamanioCelda)));
+    }
+
+    private int renglon(int y) {
+        return Math.max(0, Math.min(this.renglones - 1, Math.floorDiv(y, this.tamanioCelda)));
+    }
+
+    private void creceEntradas() {
+        int capacidad = this.siguiente.length * 2;
+        this.siguiente = Arrays.copyOf(this.siguiente, capacidad);
+        this.objetoDeEntrada = Arrays.copyOf(this.objetoDeEntrada, capacidad);
+        this.celdaDeEntrada = Arrays.copyOf(this.celdaDeEntrada, capacidad);
+    }
+}
@@ -0,0 +1,109 @@
+package main;
+
+import java.awt.Graphics2D;
+
+import entidad.Horda;
+import entidad.Jefe;
+import entidad.Jugador;
+
+/**
+ * Dibuja un fotograma completo a partir de una {@link FotoMundo}. Es lo único
+ * que ejecuta el hilo de dibujo: nunca consulta las listas de entidades del
+ * {@link GamePanel}, sólo datos inmutables (el mapa, los tamaños de pantalla)
+ * y la foto publicada por la simulación.
+ */
+public class Renderizador {
+
+    private final GamePanel gP;
+    private final ColaDibujo cola = new ColaDibujo();
+
+    public Renderizador(GamePanel gP) {
+        this.gP = gP;
+    }
+
+    /**
+     * @param g2   El contexto gráfico donde dibujar.
+     * @param foto La foto del mundo que se va a dibujar.
+     * @param alfa Factor de interpolación entre el tick anterior (0) y el de la foto (1).
+     */
+    public void dibuja(Graphics2D g2, FotoMundo foto, double alfa) {
+        if (!foto.esValida()) return;
+
+        int tamanioTile = this.gP.getTamanioTile();
+        int jugadorPantallaX = this.gP.getJugador().getPantallaX();
+        int jugadorPantallaY = this.gP.getJugador().getPantallaY();
+
+        // La cámara sigue la posición interpolada del jugador.
+        int camaraX = FotoMundo.interpola(foto.getJugadorXPrevio(), foto.getJugadorX(), alfa) - jugadorPantallaX;
+        int camaraY = FotoMundo.interpola(foto.getJugadorYPrevio(), foto.getJugadorY(), alfa) - jugadorPantallaY;
+
+        Perfilador perfilador = this.gP.getPerfilador();
+        long inicio = perfilador.marca();
+
+        // 1. Dibujar Mundo y Entidades
+        this.gP.getManejadorTiles().draw(g2, camaraX, camaraY);
+        long t = perfilador.registra(Perfilador.FASE_DIBUJO_TILES, inicio);
+
+        // Sólo se encola lo que toca la pantalla (Java2D crea objetos al descartar
+        // algunas imágenes que quedan completamente fuera); después se dibuja por
+        // capas, con los sprites de cada capa agrupados por imagen.
+        ColaDibujo cola = this.cola;
+        cola.limpia();
+        int jefe = -1;
+        int n = foto.getNumEntidades();
+        for (int i = 0; i < n; i++) {
+            int tipo = foto.getTipo(i);
+            int pantallaX = FotoMundo.interpola(foto.getXPrevio(i), foto.getX(i), alfa) - camaraX;
+            int pantallaY = FotoMundo.interpola(foto.getYPrevio(i), foto.getY(i), alfa) - camaraY;
+            if (tipo == FotoMundo.TIPO_PROYECTIL) {
+                if (!this.esVisible(pantallaX, pantallaY, tamanioTile / 3, tamanioTile / 3)) continue;
+                cola.agrega(ColaDibujo.CAPA_PROYECTILES, foto.getSprite(i), pantallaX, pantallaY);
+            } else if (tipo == FotoMundo.TIPO_ENEMIGO) {
+                if (!this.esVisible(pantallaX, pantallaY, tamanioTile, tamanioTile)) continue;
+                cola.agrega(ColaDibujo.CAPA_ENEMIGOS, foto.getSprite(i), pantallaX, pantallaY);
+                cola.agregaBarra(pantallaX, pantallaY, Horda.anchoVida(foto.getVida(i), foto.getMaxVida(i), tamanioTile));
+            } else {
+                if (!this.esVisible(pantallaX, pantallaY, tamanioTile * 3, tamanioTile * 3)) continue;
+                cola.agrega(ColaDibujo.CAPA_JEFE, foto.getSprite(i), pantallaX, pantallaY);
+                jefe = i;
+            }
+        }
+        cola.ordena();
+
+        cola.dibujaCapa(g2, ColaDibujo.CAPA_PROYECTILES);
+        t = perfilador.registra(Perfilador.FASE_DIBUJO_PROYECTILES, t);
+
+        cola.dibujaCapa(g2, ColaDibujo.CAPA_ENEMIGOS);
+        t = perfilador.registra(Perfilador.FASE_DIBUJO_ENEMIGOS, t);
+
+        cola.dibujaCapa(g2, ColaDibujo.CAPA_JEFE);
+        t = perfilador.registra(Perfilador.FASE_DIBUJO_JEFE, t);
+
+        // Las barras de vida van encima de todos los sprites.
+        cola.dibujaBarras(g2, tamanioTile);
+        if (jefe >= 0) {
+            int pantallaX = FotoMundo.interpola(foto.getXPrevio(jefe), foto.getX(jefe), alfa) - camaraX;
+            int pantallaY = FotoMundo.interpola(foto.getYPrevio(jefe), foto.getY(jefe), alfa) - camaraY;
+            Jefe.dibujaBarra(g2, pantallaX, pantallaY, foto.getVida(jefe), foto.getMaxVida(jefe), tamanioTile);
+        }
+        t = perfilador.registra(Perfilador.FASE_DIBUJO_BARRAS, t);
+
+        Jugador.dibuja(g2, foto.getJugadorSprite(), jugadorPantallaX, jugadorPantallaY, foto.getJugadorInvencible(), tamanioTile);
+        t = perfilador.registra(Perfilador.FASE_DIBUJO_JUGADOR, t);
+
+        // 2. Dibujar UI
+        this.gP.ui.draw(g2, foto);
+        perfilador.registra(Perfilador.FASE_DIBUJO_UI, t);
+        perfilador.registra(Perfilador.FASE_FOTOGRAMA, inicio);
+    }
+
+    /**
+     * Decide con el sprite: si queda fuera, su barra de vida (unos píxeles por
+     * encima) tampoco se dibuja.
+     * @return true si el sprite en pantalla toca la pantalla.
+     */
+    private boolean esVisible(int pantallaX, int pantallaY, int ancho, int alto) {
+        return pantallaX + ancho > 0 && pantallaX < this.gP.getAnchoPantalla()
+                && pantallaY + alto > 0 && pantallaY < this.gP.getAltoPantalla();
+    }
+}
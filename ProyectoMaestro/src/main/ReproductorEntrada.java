@@ -0,0 +1,54 @@
+package main;
+
+/**
+ * Fuente de entrada que reproduce un {@link RegistroEntrada} tick a tick: las
+ * teclas y la carga del director grabadas, en lugar de la medida ahora.
+ * Cuando la grabación se acaba, todas las teclas quedan sueltas y la carga es 0.
+ */
+public class ReproductorEntrada implements FuenteEntrada {
+
+    private final RegistroEntrada registro;
+    private int tramo = 0;
+    private int ticksEnTramo = 0;
+    private long ticksReproducidos = 0;
+    private int mascara = 0;
+    private int carga = 0;
+
+    public ReproductorEntrada(RegistroEntrada registro) {
+        this.registro = registro;
+    }
+
+    @Override
+    public void avanzaTick() {
+        if (this.tramo < this.registro.getNumTramos()) {
+            this.mascara = this.registro.getMascaraTramo(this.tramo);
+            this.carga = this.registro.getCargaTramo(this.tramo);
+            this.ticksEnTramo++;
+            if (this.ticksEnTramo >= this.registro.getDuracionTramo(this.tramo)) {
+                this.tramo++;
+                this.ticksEnTramo = 0;
+            }
+            this.ticksReproducidos++;
+        } else {
+            this.mascara = 0;
+            this.carga = 0;
+        }
+    }
+
+    @Override
+    public int cargaDelTick(int cargaMedida) {
+        return this.carga;
+    }
+
+    /** @return true cuando ya se reprodujeron todos los ticks de la grabación. */
+    public boolean terminado() {
+        return this.ticksReproducidos >= this.registro.getTotalTicks();
+    }
+
+    @Override public boolean getTeclaArriba() { return (this.mascara & ARRIBA) != 0; }
+    @Override public boolean getTeclaAbajo() { return (this.mascara & ABAJO) != 0; }
+    @Override public boolean getTeclaIzquierda() { return (this.mascara & IZQUIERDA) != 0; }
+    @Override public boolean getTeclaDerecha() { return (this.mascara & DERECHA) != 0; }
+    @Override public boolean getDisparo() { return (this.mascara & DISPARO) != 0; }
+    @Override public int getMascara() { return this.mascara; }
+}
@@ -0,0 +1,159 @@
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Punto de entrada para ejecutar la simulación sin ventana, sin audio y sin
+ * esperar al reloj. El {@link GamePanel} se construye con una fuente de
+ * entrada guionada (o grabada) y un {@link AudioNulo}, y se llama a
+ * {@code update()} tan rápido como da la máquina.
+ *
+ * El dibujo es opcional: si se indica cada cuántos ticks dibujar, el fotograma
+ * se pinta en un {@link DestinoImagen} fuera de pantalla, y al final se
+ * imprime también la suma de los píxeles del último fotograma dibujado.
+ *
+ * La entrada puede ser el guion por defecto ({@link EntradaGuionada#patrulla()}),
+ * grabarse mientras se simula, o reproducirse desde una grabación hecha con
+ * {@link GrabadoraEntrada} (en ese caso se usa la semilla de la grabación y se
+ * simulan todos sus ticks). Al final se imprime la huella del estado, que debe
+ * coincidir entre ejecuciones con la misma entrada.
+ *
+ * Uso: {@code java main.SimulacionHeadless [ticks] [dibujarCadaN]
+ * [--semilla N] [--grabar archivo | --reproducir archivo]}
+ */
+public class SimulacionHeadless {
+
+    private final GamePanel gP;
+    private DestinoImagen destino;     // Destino del dibujo opcional.
+    private final Consumer<Graphics2D> dibujo;
+    private int dibujarCada = 0;       // 0 = no dibujar.
+
+    private long ticksEjecutados;
+    private long nanosTotales;
+
+    /**
+     * @param gP Panel ya construido con la fuente de entrada y el audio deseados.
+     */
+    public SimulacionHeadless(GamePanel gP) {
+        this.gP = gP;
+        this.dibujo = g2 -> this.gP.dibuja(g2, 1.0);
+    }
+
+    /**
+     * Activa el dibujo fuera de pantalla cada {@code cadaNTicks} ticks.
+     * @param cadaNTicks Frecuencia del dibujo; 0 lo desactiva.
+     */
+    public void setDibujo(int cadaNTicks) {
+        this.dibujarCada = cadaNTicks;
+        if (cadaNTicks > 0 && this.destino == null) {
+            this.destino = new DestinoImagen(gP.getAnchoPantalla(), gP.getAltoPantalla());
+        }
+    }
+
+    /**
+     * Prepara la partida igual que {@link GamePanel#iniciaHebraJuego()}: crea los
+     * enemigos y deja el juego en la portada. La propia entrada (el primer
+     * disparo) es la que empieza la partida, así una grabación hecha con
+     * ventana se reproduce igual aquí.
+     */
+    public void iniciaPartida() {
+        this.gP.configuraEnemigos();
+    }
+
+    /**
+     * Avanza la simulación el número de ticks indicado, sin pausas.
+     * @param ticks Número de ticks a ejecutar.
+     */
+    public void avanza(long ticks) {
+        long inicio = System.nanoTime();
+        for (long i = 0; i < ticks; i++) {
+            this.gP.update();
+            if (this.dibujarCada > 0 && (this.ticksEjecutados + i) % this.dibujarCada == 0) {
+                this.destino.presenta(this.dibujo);
+            }
+        }
+        this.nanosTotales += System.nanoTime() - inicio;
+        this.ticksEjecutados += ticks;
+    }
+
+    public long getTicksEjecutados() { return this.ticksEjecutados; }
+
+    /** @return Ticks por segundo medidos sobre todo lo ejecutado hasta ahora. */
+    public double getTicksPorSegundo() {
+        return this.nanosTotales == 0 ? 0 : this.ticksEjecutados * 1e9 / this.nanosTotales;
+    }
+
+    /** @return La imagen donde se dibuja, o null si el dibujo está desactivado. */
+    public BufferedImage getLienzo() { return this.destino == null ? null : this.destino.getImagen(); }
+
+    /** @return El destino donde se dibuja, o null si el dibujo está desactivado. */
+    public DestinoImagen getDestino() { return this.destino; }
+
+    public GamePanel getGamePanel() { return this.gP; }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        long ticks = 36_000;
+        int dibujarCada = 0;
+        long semilla = 0;
+        String archivoGrabar = null;
+        String archivoReproducir = null;
+        int posicional = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--semilla": semilla = Long.parseLong(args[++i]); break;
+                case "--grabar": archivoGrabar = args[++i]; break;
+                case "--reproducir": archivoReproducir = args[++i]; break;
+                default:
+                    if (posicional++ == 0) ticks = Long.parseLong(args[i]);
+                    else dibujarCada = Integer.parseInt(args[i]);
+                    break;
+            }
+        }
+
+        FuenteEntrada entrada;
+        GrabadoraEntrada grabadora = null;
+        if (archivoReproducir != null) {
+            RegistroEntrada registro;
+            try (InputStream in = new BufferedInputStream(new FileInputStream(archivoReproducir))) {
+                registro = RegistroEntrada.lee(in);
+            }
+            entrada = new ReproductorEntrada(registro);
+            semilla = registro.getSemilla();
+            ticks = registro.getTotalTicks();
+        } else if (archivoGrabar != null) {
+            grabadora = new GrabadoraEntrada(EntradaGuionada.patrulla(), semilla);
+            entrada = grabadora;
+        } else {
+            entrada = EntradaGuionada.patrulla();
+        }
+
+        SimulacionHeadless simulacion = new SimulacionHeadless(new GamePanel(entrada, new AudioNulo(), semilla));
+        simulacion.setDibujo(dibujarCada);
+        simulacion.iniciaPartida();
+        simulacion.avanza(ticks);
+
+        if (grabadora != null) {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(archivoGrabar))) {
+                grabadora.getRegistro().escribe(out);
+            }
+        }
+
+        GamePanel gP = simulacion.getGamePanel();
+        System.out.printf("ticks=%d ticks/s=%.0f puntuacion=%d vidas=%d estado=%d enemigos=%d objetivo=%d huella=%016x%n",
+                simulacion.getTicksEjecutados(), simulacion.getTicksPorSegundo(),
+                gP.getJugador().getPuntuacion(), gP.getJugador().getVidaActual(), gP.gameState,
+                gP.getHorda().getNumEnemigos(), gP.getDirector().getObjetivo(), gP.getHuellaEstado());
+        if (simulacion.getDestino() != null) System.out.printf("suma=%016x%n", simulacion.getDestino().getSuma());
+        if (gP.getPerfilador().isActivo()) System.out.print(gP.getPerfilador().getResumen());
+    }
+}
@@ -0,0 +1,25 @@
+package main;
+
+/**
+ * Destino de los sonidos del juego. Los sonidos se identifican por su ruta
+ * dentro de los recursos (ej: "/sounds/disparo.wav"). Con {@link AudioClips}
+ * se escuchan por la tarjeta de sonido; con {@link AudioNulo} se descartan,
+ * lo que permite ejecutar la simulación en máquinas sin dispositivo de audio.
+ */
+public interface SumideroAudio {
+
+    /** Carga por adelantado los sonidos indicados para no hacerlo a mitad de partida. */
+    void precarga(String... rutas);
+
+    /** Reproduce el sonido desde el principio (lo corta si ya estaba sonando). */
+    void reproducir(String ruta);
+
+    /** Reproduce el sonido en bucle continuo (para la música). */
+    void reproducirEnBucle(String ruta);
+
+    /** Detiene el sonido si está sonando. */
+    void detener(String ruta);
+
+    /** Rebobina el sonido al principio y lo reanuda sin bucle. */
+    void reanudar(String ruta);
+}
@@ -1,9 +1,10 @@
 package main;
 
-import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.UnsupportedAudioFileException;
 import javax.swing.JFrame;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * @author Los Ratones
@@ -19,7 +20,7 @@ public class SurvivorApocalypse {
 	 * programa. Configura y lanza la ventana del juego. * @param args Argumentos de
 	 * la línea de comandos (no se utilizan).
 	 */
-	public static void main(String[] args) throws UnsupportedAudioFileException, LineUnavailableException, IOException {
+	public static void main(String[] args) {
 
 		// 1. Crear la ventana principal del juego.
 		JFrame ventana = new JFrame();
@@ -34,7 +35,21 @@ public class SurvivorApocalypse {
 
 		// 3. Crear una instancia del panel principal del juego, donde ocurre toda la
 		// acción.
-		GamePanel panelJuego = new GamePanel();
+		// Con -Dsurvivor.grabar=archivo se graba la entrada de la partida para poder
+		// reproducirla después con SimulacionHeadless --reproducir archivo.
+		GamePanel panelJuego;
+		String archivoGrabacion = System.getProperty("survivor.grabar");
+		if (archivoGrabacion == null) {
+			panelJuego = new GamePanel();
+		} else {
+			ManejadorTeclas teclas = new ManejadorTeclas();
+			long semilla = System.nanoTime();
+			GrabadoraEntrada grabadora = new GrabadoraEntrada(teclas, semilla);
+			panelJuego = new GamePanel(grabadora, new AudioClips(), semilla);
+			panelJuego.addKeyListener(teclas);
+			final GamePanel panel = panelJuego;
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> guardaGrabacion(panel, grabadora, archivoGrabacion)));
+		}
 		// Añadir el panel a la ventana para que sea visible.
 		ventana.add(panelJuego);
 
@@ -50,4 +65,17 @@ public class SurvivorApocalypse {
 		// 6. Iniciar el hilo de ejecución del juego.
 		panelJuego.iniciaHebraJuego();
 	}
+
+	/**
+	 * Detiene la simulación y escribe la grabación de la entrada en disco.
+	 */
+	private static void guardaGrabacion(GamePanel panel, GrabadoraEntrada grabadora, String archivo) {
+		panel.detieneHebraJuego();
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(archivo))) {
+			grabadora.getRegistro().escribe(out);
+			System.out.println("Grabación guardada en " + archivo);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
 }
\ No newline at end of file
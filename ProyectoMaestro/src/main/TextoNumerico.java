@@ -0,0 +1,107 @@
+package main;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Un texto fijo seguido de un número (p. ej. "Puntos: 120") que se dibuja
+ * copiando imágenes ya pintadas del texto y de cada cifra, en lugar de llamar
+ * a {@code drawString}. Cada {@code drawString} tras un {@code setFont} vuelve
+ * a preparar la fuente y crea objetos; así el marcador no crea ninguno, ni en
+ * cada fotograma ni cuando cambia la puntuación.
+ *
+ * Las cifras se colocan con su avance, como lo hace {@code drawString} sin
+ * antialiasing ni métricas fraccionarias, así que el resultado es el mismo
+ * píxel a píxel. Las imágenes se crean en el formato de la pantalla del
+ * momento; si cambia (ver {@link Recursos#setConfiguracion}) hay que crear
+ * otro {@code TextoNumerico}.
+ */
+public class TextoNumerico {
+
+    private static final String CIFRAS = "0123456789-";
+
+    private final BufferedImage prefijo;
+    private final int anchoPrefijo;
+    private final BufferedImage[] cifras = new BufferedImage[CIFRAS.length()];
+    private final int[] anchoCifra = new int[CIFRAS.length()];
+    // Espacio alrededor de cada imagen, para las partes de una letra que salen de su avance.
+    private final int margen;
+    private final int ascenso;
+
+    /**
+     * @param textoFijo El texto que va antes del número.
+     * @param fuente    La fuente.
+     * @param color     El color del texto.
+     */
+    public TextoNumerico(String textoFijo, Font fuente, Color color) {
+        BufferedImage muestra = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = muestra.createGraphics();
+        FontMetrics fm = g.getFontMetrics(fuente);
+        g.dispose();
+        this.margen = fuente.getSize() / 2;
+        this.ascenso = fm.getAscent();
+        int alto = fm.getAscent() + fm.getDescent() + 2 * this.margen;
+
+        this.anchoPrefijo = fm.stringWidth(textoFijo);
+        this.prefijo = this.pinta(textoFijo, this.anchoPrefijo, alto, fuente, color);
+        for (int i = 0; i < CIFRAS.length(); i++) {
+            String cifra = CIFRAS.substring(i, i + 1);
+            this.anchoCifra[i] = fm.stringWidth(cifra);
+            this.cifras[i] = this.pinta(cifra, this.anchoCifra[i], alto, fuente, color);
+        }
+    }
+
+    private BufferedImage pinta(String texto, int ancho, int alto, Font fuente, Color color) {
+        BufferedImage imagen = Imagenes.nueva(ancho + 2 * this.margen, alto);
+        Graphics2D g = imagen.createGraphics();
+        g.setFont(fuente);
+        g.setColor(color);
+        g.drawString(texto, this.margen, this.margen + this.ascenso);
+        g.dispose();
+        return imagen;
+    }
+
+    /** @return El ancho en píxeles del texto con el valor indicado (como {@code stringWidth}). */
+    public int getAncho(int valor) {
+        int ancho = this.anchoPrefijo;
+        long resto = valor;
+        if (resto < 0) {
+            ancho += this.anchoCifra[10];
+            resto = -resto;
+        }
+        do {
+            ancho += this.anchoCifra[(int) (resto % 10)];
+            resto /= 10;
+        } while (resto > 0);
+        return ancho;
+    }
+
+    /**
+     * Dibuja el texto con el valor indicado.
+     * @param g2    El contexto gráfico donde dibujar.
+     * @param valor El número que sigue al texto fijo.
+     * @param x     Coordenada X del inicio del texto.
+     * @param y     Coordenada Y de la línea base (como en {@code drawString}).
+     */
+    public void dibuja(Graphics2D g2, int valor, int x, int y) {
+        int arriba = y - this.ascenso - this.margen;
+        g2.drawImage(this.prefijo, x - this.margen, arriba, null);
+        x += this.anchoPrefijo;
+        long resto = valor;
+        if (resto < 0) {
+            g2.drawImage(this.cifras[10], x - this.margen, arriba, null);
+            x += this.anchoCifra[10];
+            resto = -resto;
+        }
+        long divisor = 1;
+        while (divisor * 10 <= resto) divisor *= 10;
+        for (; divisor > 0; divisor /= 10) {
+            int cifra = (int) (resto / divisor % 10);
+            g2.drawImage(this.cifras[cifra], x - this.margen, arriba, null);
+            x += this.anchoCifra[cifra];
+        }
+    }
+}
@@ -1,21 +1,35 @@
 package main;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 
 public class UI {
 
+    // Velos semitransparentes de las pantallas finales.
+    private static final Color VELO_VICTORIA = new Color(0, 0, 0, 180);
+    private static final Color VELO_GAMEOVER = new Color(0, 0, 0, 150);
+    private static final int TAMANIO_CORAZON = 32;
+    // Alto de las franjas con que se pintan los velos.
+    private static final int ALTO_FRANJA_VELO = 48;
+
     GamePanel gP;
     Font fuenteArial_40, fuenteArial_80B;
+
+    // Textos del marcador, dibujados con imágenes de sus cifras (ver TextoNumerico).
+    private TextoNumerico textoPuntos;
+    private TextoNumerico textoPuntajeFinal;
     
     // Imágenes
     BufferedImage imagenGameOver;
     BufferedImage imagenVictoria;
     BufferedImage imagenInicio; // Nueva imagen para la portada
     BufferedImage corazonFull;
+    // Franjas del ancho de la pantalla rellenas con cada velo. Copiarlas no crea
+    // objetos; fillRect con un color translúcido crea un ráster en cada llamada.
+    private BufferedImage franjaVictoria, franjaGameOver;
 
     // Estados booleanos (GamePanel maneja el estado principal, UI solo dibuja)
     public boolean juegoTerminado = false;
@@ -27,25 +41,57 @@ public class UI {
         fuenteArial_40 = new Font("Arial", Font.PLAIN, 40);
         fuenteArial_80B = new Font("Arial", Font.BOLD, 80);
 
-        try {
-            imagenGameOver = ImageIO.read(getClass().getResourceAsStream("/spritesMensajes/gameover.png"));
-            imagenVictoria = ImageIO.read(getClass().getResourceAsStream("/spritesMensajes/victoria.png"));
-            corazonFull = ImageIO.read(getClass().getResourceAsStream("/spritesMensajes/corazon_full.png"));
-            
-            // --- CARGAR IMAGEN DE INICIO ---
-            imagenInicio = ImageIO.read(getClass().getResourceAsStream("/spritesMensajes/inicio.png"));
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("¡ERROR! Revisa que inicio.png esté en la carpeta spritesMensajes");
+        cargaImagenes();
+    }
+
+    /**
+     * Pide a {@link Recursos} las imágenes de los mensajes y del marcador. Se
+     * vuelve a llamar si las imágenes cambiaron (ver {@link Recursos#setConfiguracion}).
+     */
+    public void cargaImagenes() {
+        Recursos recursos = gP.getRecursos();
+        imagenGameOver = recursos.imagen("/spritesMensajes/gameover.png");
+        imagenVictoria = recursos.imagen("/spritesMensajes/victoria.png");
+        corazonFull = recursos.imagen("/spritesMensajes/corazon_full.png", TAMANIO_CORAZON, TAMANIO_CORAZON);
+        
+        // --- CARGAR IMAGEN DE INICIO ---
+        imagenInicio = recursos.imagen("/spritesMensajes/inicio.png");
+
+        franjaVictoria = creaFranja(VELO_VICTORIA);
+        franjaGameOver = creaFranja(VELO_GAMEOVER);
+        textoPuntos = new TextoNumerico("Puntos: ", fuenteArial_40, Color.WHITE);
+        textoPuntajeFinal = new TextoNumerico("Puntaje Final: ", fuenteArial_40, Color.WHITE);
+    }
+
+    private BufferedImage creaFranja(Color velo) {
+        BufferedImage franja = Imagenes.nueva(gP.getAnchoPantalla(), ALTO_FRANJA_VELO);
+        Graphics2D g2 = franja.createGraphics();
+        g2.setComposite(AlphaComposite.Src);
+        g2.setColor(velo);
+        g2.fillRect(0, 0, franja.getWidth(), franja.getHeight());
+        g2.dispose();
+        return franja;
+    }
+
+    // Cubre toda la pantalla con un velo, franja por franja.
+    private void dibujaVelo(Graphics2D g2, BufferedImage franja) {
+        for (int y = 0; y < gP.getAltoPantalla(); y += ALTO_FRANJA_VELO) {
+            g2.drawImage(franja, 0, y, null);
         }
     }
 
-    public void draw(Graphics2D g2) {
+    /**
+     * Dibuja la portada, las pantallas finales o el HUD según el estado guardado
+     * en la foto del mundo.
+     * @param g2   El contexto gráfico donde dibujar.
+     * @param foto La foto del tick que se está dibujando.
+     */
+    public void draw(Graphics2D g2, FotoMundo foto) {
+        int estado = foto.getGameState();
         
         // --- 1. PANTALLA DE INICIO ---
         // Si el GamePanel está en estado "titleState" (0), dibujamos la portada
-        if (gP.gameState == gP.titleState) {
+        if (estado == gP.titleState) {
             
             // Fondo negro (opcional, por si la imagen no cubre todo)
             g2.setColor(Color.BLACK);
@@ -62,9 +108,8 @@ public class UI {
         }
         
         // --- 2. PANTALLA DE VICTORIA ---
-        else if (gP.gameState == gP.winState) {
-            g2.setColor(new Color(0, 0, 0, 180));
-            g2.fillRect(0, 0, gP.getAnchoPantalla(), gP.getAltoPantalla());
+        else if (estado == gP.winState) {
+            dibujaVelo(g2, franjaVictoria);
 
             if(imagenVictoria != null){
                 int x = gP.getAnchoPantalla() / 2 - imagenVictoria.getWidth() / 2;
@@ -74,9 +119,8 @@ public class UI {
         }
         
         // --- 3. PANTALLA GAME OVER ---
-        else if (gP.gameState == gP.gameOverState) {
-            g2.setColor(new Color(0, 0, 0, 150));
-            g2.fillRect(0, 0, gP.getAnchoPantalla(), gP.getAltoPantalla());
+        else if (estado == gP.gameOverState) {
+            dibujaVelo(g2, franjaGameOver);
 
             if(imagenGameOver != null) {
                 int x = gP.getAnchoPantalla()/2 - (imagenGameOver.getWidth()/2);
@@ -92,32 +136,27 @@ public class UI {
                 g2.drawString(texto, x, y);
             }
             // Puntaje final
-            g2.setFont(fuenteArial_40);
-            g2.setColor(Color.WHITE);
-            String textoPuntaje = "Puntaje Final: " + gP.getJugador().getPuntuacion();
-            int longitud = (int)g2.getFontMetrics().getStringBounds(textoPuntaje, g2).getWidth();
+            int longitud = this.textoPuntajeFinal.getAncho(foto.getPuntuacion());
             int x = gP.getAnchoPantalla()/2 - longitud/2;
             int y = gP.getAltoPantalla()/2 + 300;
-            g2.drawString(textoPuntaje, x, y);
+            this.textoPuntajeFinal.dibuja(g2, foto.getPuntuacion(), x, y);
         } 
         
         // --- 4. PANTALLA DE JUEGO (HUD) ---
         else {
-            g2.setFont(fuenteArial_40);
-            g2.setColor(Color.WHITE);
-            g2.drawString("Puntos: " + gP.getJugador().getPuntuacion(), 50, 50);
+            this.textoPuntos.dibuja(g2, foto.getPuntuacion(), 50, 50);
 
 
             // Corazones
-            int vidas = gP.getJugador().getVidaActual();
+            int vidas = foto.getVidasJugador();
             int xStart = gP.getAnchoPantalla() - 150; 
             int yStart = 20;
-            int size = 32; 
+            int size = TAMANIO_CORAZON; 
             int espacio = 36; 
 
             for(int i = 0; i < vidas; i++) {
                 if(corazonFull != null) {
-                    g2.drawImage(corazonFull, xStart + (i*espacio), yStart, size, size, null);
+                    g2.drawImage(corazonFull, xStart + (i*espacio), yStart, null); // ya mide size x size
                 }
             }
         }
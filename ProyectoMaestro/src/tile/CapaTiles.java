@@ -0,0 +1,287 @@
+package tile;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import main.Imagenes;
+
+/**
+ * Capa de mosaicos ya dibujada. El mapa no cambia mientras se juega, así que se
+ * pinta a tamaño de pantalla en bloques cuadrados de {@link #LADO_BLOQUE}
+ * mosaicos, y cada fotograma sólo copia los bloques que tocan la pantalla
+ * (cuatro, como mucho seis) en lugar de dibujar mosaico por mosaico.
+ *
+ * Los bloques se pintan cuando la cámara se acerca: los del anillo alrededor
+ * de la pantalla se piden a un hilo de fondo, y sólo si uno visible todavía no
+ * está listo (al empezar, o tras un salto de cámara) se pinta en el momento.
+ * Se guardan en una caché LRU con un límite de memoria
+ * ({@code -Dsurvivor.capa.mb}, 64 MB por omisión), así que la memoria y el
+ * coste de cada fotograma no dependen del tamaño del mapa. Las imágenes de
+ * los bloques descartados se reutilizan.
+ *
+ * La caché sólo la toca el hilo de dibujo; el hilo de fondo recibe una imagen
+ * y la devuelve pintada por una cola. Si el mapa cambia, {@link ManejadorTiles}
+ * invalida los bloques afectados (desde cualquier hilo) y se vuelven a pintar.
+ */
+public class CapaTiles {
+
+	/** Lado de un bloque, en mosaicos. */
+	public static final int LADO_BLOQUE = 16;
+	// Imágenes libres que se guardan para reutilizar; las demás se sueltan.
+	private static final int MAX_LIBRES = 4;
+
+	private final int[][] codigos;
+	private final BufferedImage[] imagenes;
+	private final int columnas, renglones, tamanioTile, ladoPx;
+	private final int bloquesX, bloquesY;
+	private final int capacidad;
+
+	// Versión pedida de cada bloque; la sube quien invalida.
+	private final AtomicIntegerArray versiones;
+	// Bloques en la caché por índice, y la lista LRU que los encadena del menos
+	// al más recientemente usado (sólo hilo de dibujo).
+	private final Bloque[] cache;
+	private Bloque menosUsado, masUsado;
+	private int numEnCache;
+	private final ArrayDeque<BufferedImage> libres = new ArrayDeque<>();
+	private final ExecutorService fondo;
+	private final ConcurrentLinkedQueue<Bloque> terminados = new ConcurrentLinkedQueue<>();
+	private int pintadosEnDibujo;
+	// Generación de Imagenes con la que se crearon las imágenes de la caché.
+	private int generacionImagenes = Imagenes.getGeneracion();
+
+	// Un bloque de la caché. 'imagen' es la que se copia en pantalla;
+	// 'pendiente' la que está pintando el hilo de fondo para 'versionPendiente'.
+	private static final class Bloque {
+		final int indice;
+		BufferedImage imagen;
+		int version = -1;
+		BufferedImage pendiente;
+		int versionPendiente;
+		int generacionPendiente;
+		Bloque anterior, siguiente;
+
+		Bloque(int indice) {
+			this.indice = indice;
+		}
+	}
+
+	/**
+	 * @param codigos     Códigos del mapa (renglón, columna); se leen al pintar, no se copian.
+	 * @param imagenes    Imagen de cada código, ya escalada al tamaño del mosaico.
+	 * @param tamanioTile Tamaño del mosaico en pantalla.
+	 * @param anchoVista  Ancho de la pantalla en píxeles.
+	 * @param altoVista   Alto de la pantalla en píxeles.
+	 */
+	public CapaTiles(int[][] codigos, BufferedImage[] imagenes, int tamanioTile, int anchoVista, int altoVista) {
+		this.codigos = codigos;
+		this.imagenes = imagenes;
+		this.renglones = codigos.length;
+		this.columnas = codigos[0].length;
+		this.tamanioTile = tamanioTile;
+		this.ladoPx = LADO_BLOQUE * tamanioTile;
+		this.bloquesX = (this.columnas + LADO_BLOQUE - 1) / LADO_BLOQUE;
+		this.bloquesY = (this.renglones + LADO_BLOQUE - 1) / LADO_BLOQUE;
+		this.versiones = new AtomicIntegerArray(this.bloquesX * this.bloquesY);
+		this.cache = new Bloque[this.bloquesX * this.bloquesY];
+
+		// Al menos caben los visibles más el anillo que se pinta por adelantado.
+		int minimo = (anchoVista / this.ladoPx + 4) * (altoVista / this.ladoPx + 4);
+		long bytesPorBloque = 4L * this.ladoPx * this.ladoPx;
+		long presupuesto = Long.getLong("survivor.capa.mb", 64) * 1024 * 1024;
+		this.capacidad = (int) Math.max(minimo, presupuesto / bytesPorBloque);
+
+		this.fondo = Executors.newSingleThreadExecutor(tarea -> {
+			Thread hebra = new Thread(tarea, "capa-tiles");
+			hebra.setDaemon(true);
+			hebra.setPriority(Thread.MIN_PRIORITY);
+			return hebra;
+		});
+	}
+
+	/**
+	 * Copia en pantalla los bloques que quedan a la vista y pide al hilo de
+	 * fondo los que la rodean. Sólo debe llamarse desde el hilo de dibujo.
+	 * @param camaraX Coordenada X del mundo en el borde izquierdo de la pantalla.
+	 * @param camaraY Coordenada Y del mundo en el borde superior de la pantalla.
+	 * @param ancho   Ancho de la pantalla en píxeles.
+	 * @param alto    Alto de la pantalla en píxeles.
+	 */
+	public void dibuja(Graphics2D g2, int camaraX, int camaraY, int ancho, int alto) {
+		if (this.generacionImagenes != Imagenes.getGeneracion()) this.descartaImagenes();
+		this.recibeTerminados();
+
+		int bx0 = Math.floorDiv(camaraX, this.ladoPx);
+		int by0 = Math.floorDiv(camaraY, this.ladoPx);
+		int bx1 = Math.floorDiv(camaraX + ancho - 1, this.ladoPx);
+		int by1 = Math.floorDiv(camaraY + alto - 1, this.ladoPx);
+
+		// Primero se pide al hilo de fondo el anillo que rodea la pantalla; los
+		// visibles se usan después, así quedan como los más recientes de la LRU.
+		for (int by = by0 - 1; by <= by1 + 1; by++) {
+			for (int bx = bx0 - 1; bx <= bx1 + 1; bx++) {
+				boolean visible = bx >= bx0 && bx <= bx1 && by >= by0 && by <= by1;
+				if (!visible && this.existe(bx, by)) this.pidePintado(this.getBloque(by * this.bloquesX + bx));
+			}
+		}
+		for (int by = Math.max(0, by0); by <= Math.min(this.bloquesY - 1, by1); by++) {
+			for (int bx = Math.max(0, bx0); bx <= Math.min(this.bloquesX - 1, bx1); bx++) {
+				Bloque bloque = this.getBloque(by * this.bloquesX + bx);
+				if (bloque.version != this.versiones.get(bloque.indice)) this.pintaAhora(bloque);
+				g2.drawImage(bloque.imagen, bx * this.ladoPx - camaraX, by * this.ladoPx - camaraY, null);
+			}
+		}
+		this.recorta();
+	}
+
+	/** Marca todos los bloques para volver a pintarlos. */
+	public void invalida() {
+		for (int i = 0; i < this.versiones.length(); i++) this.versiones.incrementAndGet(i);
+	}
+
+	/** Marca para volver a pintar el bloque que contiene la celda. */
+	public void invalida(int col, int ren) {
+		if (col < 0 || ren < 0 || col >= this.columnas || ren >= this.renglones) return;
+		this.versiones.incrementAndGet((ren / LADO_BLOQUE) * this.bloquesX + col / LADO_BLOQUE);
+	}
+
+	private boolean existe(int bx, int by) {
+		return bx >= 0 && by >= 0 && bx < this.bloquesX && by < this.bloquesY;
+	}
+
+	// El bloque de la caché (marcado como recién usado), creándolo vacío si no está.
+	private Bloque getBloque(int indice) {
+		Bloque bloque = this.cache[indice];
+		if (bloque == null) {
+			bloque = new Bloque(indice);
+			this.cache[indice] = bloque;
+			this.numEnCache++;
+		} else if (bloque == this.masUsado) {
+			return bloque;
+		} else {
+			this.desencadena(bloque);
+		}
+		bloque.anterior = this.masUsado;
+		bloque.siguiente = null;
+		if (this.masUsado != null) this.masUsado.siguiente = bloque;
+		else this.menosUsado = bloque;
+		this.masUsado = bloque;
+		return bloque;
+	}
+
+	private void desencadena(Bloque bloque) {
+		if (bloque.anterior != null) bloque.anterior.siguiente = bloque.siguiente;
+		else this.menosUsado = bloque.siguiente;
+		if (bloque.siguiente != null) bloque.siguiente.anterior = bloque.anterior;
+		else this.masUsado = bloque.anterior;
+		bloque.anterior = bloque.siguiente = null;
+	}
+
+	// Pide al hilo de fondo la versión actual del bloque, si no la tiene ni la está pintando.
+	private void pidePintado(Bloque bloque) {
+		int version = this.versiones.get(bloque.indice);
+		// Si está pintando una versión anterior, al recibirla se pedirá otra vez.
+		if (bloque.version == version || bloque.pendiente != null) return;
+		BufferedImage destino = this.tomaImagen();
+		bloque.pendiente = destino;
+		bloque.versionPendiente = version;
+		bloque.generacionPendiente = this.generacionImagenes;
+		this.fondo.execute(() -> {
+			this.pinta(bloque.indice, destino);
+			this.terminados.add(bloque);
+		});
+	}
+
+	// Pinta en este hilo un bloque visible que todavía no está listo.
+	private void pintaAhora(Bloque bloque) {
+		int version = this.versiones.get(bloque.indice);
+		if (bloque.imagen == null) bloque.imagen = this.tomaImagen();
+		this.pinta(bloque.indice, bloque.imagen);
+		bloque.version = version;
+		this.pintadosEnDibujo++;
+	}
+
+	// Pasa a la caché los bloques que terminó el hilo de fondo.
+	private void recibeTerminados() {
+		Bloque bloque;
+		while ((bloque = this.terminados.poll()) != null) {
+			BufferedImage pintada = bloque.pendiente;
+			bloque.pendiente = null;
+			boolean enCache = this.cache[bloque.indice] == bloque;
+			// Las versiones sólo crecen: si ya se pintó una más nueva en el momento, ésta sobra.
+			if (enCache && bloque.versionPendiente - bloque.version > 0
+					&& bloque.generacionPendiente == this.generacionImagenes) {
+				this.sueltaImagen(bloque.imagen);
+				bloque.imagen = pintada;
+				bloque.version = bloque.versionPendiente;
+			} else if (bloque.generacionPendiente == this.generacionImagenes) {
+				this.sueltaImagen(pintada);
+			}
+		}
+	}
+
+	// Descarta los bloques menos usados hasta volver a la capacidad.
+	private void recorta() {
+		while (this.numEnCache > this.capacidad) {
+			Bloque bloque = this.menosUsado;
+			this.desencadena(bloque);
+			this.cache[bloque.indice] = null;
+			this.numEnCache--;
+			this.sueltaImagen(bloque.imagen);
+			bloque.imagen = null;
+			// Si tiene una pendiente, recibeTerminados la suelta al volver.
+		}
+	}
+
+	// Cambió el formato de la pantalla: se sueltan todas las imágenes para crearlas en el nuevo.
+	private void descartaImagenes() {
+		this.generacionImagenes = Imagenes.getGeneracion();
+		this.libres.clear();
+		for (Bloque bloque = this.menosUsado; bloque != null; bloque = bloque.siguiente) {
+			bloque.imagen = null;
+			bloque.version = -1;
+		}
+	}
+
+	private BufferedImage tomaImagen() {
+		BufferedImage imagen = this.libres.poll();
+		return imagen != null ? imagen : Imagenes.opaca(this.ladoPx, this.ladoPx);
+	}
+
+	private void sueltaImagen(BufferedImage imagen) {
+		if (imagen != null && this.libres.size() < MAX_LIBRES) this.libres.push(imagen);
+	}
+
+	// Pinta los mosaicos del bloque; fuera del mapa queda negro, como el fondo del panel.
+	private void pinta(int indice, BufferedImage destino) {
+		int col0 = (indice % this.bloquesX) * LADO_BLOQUE;
+		int ren0 = (indice / this.bloquesX) * LADO_BLOQUE;
+		int cols = Math.min(LADO_BLOQUE, this.columnas - col0);
+		int rens = Math.min(LADO_BLOQUE, this.renglones - ren0);
+		Graphics2D g2 = destino.createGraphics();
+		g2.setColor(Color.BLACK);
+		g2.fillRect(0, 0, destino.getWidth(), destino.getHeight());
+		for (int ren = 0; ren < rens; ren++) {
+			int[] renglon = this.codigos[ren0 + ren];
+			for (int col = 0; col < cols; col++) {
+				g2.drawImage(this.imagenes[renglon[col0 + col]], col * this.tamanioTile, ren * this.tamanioTile, null);
+			}
+		}
+		g2.dispose();
+	}
+
+	/** @return Cuántos bloques tiene el mapa completo. */
+	public int getNumBloques() { return this.versiones.length(); }
+	/** @return Cuántos bloques caben en la caché. */
+	public int getCapacidad() { return this.capacidad; }
+	/** @return Cuántos bloques hay en la caché (sólo desde el hilo de dibujo). */
+	public int getNumEnCache() { return this.numEnCache; }
+	/** @return Cuántos bloques visibles se tuvieron que pintar en el hilo de dibujo. */
+	public int getPintadosEnDibujo() { return this.pintadosEnDibujo; }
+}
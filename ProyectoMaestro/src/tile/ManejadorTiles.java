@@ -1,12 +1,17 @@
 package tile;
 
 import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import javax.imageio.ImageIO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import main.GamePanel;
+import main.Recursos;
 
 /**
  * @author Los Ratones
@@ -26,24 +31,53 @@ public class ManejadorTiles {
 	// código que corresponde a un índice en 'arregloTiles'.
 	private final int[][] codigosMapaTiles;
 
+	// Código del mosaico de agua: sólido para todos salvo para quien puede cruzarla (el jefe).
+	public static final int CODIGO_AGUA = 0;
+	// Mapas de bits de celdas sólidas (un bit por celda, renglón por renglón). Se
+	// construyen al cargar el mapa para que las consultas de colisión no tengan que
+	// pasar por los objetos Tile. El segundo trata el agua como transitable.
+	private long[] solidos;
+	private long[] solidosCruzandoAgua;
+	// Holgura de cada celda: lado del mayor cuadrado libre que tiene esa celda
+	// como esquina superior izquierda. Sirve para planear rutas de unidades que
+	// ocupan varias celdas (el jefe necesita 3). Una por cada mapa de bits. Se
+	// crean una vez y se recalculan en el lugar: el planificador del jefe las lee.
+	private byte[] holgura;
+	private byte[] holguraCruzandoAgua;
+	// Mayor holgura que se guarda (cabe en un byte).
+	private static final int HOLGURA_MAXIMA = 127;
+	// Celdas libres donde pueden aparecer los enemigos (no cruzan el agua).
+	private TablaAparicion tablaAparicion;
+	// El mapa ya dibujado a tamaño de pantalla, en bloques, y la imagen de cada código que usa.
+	private final CapaTiles capa;
+	private final BufferedImage[] imagenesPorCodigo;
+	// Dimensiones copiadas al construir los mapas de bits, para no pedirlas al panel en cada consulta.
+	private int columnasSolidos, renglonesSolidos, tamanioCelda;
+
 	/**
 	 * Constructor del ManejadorTiles. * @param gP Referencia al {@link GamePanel}
 	 * principal.
+	 * 
+	 * @param rutaMapa La ruta al archivo del mapa; sus dimensiones son las del
+	 *                 mundo (ver {@link #getColumnas()} y {@link #getRenglones()}).
 	 */
-	public ManejadorTiles(GamePanel gP) {
+	public ManejadorTiles(GamePanel gP, String rutaMapa) {
 		// Asigna la referencia del GamePanel.
 		this.gP = gP;
 		// Inicializa el array para almacenar los tipos de mosaicos, con el tamaño
 		// máximo definido.
 		this.arregloTiles = new Tile[this.maxTiles];
-		// Inicializa la matriz del mapa con las dimensiones del mundo definidas en
-		// GamePanel.
-		this.codigosMapaTiles = new int[gP.getMaxRenMundo()][gP.getMaxColMundo()];
+		// Carga la estructura del mapa desde un archivo de texto. La matriz toma el
+		// tamaño del archivo, y el GamePanel deriva de ella el tamaño del mundo.
+		this.codigosMapaTiles = leeMapa(rutaMapa);
 
 		// Carga las imágenes de los mosaicos en la paleta.
 		getImagenesTile();
-		// Carga la estructura del mapa desde un archivo de texto.
-		cargaMapa("/mapas/mundo01.txt");
+		this.imagenesPorCodigo = new BufferedImage[this.maxTiles];
+		this.copiaImagenesPorCodigo();
+		this.capa = new CapaTiles(this.codigosMapaTiles, this.imagenesPorCodigo, gP.getTamanioTile(),
+				gP.getAnchoPantalla(), gP.getAltoPantalla());
+		construyeMapasSolidos();
 	}
 
 	/**
@@ -51,176 +85,430 @@ public class ManejadorTiles {
 	 * 'arregloTiles', definiendo también sus propiedades como la colisión.
 	 */
 	public void getImagenesTile() {
-		try {
-			// El índice (0, 1, 2...) es el código que se usará en el archivo de mapa.
-
-			// Mosaico 0: Agua (con colisión)
-			this.arregloTiles[0] = new Tile(); // Crea una nueva instancia de Tile.
-			this.arregloTiles[0].setImagen(ImageIO.read(getClass().getResourceAsStream("/tiles/agua.png"))); // Carga la
-																												// imagen.
-			this.arregloTiles[0].setColision(true); // Establece que este mosaico es sólido.
-
-			// Mosaico 1: Árbol (con colisión)
-			this.arregloTiles[1] = new Tile(); // Crea una nueva instancia de Tile.
-			this.arregloTiles[1].setImagen(ImageIO.read(getClass().getResourceAsStream("/tiles/arbol.png"))); // Carga
-																												// la
-																												// imagen.
-			this.arregloTiles[1].setColision(true); // Establece que este mosaico es sólido.
-
-			// Mosaico 2: Arena (sin colisión)
-			this.arregloTiles[2] = new Tile(); // Crea una nueva instancia de Tile.
-			this.arregloTiles[2].setImagen(ImageIO.read(getClass().getResourceAsStream("/tiles/arena.png"))); // Carga
-																												// la
-																												// imagen.
-
-			// Mosaico 3: Muro (con colisión)
-			this.arregloTiles[3] = new Tile(); // Crea una nueva instancia de Tile.
-			this.arregloTiles[3].setImagen(ImageIO.read(getClass().getResourceAsStream("/tiles/muro.png"))); // Carga la
-																												// imagen.
-			this.arregloTiles[3].setColision(true); // Establece que este mosaico es sólido.
-
-			// Mosaico 4: Pasto (sin colisión)
-			this.arregloTiles[4] = new Tile(); // Crea una nueva instancia de Tile.
-			this.arregloTiles[4].setImagen(ImageIO.read(getClass().getResourceAsStream("/tiles/pasto.png"))); // Carga
-																												// la
-																												// imagen.
-
-			// Mosaico 5: Suelo (sin colisión)
-			this.arregloTiles[5] = new Tile(); // Crea una nueva instancia de Tile.
-			this.arregloTiles[5].setImagen(ImageIO.read(getClass().getResourceAsStream("/tiles/suelo.png"))); // Carga
-																												// la
-																												// imagen.
+		// Cada imagen se pide ya escalada al tamaño del mosaico en pantalla, para que
+		// draw() no tenga que escalar 2,500 veces por fotograma. Recursos la lee una sola vez.
+		Recursos recursos = this.gP.getRecursos();
+		int lado = this.gP.getTamanioTile();
 
-		} catch (IOException e) {
-			// Si ocurre un error al cargar las imágenes, se imprime la traza del error en
-			// la consola.
-			e.printStackTrace();
+		// El índice (0, 1, 2...) es el código que se usará en el archivo de mapa.
+
+		// Mosaico 0: Agua (con colisión)
+		this.arregloTiles[0] = new Tile(); // Crea una nueva instancia de Tile.
+		this.arregloTiles[0].setImagen(recursos.imagen("/tiles/agua.png", lado, lado)); // Carga la imagen.
+		this.arregloTiles[0].setColision(true); // Establece que este mosaico es sólido.
+
+		// Mosaico 1: Árbol (con colisión)
+		this.arregloTiles[1] = new Tile();
+		this.arregloTiles[1].setImagen(recursos.imagen("/tiles/arbol.png", lado, lado));
+		this.arregloTiles[1].setColision(true);
+
+		// Mosaico 2: Arena (sin colisión)
+		this.arregloTiles[2] = new Tile();
+		this.arregloTiles[2].setImagen(recursos.imagen("/tiles/arena.png", lado, lado));
+
+		// Mosaico 3: Muro (con colisión)
+		this.arregloTiles[3] = new Tile();
+		this.arregloTiles[3].setImagen(recursos.imagen("/tiles/muro.png", lado, lado));
+		this.arregloTiles[3].setColision(true);
+
+		// Mosaico 4: Pasto (sin colisión)
+		this.arregloTiles[4] = new Tile();
+		this.arregloTiles[4].setImagen(recursos.imagen("/tiles/pasto.png", lado, lado));
+
+		// Mosaico 5: Suelo (sin colisión)
+		this.arregloTiles[5] = new Tile();
+		this.arregloTiles[5].setImagen(recursos.imagen("/tiles/suelo.png", lado, lado));
+	}
+
+	/**
+	 * Vuelve a pedir las imágenes de los mosaicos a {@link Recursos} después de
+	 * que cambiaron (ver {@link Recursos#setConfiguracion}) y manda volver a
+	 * pintar la capa dibujada.
+	 */
+	public void recargaImagenes() {
+		getImagenesTile();
+		this.copiaImagenesPorCodigo();
+		this.capa.invalida();
+	}
+
+	// La capa lee las imágenes de este arreglo, no de los objetos Tile.
+	private void copiaImagenesPorCodigo() {
+		for (int i = 0; i < this.maxTiles; i++) {
+			if (this.arregloTiles[i] != null) this.imagenesPorCodigo[i] = this.arregloTiles[i].getImagen();
 		}
 	}
 
 	/**
 	 * Lee un archivo de texto que define el mapa y carga los códigos en la matriz
-	 * 'codigosMapaTiles'. * @param ruta La ruta al archivo del mapa dentro de los
+	 * 'codigosMapaTiles'. El mapa nuevo debe medir lo mismo que el que se cargó
+	 * al construir. * @param ruta La ruta al archivo del mapa dentro de los
 	 * recursos del proyecto (ej: "/mapas/mapa.txt").
 	 */
 	public void cargaMapa(String ruta) {
-		try {
-			// Abre el archivo de mapa como un flujo de entrada.
-			InputStream mapa = getClass().getResourceAsStream(ruta);
-			// Envuelve el flujo en un BufferedReader para leer texto de manera eficiente.
-			BufferedReader br = new BufferedReader(new InputStreamReader(mapa));
-			// Inicializa los contadores de fila y columna.
-			int ren = 0, col = 0;
-
-			// Recorre las filas y columnas del mapa.
-			while (ren < gP.getMaxRenMundo() && col < gP.getMaxColMundo()) {
-				// Lee una línea completa del archivo (ej: "4 4 4 5 5 2...").
-				String renglonDatos = br.readLine();
-				// Recorre las columnas de la línea leída.
-				while (col < gP.getMaxColMundo()) {
-					// Divide la línea en números individuales usando el espacio como separador.
-					String[] codigos = renglonDatos.split(" ");
-					// Convierte el código de tipo String a un entero.
-					int codigo = Integer.parseInt(codigos[col]);
-					// Asigna el código a la celda correspondiente en la matriz del mapa.
-					this.codigosMapaTiles[ren][col] = codigo;
-					// Avanza a la siguiente columna.
-					col++;
+		int[][] codigos = leeMapa(ruta);
+		if (codigos.length != this.getRenglones() || codigos[0].length != this.getColumnas()) {
+			throw new IllegalArgumentException("El mapa " + ruta + " no mide " + this.getColumnas() + "x"
+					+ this.getRenglones());
+		}
+		// Se copia sobre la matriz existente: la capa dibujada guarda una referencia a ella.
+		for (int ren = 0; ren < codigos.length; ren++) {
+			System.arraycopy(codigos[ren], 0, this.codigosMapaTiles[ren], 0, codigos[ren].length);
+		}
+		// Recalcula los mapas de bits de colisión con el mapa recién cargado.
+		construyeMapasSolidos();
+		// La capa dibujada se vuelve a pintar completa, y el campo de flujo y
+		// las rutas del jefe se recalculan.
+		this.capa.invalida();
+		this.gP.getCampoFlujo().invalida();
+		this.gP.getPlanificadorJefe().actualizaRegion(0, 0, this.getColumnas() - 1, this.getRenglones() - 1);
+	}
+
+	/**
+	 * Lee los códigos de un archivo de mapa: un renglón del mapa por línea, con
+	 * los códigos separados por espacios (ej: "4 4 4 5 5 2..."). Las columnas son
+	 * las de la primera línea; las líneas vacías se ignoran.
+	 * 
+	 * @param ruta La ruta al archivo del mapa dentro de los recursos del proyecto.
+	 * @return Los códigos, por renglón y columna.
+	 */
+	public static int[][] leeMapa(String ruta) {
+		InputStream mapa = ManejadorTiles.class.getResourceAsStream(ruta);
+		if (mapa == null) throw new IllegalArgumentException("No existe el mapa " + ruta);
+		List<int[]> renglones = new ArrayList<>();
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(mapa))) {
+			String renglonDatos;
+			while ((renglonDatos = br.readLine()) != null) {
+				renglonDatos = renglonDatos.trim();
+				if (renglonDatos.isEmpty()) continue;
+				// Divide la línea en números individuales usando el espacio como separador.
+				String[] codigos = renglonDatos.split("\\s+");
+				int columnas = renglones.isEmpty() ? codigos.length : renglones.get(0).length;
+				if (codigos.length < columnas) {
+					throw new IllegalArgumentException("El renglón " + renglones.size() + " del mapa " + ruta
+							+ " tiene " + codigos.length + " columnas y no " + columnas);
 				}
-				// Si terminamos una fila, pasamos a la siguiente y reiniciamos el contador de
-				// columnas.
-				if (col == gP.getMaxColMundo()) {
-					// Avanza a la siguiente fila.
-					ren++;
-					// Reinicia el contador de columnas a 0.
-					col = 0;
+				int[] renglon = new int[columnas];
+				for (int col = 0; col < columnas; col++) {
+					renglon[col] = Integer.parseInt(codigos[col]);
 				}
+				renglones.add(renglon);
 			}
-			// Cierra el lector de archivo para liberar recursos.
-			br.close();
 		} catch (IOException e) {
-			// Si ocurre un error de entrada/salida, imprime la traza del error.
-			e.printStackTrace();
+			throw new IllegalStateException("No se pudo leer el mapa " + ruta, e);
+		}
+		if (renglones.isEmpty()) throw new IllegalArgumentException("El mapa " + ruta + " está vacío");
+		return renglones.toArray(new int[0][]);
+	}
+
+	/**
+	 * Cambia el mosaico de una celda del mapa y vuelve a pintar el bloque de la
+	 * capa dibujada que la contiene. Si la celda pasó a bloquear o a dejar pasar,
+	 * actualiza sólo esa celda en los mapas de bits y en la tabla de aparición
+	 * (las zonas se conservan), recalcula la holgura de las celdas que pueden
+	 * verla y avisa al campo de flujo de los zombies o al planificador de rutas
+	 * del jefe, según el mapa de bits que cambió.
+	 * 
+	 * @param ren    La fila (renglón) del mapa.
+	 * @param col    La columna del mapa.
+	 * @param codigo El código del nuevo mosaico.
+	 */
+	public void cambiaTile(int ren, int col, int codigo) {
+		if (this.codigosMapaTiles[ren][col] == codigo) return;
+		this.codigosMapaTiles[ren][col] = codigo;
+		this.capa.invalida(col, ren);
+		int columnas = this.columnasSolidos, renglones = this.renglonesSolidos;
+		int indice = ren * columnas + col;
+		boolean solido = this.getColisionDeTile(codigo);
+		// La holgura de una celda sólo depende de las celdas de su cuadrado.
+		int col0 = col - HOLGURA_MAXIMA + 1, ren0 = ren - HOLGURA_MAXIMA + 1;
+		if (cambiaBit(this.solidos, indice, solido)) {
+			recalculaHolgura(this.solidos, columnas, renglones, this.holgura, col0, ren0, col, ren);
+			this.tablaAparicion.cambiaCelda(indice, !solido);
+			this.gP.getCampoFlujo().invalida();
+		}
+		if (cambiaBit(this.solidosCruzandoAgua, indice, solido && codigo != CODIGO_AGUA)) {
+			recalculaHolgura(this.solidosCruzandoAgua, columnas, renglones, this.holguraCruzandoAgua, col0, ren0, col, ren);
+			this.gP.getPlanificadorJefe().actualizaRegion(col, ren, col, ren);
+		}
+	}
+
+	// Pone el bit de la celda; devuelve true si cambió.
+	private static boolean cambiaBit(long[] bits, int indice, boolean valor) {
+		long antes = bits[indice >>> 6];
+		long despues = valor ? antes | (1L << indice) : antes & ~(1L << indice);
+		bits[indice >>> 6] = despues;
+		return antes != despues;
+	}
+
+	/**
+	 * Construye los mapas de bits de celdas sólidas a partir de los códigos del
+	 * mapa y de la colisión de cada tipo de mosaico. Se llama al cargar el mapa.
+	 */
+	private void construyeMapasSolidos() {
+		int renglones = this.getRenglones();
+		int columnas = this.getColumnas();
+		int palabras = (renglones * columnas + 63) >>> 6;
+		this.columnasSolidos = columnas;
+		this.renglonesSolidos = renglones;
+		this.tamanioCelda = this.gP.getTamanioTile();
+		if (this.solidos == null) {
+			this.solidos = new long[palabras];
+			this.solidosCruzandoAgua = new long[palabras];
+			this.holgura = new byte[columnas * renglones];
+			this.holguraCruzandoAgua = new byte[columnas * renglones];
+		} else {
+			Arrays.fill(this.solidos, 0L);
+			Arrays.fill(this.solidosCruzandoAgua, 0L);
+		}
+		for (int ren = 0; ren < renglones; ren++) {
+			for (int col = 0; col < columnas; col++) {
+				int codigo = this.codigosMapaTiles[ren][col];
+				if (!this.getColisionDeTile(codigo)) continue;
+				int indice = ren * columnas + col;
+				this.solidos[indice >>> 6] |= 1L << indice;
+				if (codigo != CODIGO_AGUA) {
+					this.solidosCruzandoAgua[indice >>> 6] |= 1L << indice;
+				}
+			}
+		}
+		calculaHolgura(this.solidos, columnas, renglones, this.holgura);
+		calculaHolgura(this.solidosCruzandoAgua, columnas, renglones, this.holguraCruzandoAgua);
+		if (this.tablaAparicion == null) {
+			this.tablaAparicion = new TablaAparicion(this.solidos, columnas, renglones);
+		} else {
+			this.tablaAparicion.reconstruye(this.solidos);
+		}
+	}
+
+	/**
+	 * Calcula el mapa de holgura de un mapa de bits de celdas sólidas: para cada
+	 * celda, el lado del mayor cuadrado libre cuya esquina superior izquierda es
+	 * esa celda (0 si es sólida). Se recorre de abajo hacia arriba y de derecha a
+	 * izquierda, así cada celda sólo mira tres vecinos ya calculados.
+	 * 
+	 * @param solidos   Un bit por celda, renglón por renglón.
+	 * @param columnas  Columnas del mapa.
+	 * @param renglones Renglones del mapa.
+	 * @return La holgura de cada celda (como máximo {@value #HOLGURA_MAXIMA}), renglón por renglón.
+	 */
+	public static byte[] calculaHolgura(long[] solidos, int columnas, int renglones) {
+		byte[] resultado = new byte[columnas * renglones];
+		calculaHolgura(solidos, columnas, renglones, resultado);
+		return resultado;
+	}
+
+	/**
+	 * Como {@link #calculaHolgura(long[], int, int)}, pero escribe en un
+	 * arreglo existente de {@code columnas * renglones} celdas.
+	 */
+	public static void calculaHolgura(long[] solidos, int columnas, int renglones, byte[] resultado) {
+		recalculaHolgura(solidos, columnas, renglones, resultado, 0, 0, columnas - 1, renglones - 1);
+	}
+
+	// Recalcula la holgura de un rectángulo (recortado al mapa). Las celdas a la
+	// derecha y abajo del rectángulo deben estar ya al día.
+	private static void recalculaHolgura(long[] solidos, int columnas, int renglones, byte[] resultado,
+			int col0, int ren0, int col1, int ren1) {
+		int colMin = Math.max(0, col0), renMin = Math.max(0, ren0);
+		for (int ren = Math.min(renglones - 1, ren1); ren >= renMin; ren--) {
+			for (int col = Math.min(columnas - 1, col1); col >= colMin; col--) {
+				int indice = ren * columnas + col;
+				if ((solidos[indice >>> 6] & (1L << indice)) != 0) {
+					resultado[indice] = 0;
+					continue;
+				}
+				int derecha = col + 1 < columnas ? resultado[indice + 1] : 0;
+				int abajo = ren + 1 < renglones ? resultado[indice + columnas] : 0;
+				int diagonal = col + 1 < columnas && ren + 1 < renglones ? resultado[indice + columnas + 1] : 0;
+				resultado[indice] = (byte) Math.min(HOLGURA_MAXIMA, 1 + Math.min(diagonal, Math.min(derecha, abajo)));
+			}
+		}
+	}
+
+	// ===================== CONSULTAS DE COLISIÓN =====================
+
+	/**
+	 * Indica si una celda del mapa es sólida. Las celdas fuera del mapa cuentan
+	 * como sólidas, así nadie puede salir del mundo.
+	 * 
+	 * @param col       Columna de la celda.
+	 * @param ren       Renglón de la celda.
+	 * @param cruzaAgua {@code true} si el agua no bloquea (el jefe).
+	 * @return {@code true} si la celda bloquea el paso.
+	 */
+	public boolean esSolido(int col, int ren, boolean cruzaAgua) {
+		int columnas = this.columnasSolidos;
+		if (col < 0 || ren < 0 || col >= columnas || ren >= this.renglonesSolidos) return true;
+		int indice = ren * columnas + col;
+		long[] bits = cruzaAgua ? this.solidosCruzandoAgua : this.solidos;
+		return (bits[indice >>> 6] & (1L << indice)) != 0;
+	}
+
+	/** @see #esSolido(int, int, boolean) */
+	public boolean esSolido(int col, int ren) {
+		return esSolido(col, ren, false);
+	}
+
+	/**
+	 * @return El lado del mayor cuadrado libre con esquina superior izquierda en
+	 *         la celda, o 0 si es sólida o está fuera del mapa.
+	 */
+	public int getHolgura(int col, int ren, boolean cruzaAgua) {
+		if (col < 0 || ren < 0 || col >= this.columnasSolidos || ren >= this.renglonesSolidos) return 0;
+		return (cruzaAgua ? this.holguraCruzandoAgua : this.holgura)[ren * this.columnasSolidos + col];
+	}
+
+	/**
+	 * @return El mapa de holgura completo (renglón por renglón), para los
+	 *         planificadores de rutas. No debe modificarse.
+	 */
+	public byte[] getMapaHolgura(boolean cruzaAgua) {
+		return cruzaAgua ? this.holguraCruzandoAgua : this.holgura;
+	}
+
+	/**
+	 * @return Las celdas libres del mapa cargado, para elegir dónde aparece un
+	 *         enemigo sin probar celdas al azar.
+	 */
+	public TablaAparicion getTablaAparicion() {
+		return this.tablaAparicion;
+	}
+
+	/**
+	 * Indica si el punto del mundo (en píxeles) cae en una celda sólida.
+	 */
+	public boolean esSolidoEnPunto(int mundoX, int mundoY, boolean cruzaAgua) {
+		int tamanio = this.tamanioCelda;
+		return esSolido(Math.floorDiv(mundoX, tamanio), Math.floorDiv(mundoY, tamanio), cruzaAgua);
+	}
+
+	/**
+	 * Indica si algún píxel del rectángulo (con ambos extremos incluidos) cae en
+	 * una celda sólida.
+	 * 
+	 * @param izquierda Primer píxel en X.
+	 * @param arriba    Primer píxel en Y.
+	 * @param derecha   Último píxel en X (incluido).
+	 * @param abajo     Último píxel en Y (incluido).
+	 * @param cruzaAgua {@code true} si el agua no bloquea.
+	 * @return {@code true} si el rectángulo toca alguna celda sólida.
+	 */
+	public boolean hayColisionEnArea(int izquierda, int arriba, int derecha, int abajo, boolean cruzaAgua) {
+		int tamanio = this.tamanioCelda;
+		int col0 = Math.floorDiv(izquierda, tamanio), col1 = Math.floorDiv(derecha, tamanio);
+		int ren0 = Math.floorDiv(arriba, tamanio), ren1 = Math.floorDiv(abajo, tamanio);
+		for (int ren = ren0; ren <= ren1; ren++) {
+			for (int col = col0; col <= col1; col++) {
+				if (esSolido(col, ren, cruzaAgua)) return true;
+			}
 		}
+		return false;
 	}
 
 	/**
-	 * Dibuja la porción visible del mapa en la pantalla, optimizado para dibujar
-	 * únicamente los mosaicos dentro del campo de visión de la cámara. * @param g2
-	 * El contexto gráfico {@link Graphics2D} para dibujar.
-	 */
-	public void draw(Graphics2D g2) {
-		// Inicializa las variables para recorrer la matriz del mapa del mundo.
-		int renMundo = 0, colMundo = 0;
-
-		// Inicia un bucle que recorrerá cada celda de la matriz del mapa.
-		while (renMundo < this.gP.getMaxRenMundo() && colMundo < this.gP.getMaxColMundo()) {
-
-			// Obtiene el número (código) que identifica el tipo de mosaico para la posición
-			// actual.
-			int codigoTile = this.codigosMapaTiles[renMundo][colMundo];
-
-			// Calcula la coordenada X del mosaico en el mapa del MUNDO completo.
-			int mundoX = colMundo * gP.getTamanioTile();
-			// Calcula la coordenada Y del mosaico en el mapa del MUNDO completo.
-			int mundoY = renMundo * gP.getTamanioTile();
-
-			// --- CÁLCULO DE LA CÁMARA ---
-			// Calcula la coordenada X donde se debe dibujar el mosaico en la PANTALLA.
-			// Esto crea el efecto de que la cámara sigue al jugador.
-			int pantallaX = mundoX - gP.getJugador().getMundoX() + gP.getJugador().getPantallaX();
-			// Calcula la coordenada Y donde se debe dibujar el mosaico en la PANTALLA.
-			int pantallaY = mundoY - gP.getJugador().getMundoY() + gP.getJugador().getPantallaY();
-
-			// --- CONDICIÓN DE OPTIMIZACIÓN (Culling) ---
-			// Comprueba si el mosaico actual está dentro del área visible de la cámara
-			// antes de dibujarlo.
-			if (mundoX + gP.getTamanioTile() > gP.getJugador().getMundoX() - gP.getJugador().getPantallaX() && // El
-																												// lado
-																												// derecho
-																												// del
-																												// mosaico
-																												// es
-																												// visible.
-					mundoX - gP.getTamanioTile() < gP.getJugador().getMundoX() + gP.getJugador().getPantallaX() && // El
-																													// lado
-																													// izquierdo
-																													// del
-																													// mosaico
-																													// es
-																													// visible.
-					mundoY + gP.getTamanioTile() > gP.getJugador().getMundoY() - gP.getJugador().getPantallaY() && // El
-																													// lado
-																													// inferior
-																													// del
-																													// mosaico
-																													// es
-																													// visible.
-					mundoY - gP.getTamanioTile() < gP.getJugador().getMundoY() + gP.getJugador().getPantallaY() // El
-																												// lado
-																												// superior
-																												// del
-																												// mosaico
-																												// es
-																												// visible.
-			) {
-				// Si el mosaico está visible, lo dibuja en las coordenadas de pantalla
-				// calculadas.
-				g2.drawImage(this.arregloTiles[codigoTile].getImagen(), pantallaX, pantallaY, this.gP.getTamanioTile(),
-						this.gP.getTamanioTile(), null);
+	 * Barrido de un rectángulo a lo largo de un eje: calcula cuántos píxeles
+	 * puede avanzar antes de tocar una celda sólida. Las celdas que el
+	 * rectángulo ya toca no se tienen en cuenta, sólo las que atravesaría.
+	 * 
+	 * @param izquierda Primer píxel en X.
+	 * @param arriba    Primer píxel en Y.
+	 * @param derecha   Último píxel en X (incluido).
+	 * @param abajo     Último píxel en Y (incluido).
+	 * @param dx        Desplazamiento en X (0 si se mueve en Y).
+	 * @param dy        Desplazamiento en Y (0 si se mueve en X).
+	 * @param cruzaAgua {@code true} si el agua no bloquea.
+	 * @return Distancia libre, entre 0 y {@code |dx| + |dy|}.
+	 */
+	public int distanciaLibre(int izquierda, int arriba, int derecha, int abajo, int dx, int dy, boolean cruzaAgua) {
+		int tamanio = this.tamanioCelda;
+		int distancia = Math.abs(dx) + Math.abs(dy);
+		if (distancia == 0) return 0;
+		// Borde que avanza y rango de celdas que cubre el borde perpendicular.
+		boolean horizontal = dx != 0;
+		int signo = (dx + dy) > 0 ? 1 : -1;
+		int borde = horizontal ? (signo > 0 ? derecha : izquierda) : (signo > 0 ? abajo : arriba);
+		int desde = Math.floorDiv(horizontal ? arriba : izquierda, tamanio);
+		int hasta = Math.floorDiv(horizontal ? abajo : derecha, tamanio);
+
+		int celdaActual = Math.floorDiv(borde, tamanio);
+		int celdaFinal = Math.floorDiv(borde + signo * distancia, tamanio);
+		for (int celda = celdaActual + signo; celda != celdaFinal + signo; celda += signo) {
+			for (int otra = desde; otra <= hasta; otra++) {
+				boolean solido = horizontal ? esSolido(celda, otra, cruzaAgua) : esSolido(otra, celda, cruzaAgua);
+				if (solido) {
+					// Se detiene en el último píxel antes de la celda sólida.
+					int limite = signo > 0 ? celda * tamanio - 1 : (celda + 1) * tamanio;
+					return Math.abs(limite - borde);
+				}
 			}
+		}
+		return distancia;
+	}
 
-			// Avanza a la siguiente columna del mapa.
-			colMundo++;
+	/**
+	 * Recorre con un DDA de rejilla (Amanatides y Woo) todas las celdas que
+	 * cruza el segmento entre dos puntos del mundo, en orden, y se detiene en la
+	 * primera sólida. Sólo visita las celdas atravesadas, así que el costo no
+	 * depende de la velocidad en píxeles y nada rápido puede saltarse un muro.
+	 * Si el segmento pasa justo por la esquina de dos celdas, basta con que una
+	 * de las dos sea sólida para bloquearlo.
+	 * 
+	 * @param x0        X del punto de partida (píxeles del mundo).
+	 * @param y0        Y del punto de partida.
+	 * @param x1        X del punto de llegada.
+	 * @param y1        Y del punto de llegada.
+	 * @param cruzaAgua {@code true} si el agua no bloquea.
+	 * @return {@code true} si ninguna celda del recorrido (incluidas la de
+	 *         partida y la de llegada) es sólida.
+	 */
+	public boolean trayectoriaLibre(int x0, int y0, int x1, int y1, boolean cruzaAgua) {
+		int tamanio = this.tamanioCelda;
+		int col = Math.floorDiv(x0, tamanio), ren = Math.floorDiv(y0, tamanio);
+		int colFinal = Math.floorDiv(x1, tamanio), renFinal = Math.floorDiv(y1, tamanio);
+		if (esSolido(col, ren, cruzaAgua)) return false;
+
+		int pasoCol = Integer.signum(x1 - x0), pasoRen = Integer.signum(y1 - y0);
+		long dx = Math.abs((long) x1 - x0), dy = Math.abs((long) y1 - y0);
+		// Distancia (en medios píxeles, medida desde el centro del píxel) que falta
+		// para entrar en la siguiente columna / renglón.
+		long faltaX = pasoCol > 0 ? 2 * ((long) (col + 1) * tamanio - x0) - 1 : 2 * ((long) x0 - (long) col * tamanio) + 1;
+		long faltaY = pasoRen > 0 ? 2 * ((long) (ren + 1) * tamanio - y0) - 1 : 2 * ((long) y0 - (long) ren * tamanio) + 1;
+		long celda = 2L * tamanio;
 
-			// Si se llega al final de una fila...
-			if (colMundo == this.gP.getMaxColMundo()) {
-				// ...se resetea el contador de columnas a 0...
-				colMundo = 0;
-				// ...y se avanza a la siguiente fila.
-				renMundo++;
+		while (col != colFinal || ren != renFinal) {
+			// Se compara faltaX / dx con faltaY / dy sin dividir.
+			long cruceX = pasoCol == 0 ? Long.MAX_VALUE : faltaX * dy;
+			long cruceY = pasoRen == 0 ? Long.MAX_VALUE : faltaY * dx;
+			if (cruceX < cruceY) {
+				col += pasoCol;
+				faltaX += celda;
+			} else if (cruceY < cruceX) {
+				ren += pasoRen;
+				faltaY += celda;
+			} else {
+				// Pasa por la esquina: no se cuela entre dos celdas sólidas en diagonal.
+				if (esSolido(col + pasoCol, ren, cruzaAgua) || esSolido(col, ren + pasoRen, cruzaAgua)) return false;
+				col += pasoCol;
+				ren += pasoRen;
+				faltaX += celda;
+				faltaY += celda;
 			}
+			if (esSolido(col, ren, cruzaAgua)) return false;
 		}
+		return true;
+	}
+
+	/**
+	 * Dibuja la porción visible del mapa en la pantalla, copiando los bloques de
+	 * la {@link CapaTiles} que quedan dentro del campo de visión de la cámara.
+	 * 
+	 * @param g2      El contexto gráfico {@link Graphics2D} para dibujar.
+	 * @param camaraX Coordenada X del mundo en el borde izquierdo de la pantalla.
+	 * @param camaraY Coordenada Y del mundo en el borde superior de la pantalla.
+	 */
+	public void draw(Graphics2D g2, int camaraX, int camaraY) {
+		// Sólo se copian los bloques ya pintados que tocan la pantalla.
+		this.capa.dibuja(g2, camaraX, camaraY, this.gP.getAnchoPantalla(), this.gP.getAltoPantalla());
 	}
 
 	/**
@@ -231,10 +519,11 @@ public class ManejadorTiles {
 	 * @return El código entero del mosaico en esa posición.
 	 */
 	public int getCodigoMapaTiles(int ren, int col) {
-		// Devuelve el valor almacenado en la matriz de códigos del mapa.
-		if(ren < 50 && col < 50)
+		// Devuelve el valor almacenado en la matriz de códigos del mapa (fuera del
+		// mapa se considera agua).
+		if (ren >= 0 && col >= 0 && ren < this.getRenglones() && col < this.getColumnas())
 			return this.codigosMapaTiles[ren][col];
-		return 0;
+		return CODIGO_AGUA;
 	}
 
 	/**
@@ -249,6 +538,34 @@ public class ManejadorTiles {
 		return this.arregloTiles[index].getColision();
 	}
 	
+	/**
+	 * @param codigo El código del mosaico.
+	 * @return Su imagen, ya escalada al tamaño del mosaico en pantalla.
+	 */
+	public BufferedImage getImagenDeTile(int codigo) {
+		return this.arregloTiles[codigo].getImagen();
+	}
+
+	/** @return Columnas del mapa cargado. */
+	public int getColumnas() {
+		return this.codigosMapaTiles[0].length;
+	}
+
+	/** @return Renglones del mapa cargado. */
+	public int getRenglones() {
+		return this.codigosMapaTiles.length;
+	}
+
+	/** @return La capa de mosaicos ya dibujada. */
+	public CapaTiles getCapa() {
+		return this.capa;
+	}
+
+	/**
+	 * @return Los códigos del mapa. Para cambiar una celda debe usarse
+	 *         {@link #cambiaTile}, que mantiene al día la colisión, la capa dibujada y
+	 *         las rutas.
+	 */
 	public int[][] getMapaTiles() {
 		return this.codigosMapaTiles;
 	}
@@ -0,0 +1,214 @@
+package tile;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tabla de las celdas donde puede aparecer un enemigo. Se construye una vez al
+ * cargar el mapa a partir del mapa de bits de celdas sólidas, así elegir una
+ * celda libre cuesta un número al azar y no depende de cuántos muros haya.
+ * Si cambia una celda, {@link #cambiaCelda} la agrega o la quita sin recorrer
+ * el resto.
+ *
+ * Además del mapa completo se pueden registrar zonas (rectángulos de celdas)
+ * con su propia lista de celdas libres, y cada elección puede excluir un
+ * rectángulo (lo que se ve en pantalla) y un radio alrededor del jugador. Las
+ * zonas se conservan cuando el mapa cambia.
+ */
+public class TablaAparicion {
+
+	/** Zona que abarca todas las celdas libres del mapa. */
+	public static final int TODO_EL_MAPA = -1;
+	/** Resultado de {@link #elige} cuando ninguna celda cumple las condiciones. */
+	public static final int NINGUNA = -1;
+	// Intentos al azar antes de recorrer la zona completa. Con la pantalla
+	// excluida casi siempre basta el primero.
+	private static final int INTENTOS = 16;
+
+	private final int columnas;
+	private final int renglones;
+	// Índices (ren * columnas + col) de las celdas libres, en orden de renglón.
+	// El arreglo puede tener lugar de sobra; sólo valen las primeras numCeldas.
+	private int[] celdas;
+	private int numCeldas;
+	// Celdas libres de cada zona registrada, en el mismo orden, y su rectángulo
+	// (colMin, renMin, colMax, renMax).
+	private int[][] zonas = new int[0][];
+	private int[] numCeldasZona = new int[0];
+	private int[][] rectanguloZona = new int[0][];
+
+	/**
+	 * @param solidos   Un bit por celda, renglón por renglón (ver
+	 *                  {@link ManejadorTiles#esSolido}).
+	 * @param columnas  Columnas del mapa.
+	 * @param renglones Renglones del mapa.
+	 */
+	public TablaAparicion(long[] solidos, int columnas, int renglones) {
+		this.columnas = columnas;
+		this.renglones = renglones;
+		this.reconstruye(solidos);
+	}
+
+	/**
+	 * Vuelve a llenar la tabla con un mapa de bits completo (el mismo tamaño de
+	 * mapa), por ejemplo al cargar otro mapa. Las zonas registradas se
+	 * conservan y se llenan con las celdas libres nuevas.
+	 */
+	public void reconstruye(long[] solidos) {
+		int total = this.columnas * this.renglones;
+		int[] libres = new int[total];
+		int n = 0;
+		for (int indice = 0; indice < total; indice++) {
+			if ((solidos[indice >>> 6] & (1L << indice)) == 0) libres[n++] = indice;
+		}
+		this.celdas = Arrays.copyOf(libres, n);
+		this.numCeldas = n;
+		for (int z = 0; z < this.zonas.length; z++) {
+			this.llenaZona(z);
+		}
+	}
+
+	/**
+	 * Agrega o quita una celda que cambió, en la tabla y en las zonas que la
+	 * contienen. Conserva el orden, así que la tabla queda igual que si se
+	 * hubiera construido con el mapa nuevo.
+	 * @param indice La celda (ren * columnas + col).
+	 * @param libre  {@code true} si ahora está libre.
+	 */
+	public void cambiaCelda(int indice, boolean libre) {
+		this.numCeldas = cambiaEnLista(this.celdas, this.numCeldas, indice, libre);
+		if (libre && this.numCeldas < 0) {
+			this.celdas = Arrays.copyOf(this.celdas, this.celdas.length * 2 + 1);
+			this.numCeldas = cambiaEnLista(this.celdas, ~this.numCeldas, indice, true);
+		}
+		int col = indice % this.columnas, ren = indice / this.columnas;
+		for (int z = 0; z < this.zonas.length; z++) {
+			int[] rect = this.rectanguloZona[z];
+			if (col < rect[0] || ren < rect[1] || col > rect[2] || ren > rect[3]) continue;
+			int n = cambiaEnLista(this.zonas[z], this.numCeldasZona[z], indice, libre);
+			if (n < 0) {
+				this.zonas[z] = Arrays.copyOf(this.zonas[z], this.zonas[z].length * 2 + 1);
+				n = cambiaEnLista(this.zonas[z], ~n, indice, true);
+			}
+			this.numCeldasZona[z] = n;
+		}
+	}
+
+	// Inserta o quita la celda en la lista ordenada. Devuelve el nuevo largo, o
+	// ~largo si hay que insertar y la lista está llena.
+	private static int cambiaEnLista(int[] lista, int n, int indice, boolean libre) {
+		int pos = Arrays.binarySearch(lista, 0, n, indice);
+		if (libre == (pos >= 0)) return n;
+		if (libre) {
+			if (n == lista.length) return ~n;
+			int destino = -pos - 1;
+			System.arraycopy(lista, destino, lista, destino + 1, n - destino);
+			lista[destino] = indice;
+			return n + 1;
+		}
+		System.arraycopy(lista, pos + 1, lista, pos, n - pos - 1);
+		return n - 1;
+	}
+
+	/**
+	 * Registra una zona de aparición: las celdas libres del rectángulo (ambos
+	 * extremos incluidos, recortado al mapa).
+	 * @return El número de la zona, para {@link #elige}.
+	 */
+	public int agregaZona(int col0, int ren0, int col1, int ren1) {
+		int colMin = Math.max(0, Math.min(col0, col1));
+		int colMax = Math.min(this.columnas - 1, Math.max(col0, col1));
+		int renMin = Math.max(0, Math.min(ren0, ren1));
+		int renMax = Math.min(this.renglones - 1, Math.max(ren0, ren1));
+		int z = this.zonas.length;
+		this.zonas = Arrays.copyOf(this.zonas, z + 1);
+		this.numCeldasZona = Arrays.copyOf(this.numCeldasZona, z + 1);
+		this.rectanguloZona = Arrays.copyOf(this.rectanguloZona, z + 1);
+		this.rectanguloZona[z] = new int[] { colMin, renMin, colMax, renMax };
+		this.llenaZona(z);
+		return z;
+	}
+
+	// Copia a la zona las celdas libres de su rectángulo.
+	private void llenaZona(int z) {
+		int[] rect = this.rectanguloZona[z];
+		int[] libres = new int[this.numCeldas];
+		int n = 0;
+		for (int i = 0; i < this.numCeldas; i++) {
+			int celda = this.celdas[i];
+			int col = celda % this.columnas;
+			int ren = celda / this.columnas;
+			if (col >= rect[0] && col <= rect[2] && ren >= rect[1] && ren <= rect[3]) libres[n++] = celda;
+		}
+		this.zonas[z] = Arrays.copyOf(libres, n);
+		this.numCeldasZona[z] = n;
+	}
+
+	/**
+	 * Elige al azar, con la misma probabilidad para todas, una celda libre de la
+	 * zona que quede fuera del rectángulo excluido y a la distancia mínima de su
+	 * centro. Primero prueba unas cuantas celdas al azar de la tabla; si ninguna
+	 * sirve, cuenta las que sí cumplen y toma una de ellas, así nunca se queda
+	 * buscando.
+	 *
+	 * @param aleatorio         Generador de la simulación.
+	 * @param zona              {@link #TODO_EL_MAPA} o un número de {@link #agregaZona}.
+	 * @param colCentro         Columna del centro (el jugador).
+	 * @param renCentro         Renglón del centro.
+	 * @param distanciaMinima   Distancia mínima al centro, en celdas (0 para ninguna).
+	 * @param medioAnchoExcluido Celdas excluidas a cada lado del centro en X; negativo para no excluir.
+	 * @param medioAltoExcluido  Celdas excluidas a cada lado del centro en Y; negativo para no excluir.
+	 * @return El índice de la celda (ren * columnas + col), o {@link #NINGUNA}.
+	 */
+	public int elige(Random aleatorio, int zona, int colCentro, int renCentro, int distanciaMinima,
+			int medioAnchoExcluido, int medioAltoExcluido) {
+		int[] candidatas = zona == TODO_EL_MAPA ? this.celdas : this.zonas[zona];
+		int n = this.getNumCeldas(zona);
+		if (n == 0) return NINGUNA;
+		int distanciaMinima2 = distanciaMinima * distanciaMinima;
+		for (int intento = 0; intento < INTENTOS; intento++) {
+			int celda = candidatas[aleatorio.nextInt(n)];
+			if (this.sirve(celda, colCentro, renCentro, distanciaMinima2, medioAnchoExcluido, medioAltoExcluido)) {
+				return celda;
+			}
+		}
+		int validas = 0;
+		for (int k = 0; k < n; k++) {
+			if (this.sirve(candidatas[k], colCentro, renCentro, distanciaMinima2, medioAnchoExcluido, medioAltoExcluido)) validas++;
+		}
+		if (validas == 0) return NINGUNA;
+		int elegida = aleatorio.nextInt(validas);
+		for (int k = 0; k < n; k++) {
+			int celda = candidatas[k];
+			if (this.sirve(celda, colCentro, renCentro, distanciaMinima2, medioAnchoExcluido, medioAltoExcluido)
+					&& elegida-- == 0) {
+				return celda;
+			}
+		}
+		return NINGUNA;
+	}
+
+	/**
+	 * Elige al azar una celda libre de la zona, sin más condiciones.
+	 * @see #elige(Random, int, int, int, int, int, int)
+	 */
+	public int elige(Random aleatorio, int zona) {
+		int n = this.getNumCeldas(zona);
+		return n == 0 ? NINGUNA : (zona == TODO_EL_MAPA ? this.celdas : this.zonas[zona])[aleatorio.nextInt(n)];
+	}
+
+	private boolean sirve(int celda, int colCentro, int renCentro, int distanciaMinima2,
+			int medioAnchoExcluido, int medioAltoExcluido) {
+		int dx = celda % this.columnas - colCentro;
+		int dy = celda / this.columnas - renCentro;
+		if (Math.abs(dx) <= medioAnchoExcluido && Math.abs(dy) <= medioAltoExcluido) return false;
+		return dx * dx + dy * dy >= distanciaMinima2;
+	}
+
+	/** @return Cuántas celdas libres tiene la zona. */
+	public int getNumCeldas(int zona) {
+		return zona == TODO_EL_MAPA ? this.numCeldas : this.numCeldasZona[zona];
+	}
+
+	public int getColumnas() { return this.columnas; }
+}